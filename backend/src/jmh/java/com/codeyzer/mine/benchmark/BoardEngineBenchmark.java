@@ -0,0 +1,159 @@
+package com.codeyzer.mine.benchmark;
+
+import com.codeyzer.mine.model.Game;
+import com.codeyzer.mine.model.GameStatus;
+import com.codeyzer.mine.model.PackedBoard;
+import com.codeyzer.mine.model.Player;
+import com.codeyzer.mine.model.ZeroRegionIndex;
+import com.codeyzer.mine.service.BoardService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tahta motorunun sıcak yolları için mikro benchmark'lar: tahta oluşturma, mayın yerleştirme,
+ * büyük kaskadlı hücre açma ve oyun sonu / kalan puan kontrolleri.
+ * Tahta boyutu ve mayın yoğunluğu parametreyle değiştirilir; düşük yoğunluk daha büyük kaskadlar üretir.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardEngineBenchmark {
+
+    private static final long SEED = 42L;
+
+    @Param({"8x8", "16x16", "16x20", "20x24", "100x100"})
+    public String size;
+
+    @Param({"0.10", "0.16", "0.21"})
+    public double density;
+
+    private BoardService boardService;
+    private int rows;
+    private int columns;
+    private int mineCount;
+    private long nextSeed;
+
+    private Game game;
+    private PackedBoard template;
+    private int cascadeRow;
+    private int cascadeCol;
+    private String playerId;
+    private PackedBoard halfRevealed;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boardService = new BoardService("SplittableRandom");
+        String[] dimensions = size.split("x");
+        rows = Integer.parseInt(dimensions[0]);
+        columns = Integer.parseInt(dimensions[1]);
+        mineCount = Math.max(1, (int) Math.round(rows * columns * density));
+
+        template = boardService.initializeBoard(rows, columns);
+        boardService.placeMines(template, mineCount, SEED, BoardService.NO_SAFE_CELL);
+        int cascadeIndex = largestZeroRegionCell(template);
+        cascadeRow = template.rowOf(cascadeIndex);
+        cascadeCol = template.columnOf(cascadeIndex);
+
+        game = new Game(rows, columns, mineCount);
+        Player player = new Player("benchmark-1");
+        game.joinGame(player);
+        game.joinGame(new Player("benchmark-2"));
+        game.setStatus(GameStatus.IN_PROGRESS);
+        playerId = player.getId();
+
+        // Güvenli hücrelerin yarısı açık tahta
+        halfRevealed = template.copy();
+        int toReveal = halfRevealed.getUnrevealedSafeCells() / 2;
+        for (int index = 0; index < halfRevealed.size() && toReveal > 0; index++) {
+            if (!halfRevealed.isMine(index)) {
+                halfRevealed.reveal(index, 0);
+                toReveal--;
+            }
+        }
+    }
+
+    @Benchmark
+    public PackedBoard initializeBoard() {
+        return boardService.initializeBoard(rows, columns);
+    }
+
+    @Benchmark
+    public PackedBoard placeMines() {
+        PackedBoard board = boardService.initializeBoard(rows, columns);
+        boardService.placeMines(board, mineCount, nextSeed++, BoardService.NO_SAFE_CELL);
+        return board;
+    }
+
+    @Benchmark
+    public BoardService.RevealResult revealCellCascade(ClosedBoard closedBoard) {
+        return boardService.revealCell(game, playerId, cascadeRow, cascadeCol);
+    }
+
+    @Benchmark
+    public boolean isGameFinished() {
+        return boardService.isGameFinished(halfRevealed);
+    }
+
+    @Benchmark
+    public int calculateRemainingPoints() {
+        return boardService.calculateRemainingPoints(halfRevealed);
+    }
+
+    /**
+     * Kaskad benchmark'ı her çağrıda kapalı bir tahtayla başlamalıdır. Çağrı başına hazırlık yalnızca bu
+     * benchmark'a uygulansın diye ayrı bir state olarak tutulur.
+     */
+    @State(Scope.Thread)
+    public static class ClosedBoard {
+
+        @Setup(Level.Invocation)
+        public void reset(BoardEngineBenchmark benchmark) {
+            benchmark.game.setPackedBoard(benchmark.template.copy());
+        }
+    }
+
+    /**
+     * @return En büyük '0' bölgesindeki bir hücre; '0' hücresi yoksa ilk güvenli hücre.
+     */
+    private static int largestZeroRegionCell(PackedBoard board) {
+        ZeroRegionIndex regions = board.getZeroRegions();
+        int best = ZeroRegionIndex.NO_REGION;
+        int bestSize = 0;
+        for (int region = 0; region < regions.getRegionCount(); region++) {
+            int regionSize = regions.getRegionEnd(region) - regions.getRegionStart(region);
+            if (regionSize > bestSize) {
+                best = region;
+                bestSize = regionSize;
+            }
+        }
+        if (best != ZeroRegionIndex.NO_REGION) {
+            for (int position = regions.getRegionStart(best); position < regions.getRegionEnd(best); position++) {
+                int cell = regions.getRegionCell(position);
+                if (!board.isMine(cell) && board.getAdjacentMines(cell) == 0) {
+                    return cell;
+                }
+            }
+        }
+        for (int index = 0; index < board.size(); index++) {
+            if (!board.isMine(index)) {
+                return index;
+            }
+        }
+        return 0;
+    }
+}
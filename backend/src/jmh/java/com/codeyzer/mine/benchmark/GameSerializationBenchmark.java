@@ -0,0 +1,77 @@
+package com.codeyzer.mine.benchmark;
+
+import com.codeyzer.mine.model.BoardPreset;
+import com.codeyzer.mine.model.Game;
+import com.codeyzer.mine.model.GameStatus;
+import com.codeyzer.mine.model.PackedBoard;
+import com.codeyzer.mine.model.Player;
+import com.codeyzer.mine.service.BoardService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Her zorluk seviyesi için bir {@link Game} nesnesinin Jackson ile JSON'a serileştirilmesini ölçer.
+ * Tahtanın yaklaşık yarısı açık, iki oyunculu ve devam eden bir oyun kullanılır.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameSerializationBenchmark {
+
+    @Param({"EASY", "MEDIUM", "HARD", "EXPERT"})
+    public BoardPreset preset;
+
+    private ObjectMapper objectMapper;
+    private Game game;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        BoardService boardService = new BoardService("SplittableRandom");
+
+        game = new Game(preset.getRows(), preset.getColumns(), preset.getMineCount());
+        game.initializeTime(preset.getInitialTimeMillis());
+        game.joinGame(new Player("benchmark-1"));
+        game.joinGame(new Player("benchmark-2"));
+        game.setStatus(GameStatus.IN_PROGRESS);
+
+        PackedBoard board = boardService.initializeBoard(preset.getRows(), preset.getColumns());
+        boardService.placeMines(board, preset.getMineCount(), 42L, BoardService.NO_SAFE_CELL);
+        int toReveal = board.getUnrevealedSafeCells() / 2;
+        List<Integer> revealedCells = new ArrayList<>(toReveal);
+        for (int index = 0; index < board.size() && toReveal > 0; index++) {
+            if (!board.isMine(index)) {
+                board.reveal(index, index % 2);
+                revealedCells.add(index);
+                toReveal--;
+            }
+        }
+        game.setPackedBoard(board);
+        game.setMinesPlaced(true);
+        game.updateVisibleCells(revealedCells);
+    }
+
+    @Benchmark
+    public byte[] serializeGame() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(game);
+    }
+}
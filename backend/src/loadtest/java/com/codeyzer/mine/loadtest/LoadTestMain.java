@@ -0,0 +1,236 @@
+package com.codeyzer.mine.loadtest;
+
+import com.codeyzer.mine.MineyzerApplication;
+import com.codeyzer.mine.repository.InMemoryGameRepository;
+import com.codeyzer.mine.service.SpectatorRegistry;
+import com.codeyzer.mine.service.WebSocketSessionRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.websocket.ContainerProvider;
+import jakarta.websocket.WebSocketContainer;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.http.HttpClient;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Uygulamayı aynı JVM içinde başlatıp simüle oyuncu çiftleriyle yük ve soak testi yapar.
+ * <p>
+ * Her çift oyunu baştan sona oynar: REST ile oluşturma/katılma/hazır olma, STOMP ile olay kanalına abone olma ve
+ * sırayla hamle/bayrak komutları (varsayılan olarak STOMP, {@code -Dloadtest.transport=REST} ile REST üzerinden). Biten oyunun yerine yenisi başlatılır, böylece test boyunca sabit sayıda oyun
+ * oynanır. Ara raporlarda hamle tur süresi ve yayın gecikmesi yüzdelikleri, heap kullanımı, bellekteki oyun ve kayıtlı
+ * oturum sayıları yazdırılır. Test sonunda tüm oyunlar kapatıldıktan sonra kalan oyun/oturum sayıları ve heap artışı
+ * raporlanır; sürekli büyüyen yapılar bu değerlerden görülür.
+ * <p>
+ * Ayarlar için {@link LoadTestSettings}'e bakınız. {@code --} ile başlayan argümanlar uygulamaya iletilir
+ * (ör. {@code --mineyzer.games.finished-ttl=30s}).
+ */
+public class LoadTestMain {
+
+    private static final long MB = 1024 * 1024;
+
+    private final LoadTestSettings settings;
+    private final LoadTestMetrics metrics = new LoadTestMetrics();
+    private final Set<SimulatedGame> activeGames = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger gameNumbers = new AtomicInteger();
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    private ConfigurableApplicationContext context;
+    private ScheduledExecutorService executor;
+    private HttpClient httpClient;
+    private WebSocketStompClient stompClient;
+    private WebSocketStompClient spectatorStompClient;
+    private ObjectMapper objectMapper;
+    private String baseUrl;
+    private volatile boolean running = true;
+
+    private LoadTestMain(LoadTestSettings settings) {
+        this.settings = settings;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        new LoadTestMain(settings).run(args);
+        System.exit(0);
+    }
+
+    private void run(String[] args) throws Exception {
+        startApplication(args);
+        System.out.printf(Locale.ROOT, "Load test: %d games (%s %dx%d/%d), duration %s, think time %d ms, flag ratio %.2f, commands over %s, %d spectators per game%n",
+                settings.pairs(), settings.preset(), settings.rows(), settings.columns(), settings.mineCount(),
+                settings.duration(), settings.thinkTime().toMillis(), settings.flagRatio(), settings.transport(),
+                settings.spectators());
+
+        long rampUpStepNanos = settings.rampUp().toNanos() / Math.max(1, settings.pairs());
+        for (int i = 0; i < settings.pairs(); i++) {
+            executor.schedule(this::startGame, i * rampUpStepNanos, TimeUnit.NANOSECONDS);
+        }
+
+        long startNanos = System.nanoTime();
+        long endNanos = startNanos + settings.duration().toNanos();
+        long baselineHeap = -1;
+        long lastHeap = 0;
+        while (System.nanoTime() < endNanos) {
+            long sleepNanos = Math.min(settings.reportInterval().toNanos(), endNanos - System.nanoTime());
+            TimeUnit.NANOSECONDS.sleep(Math.max(0, sleepNanos));
+            lastHeap = sampleHeap();
+            long elapsedNanos = System.nanoTime() - startNanos;
+            if (baselineHeap < 0 && elapsedNanos >= settings.rampUp().toNanos()) {
+                baselineHeap = lastHeap; // Isınma bittikten sonraki ilk ölçüm referans alınır
+            }
+            printInterval(elapsedNanos, lastHeap);
+        }
+
+        long loadElapsedNanos = System.nanoTime() - startNanos;
+        running = false;
+        for (SimulatedGame game : new ArrayList<>(activeGames)) {
+            game.finish();
+        }
+        executor.shutdown();
+        executor.awaitTermination(15, TimeUnit.SECONDS);
+        TimeUnit.SECONDS.sleep(2); // Sunucunun bağlantı kopma olaylarını işlemesi için
+        printSummary(loadElapsedNanos, baselineHeap < 0 ? lastHeap : baselineHeap, lastHeap, sampleHeap());
+        stompClient.stop();
+        spectatorStompClient.stop();
+        context.close();
+    }
+
+    private void startApplication(String[] args) {
+        List<String> applicationArgs = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--logging.level.com.codeyzer.mine=WARN"));
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                applicationArgs.add(arg);
+            }
+        }
+        context = SpringApplication.run(MineyzerApplication.class, applicationArgs.toArray(String[]::new));
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "localhost:" + port;
+
+        objectMapper = context.getBean(ObjectMapper.class);
+        executor = Executors.newScheduledThreadPool(settings.workerThreads());
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        stompClient = createStompClient(1024 * 1024); // Kaskad olayları varsayılan tampondan büyük olabilir
+        // Tampon her oturum için ayrılır; binlerce izleyici oturumu küçük olaylar alır, ayrı ve küçük tamponlu istemci kullanır
+        spectatorStompClient = createStompClient(64 * 1024);
+    }
+
+    private WebSocketStompClient createStompClient(int bufferSize) {
+        WebSocketContainer container = ContainerProvider.getWebSocketContainer();
+        container.setDefaultMaxTextMessageBufferSize(bufferSize);
+        WebSocketStompClient client = new WebSocketStompClient(new StandardWebSocketClient(container));
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(objectMapper);
+        client.setMessageConverter(converter);
+        client.setInboundMessageSizeLimit(bufferSize);
+        return client;
+    }
+
+    private void startGame() {
+        if (!running) {
+            return;
+        }
+        SimulatedGame game = new SimulatedGame(gameNumbers.incrementAndGet(), settings, metrics, httpClient, objectMapper,
+                stompClient, spectatorStompClient, executor, baseUrl, this::gameFinished);
+        activeGames.add(game);
+        game.start();
+    }
+
+    private void gameFinished(SimulatedGame game) {
+        activeGames.remove(game);
+        if (running) {
+            executor.execute(this::startGame);
+        }
+    }
+
+    private long sampleHeap() {
+        if (settings.gcBeforeHeapSample()) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private void printInterval(long elapsedNanos, long heapUsed) {
+        LatencyHistogram roundTrip = metrics.moveRoundTrip.takeInterval();
+        LatencyHistogram fanOut = metrics.fanOut.takeInterval();
+        LatencyHistogram response = metrics.commandResponse.takeInterval();
+        LatencyHistogram spectatorFanOut = metrics.spectatorFanOut.takeInterval();
+        System.out.printf(Locale.ROOT,
+                "[%6ds] actions %7d (+%6d) | move rtt %s | fan-out %s | response p99 %6.2f ms | heap %5d MB | games %d live, %d done | sessions %d%n",
+                TimeUnit.NANOSECONDS.toSeconds(elapsedNanos), metrics.actions.get(), roundTrip.getCount(),
+                percentiles(roundTrip), percentiles(fanOut), millis(response.percentileMicros(99)),
+                heapUsed / MB, liveGames(), metrics.gamesCompleted.get(), sessions());
+        if (settings.spectators() > 0) {
+            System.out.printf(Locale.ROOT, "          spectators %6d | spectator fan-out %s (%d frames)%n",
+                    spectators(), percentiles(spectatorFanOut), spectatorFanOut.getCount());
+        }
+    }
+
+    private void printSummary(long elapsedNanos, long baselineHeap, long finalHeap, long heapAfterShutdown) {
+        double hours = elapsedNanos / 3.6e12;
+        System.out.println();
+        System.out.println("=== Load test summary ===");
+        System.out.printf(Locale.ROOT, "Duration           : %d s%n", TimeUnit.NANOSECONDS.toSeconds(elapsedNanos));
+        System.out.printf(Locale.ROOT, "Games              : %d started, %d completed%n",
+                metrics.gamesStarted.get(), metrics.gamesCompleted.get());
+        System.out.printf(Locale.ROOT, "Actions            : %d sent, %d rejected, %d timed out, %d failures%n",
+                metrics.actions.get(), metrics.rejectedActions.get(), metrics.timedOutActions.get(), metrics.failures.get());
+        System.out.printf(Locale.ROOT, "Move round trip    : %s, max %.2f ms%n",
+                percentiles(metrics.moveRoundTrip.total()), millis(metrics.moveRoundTrip.total().getMaxMicros()));
+        System.out.printf(Locale.ROOT, "Broadcast fan-out  : %s, max %.2f ms%n",
+                percentiles(metrics.fanOut.total()), millis(metrics.fanOut.total().getMaxMicros()));
+        System.out.printf(Locale.ROOT, "Command response   : %s, max %.2f ms%n",
+                percentiles(metrics.commandResponse.total()), millis(metrics.commandResponse.total().getMaxMicros()));
+        if (settings.spectators() > 0) {
+            System.out.printf(Locale.ROOT, "Spectator fan-out  : %s, max %.2f ms, %d frames%n",
+                    percentiles(metrics.spectatorFanOut.total()), millis(metrics.spectatorFanOut.total().getMaxMicros()),
+                    metrics.spectatorFanOut.total().getCount());
+        }
+        System.out.printf(Locale.ROOT, "Heap under load    : baseline %d MB, final %d MB, growth %+d MB (%+.1f MB/h)%n",
+                baselineHeap / MB, finalHeap / MB, (finalHeap - baselineHeap) / MB,
+                hours > 0 ? (finalHeap - baselineHeap) / (double) MB / hours : 0.0);
+        System.out.printf(Locale.ROOT, "Heap after shutdown: %d MB%n", heapAfterShutdown / MB);
+        System.out.printf(Locale.ROOT, "Left after shutdown: %d games in repository, %d registered sessions, %d spectators%n",
+                liveGames(), sessions(), spectators());
+    }
+
+    private int liveGames() {
+        return context.getBean(InMemoryGameRepository.class).count();
+    }
+
+    private int sessions() {
+        return context.getBean(WebSocketSessionRegistry.class).size();
+    }
+
+    private int spectators() {
+        return context.getBean(SpectatorRegistry.class).size();
+    }
+
+    private static String percentiles(LatencyHistogram histogram) {
+        return String.format(Locale.ROOT, "p50 %6.2f p99 %6.2f p99.9 %6.2f ms",
+                millis(histogram.percentileMicros(50)), millis(histogram.percentileMicros(99)),
+                millis(histogram.percentileMicros(99.9)));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
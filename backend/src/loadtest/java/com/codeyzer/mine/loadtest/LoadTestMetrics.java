@@ -0,0 +1,51 @@
+package com.codeyzer.mine.loadtest;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Yük testi boyunca toplanan gecikme ve sayaçlar.
+ * Her gecikme hem tüm test için hem de son rapor aralığı için ayrı histogramlara yazılır.
+ */
+class LoadTestMetrics {
+
+    /**
+     * Aynı gecikmenin toplam ve aralık histogramları.
+     */
+    static class Latency {
+        private final LatencyHistogram total = new LatencyHistogram();
+        private final AtomicReference<LatencyHistogram> interval = new AtomicReference<>(new LatencyHistogram());
+
+        void recordNanos(long nanos) {
+            total.recordNanos(nanos);
+            interval.get().recordNanos(nanos);
+        }
+
+        LatencyHistogram total() {
+            return total;
+        }
+
+        /**
+         * @return Son aralığın histogramı; yerine boş bir histogram konur.
+         */
+        LatencyHistogram takeInterval() {
+            return interval.getAndSet(new LatencyHistogram());
+        }
+    }
+
+    // Hamleyi gönderen oyuncunun, hamlenin yayınladığı olayı alana kadar geçen süre
+    final Latency moveRoundTrip = new Latency();
+    // Hamle gönderildikten sonra rakip oyuncunun aynı olayı alana kadar geçen süre
+    final Latency fanOut = new Latency();
+    // Hamle gönderildikten sonra izleyicilerin hamlenin olayını alana kadar geçen süre
+    final Latency spectatorFanOut = new Latency();
+    // Komutun (move/flag) yanıt süresi: REST'te HTTP yanıtı, STOMP'ta onay mesajı
+    final Latency commandResponse = new Latency();
+
+    final AtomicLong actions = new AtomicLong();
+    final AtomicLong rejectedActions = new AtomicLong();
+    final AtomicLong timedOutActions = new AtomicLong();
+    final AtomicLong gamesStarted = new AtomicLong();
+    final AtomicLong gamesCompleted = new AtomicLong();
+    final AtomicLong failures = new AtomicLong();
+}
@@ -0,0 +1,64 @@
+package com.codeyzer.mine.loadtest;
+
+import com.codeyzer.mine.model.BoardPreset;
+
+import java.time.Duration;
+
+/**
+ * Yük testi ayarları. Sistem özelliklerinden ({@code -Dloadtest.*}) okunur.
+ * @param pairs Aynı anda oynanan oyun (oyuncu çifti) sayısı
+ * @param duration Testin toplam süresi (soak için saatler verilebilir)
+ * @param rampUp Oyunların kademeli olarak başlatıldığı süre
+ * @param reportInterval Ara raporların aralığı
+ * @param thinkTime Bir olay alındıktan sonra sıradaki hamleye kadar beklenen süre
+ * @param flagRatio Hamlelerden bayrak koyma/kaldırma olanların oranı
+ * @param preset Oyunların zorluk seviyesi
+ * @param workerThreads Hamleleri gönderen thread sayısı
+ * @param gcBeforeHeapSample Heap ölçümünden önce System.gc() çağrılsın mı (artışı gürültüsüz görmek için)
+ * @param transport Hamle ve bayrak komutlarının gönderildiği kanal
+ * @param spectators Her oyunu izleyici kanalından izleyen ayrı STOMP oturumu sayısı
+ */
+record LoadTestSettings(int pairs,
+                        Duration duration,
+                        Duration rampUp,
+                        Duration reportInterval,
+                        Duration thinkTime,
+                        double flagRatio,
+                        BoardPreset preset,
+                        int workerThreads,
+                        boolean gcBeforeHeapSample,
+                        Transport transport,
+                        int spectators) {
+
+    enum Transport {
+        STOMP, // /app/games/{id}/move ve /flag, onay /user/queue/acks kuyruğundan
+        REST   // POST /api/games/{id}/move ve /flag
+    }
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("loadtest.pairs", 50),
+                Duration.parse(System.getProperty("loadtest.duration", "PT2M")),
+                Duration.parse(System.getProperty("loadtest.ramp-up", "PT10S")),
+                Duration.parse(System.getProperty("loadtest.report-interval", "PT10S")),
+                Duration.ofMillis(Long.getLong("loadtest.think-time-ms", 50)),
+                Double.parseDouble(System.getProperty("loadtest.flag-ratio", "0.2")),
+                BoardPreset.valueOf(System.getProperty("loadtest.preset", "MEDIUM")),
+                Integer.getInteger("loadtest.worker-threads", Math.max(4, Runtime.getRuntime().availableProcessors() * 4)),
+                Boolean.parseBoolean(System.getProperty("loadtest.gc-before-heap-sample", "true")),
+                Transport.valueOf(System.getProperty("loadtest.transport", "STOMP")),
+                Integer.getInteger("loadtest.spectators", 0));
+    }
+
+    int rows() {
+        return preset.getRows();
+    }
+
+    int columns() {
+        return preset.getColumns();
+    }
+
+    int mineCount() {
+        return preset.getMineCount();
+    }
+}
@@ -0,0 +1,476 @@
+package com.codeyzer.mine.loadtest;
+
+import com.codeyzer.mine.controller.WebSocketController;
+import com.codeyzer.mine.dto.CommandAckDTO;
+import com.codeyzer.mine.dto.GameUpdateEventDTO;
+import com.codeyzer.mine.model.Cell;
+import com.codeyzer.mine.model.GameStatus;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+
+/**
+ * Aynı oyunu oynayan iki simüle oyuncu.
+ * Oyun REST ile oluşturulur, iki oyuncu katılır, her oyuncu kendi STOMP oturumuyla
+ * {@code /topic/games/{id}/events} kanalına abone olur ve ikisi de hazır olur.
+ * Ardından sırası gelen oyuncu rastgele kapalı bir hücreyi açar veya bayrak koyar/kaldırır. Komutlar ayara göre
+ * STOMP ({@code /app/games/{id}/move}, onay {@code /user/queue/acks}) veya REST ile gönderilir. Bir sonraki hamle,
+ * önceki hamlenin olayı alındıktan sonra düşünme süresi kadar beklenerek yapılır.
+ * <p>
+ * Her hamle için gönderimden hamleyi yapanın olayı almasına kadar geçen süre (tur süresi) ve rakibin olayı almasına
+ * kadar geçen süre (yayın gecikmesi) ölçülür. Ayarlanmışsa oyunu ayrıca {@code /topic/games/{id}/spectate} kanalından
+ * izleyen oturumlar açılır ve her hamlenin izleyicilere ulaşma süresi ölçülür.
+ * Oyun bittiğinde oturumlar kapatılır ve {@code onFinished} çağrılır.
+ */
+class SimulatedGame {
+
+    private static final long ACTION_TIMEOUT_MILLIS = 10_000;
+
+    /**
+     * Yanıtı beklenen bir hamle.
+     */
+    private static final class PendingAction {
+        final String requestId;
+        final int actor;
+        final long baseVersion;
+        final long sentNanos;
+        final boolean[] seenBy = new boolean[2];
+
+        PendingAction(String requestId, int actor, long baseVersion, long sentNanos) {
+            this.requestId = requestId;
+            this.actor = actor;
+            this.baseVersion = baseVersion;
+            this.sentNanos = sentNanos;
+        }
+    }
+
+    private final int number;
+    private final LoadTestSettings settings;
+    private final LoadTestMetrics metrics;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final WebSocketStompClient stompClient;
+    private final WebSocketStompClient spectatorStompClient;
+    private final ScheduledExecutorService executor;
+    private final String apiUrl;
+    private final String webSocketUrl;
+    private final Consumer<SimulatedGame> onFinished;
+
+    private final String[] playerIds = new String[2];
+    private final StompSession[] sessions = new StompSession[2];
+    private final List<StompSession> spectatorSessions = new ArrayList<>();
+    private final Deque<PendingAction> pendingActions = new ArrayDeque<>();
+    private String gameId;
+    private boolean[] revealed;
+    private int[] flagOwners; // -1: bayrak yok, aksi halde oyuncu indeksi
+    private long version;
+    private int currentTurn;
+    private boolean finished;
+    private boolean actionScheduled;
+    private int actionNumber;
+    // Son gönderilen hamle: {baseVersion, gönderim zamanı}; izleyici olayları bununla eşleştirilir
+    private volatile long[] lastAction = {Long.MAX_VALUE, 0};
+
+    SimulatedGame(int number, LoadTestSettings settings, LoadTestMetrics metrics, HttpClient httpClient,
+                  ObjectMapper objectMapper, WebSocketStompClient stompClient, WebSocketStompClient spectatorStompClient,
+                  ScheduledExecutorService executor, String baseUrl, Consumer<SimulatedGame> onFinished) {
+        this.number = number;
+        this.settings = settings;
+        this.metrics = metrics;
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.stompClient = stompClient;
+        this.spectatorStompClient = spectatorStompClient;
+        this.executor = executor;
+        this.apiUrl = "http://" + baseUrl + "/api/games";
+        this.webSocketUrl = "ws://" + baseUrl + "/ws";
+        this.onFinished = onFinished;
+    }
+
+    /**
+     * Oyunu kurar ve ilk hamleyi planlar. Kurulum engelleyici çağrılar yapar, çalıştırıcı thread'inde çağrılmalıdır.
+     */
+    void start() {
+        try {
+            int rows = settings.rows();
+            int columns = settings.columns();
+            JsonNode created = post(apiUrl, Map.of("rows", rows, "columns", columns, "mineCount", settings.mineCount()));
+            gameId = created.get("id").asText();
+            playerIds[0] = lastPlayerId(post(apiUrl + "/" + gameId + "/join", Map.of("username", "load-" + number + "-a")));
+            playerIds[1] = lastPlayerId(post(apiUrl + "/" + gameId + "/join", Map.of("username", "load-" + number + "-b")));
+
+            synchronized (this) {
+                revealed = new boolean[rows * columns];
+                flagOwners = new int[rows * columns];
+                Arrays.fill(flagOwners, -1);
+            }
+            for (int player = 0; player < 2; player++) {
+                sessions[player] = connect(player);
+            }
+            for (int i = 0; i < settings.spectators(); i++) {
+                StompSession spectator = connectSpectator();
+                synchronized (this) {
+                    if (!finished) {
+                        spectatorSessions.add(spectator);
+                        continue;
+                    }
+                }
+                spectator.disconnect(); // Oyun kurulum sırasında bitirildi
+            }
+
+            post(apiUrl + "/" + gameId + "/ready", Map.of("playerId", playerIds[0]));
+            JsonNode started = post(apiUrl + "/" + gameId + "/ready", Map.of("playerId", playerIds[1]));
+            metrics.gamesStarted.incrementAndGet();
+            synchronized (this) {
+                version = Math.max(version, started.get("version").asLong());
+                currentTurn = playerIndex(started.get("currentTurn").asText());
+                scheduleNextAction();
+            }
+        } catch (Exception e) {
+            metrics.failures.incrementAndGet();
+            System.err.println("Game " + number + " setup failed: " + e);
+            finish();
+        }
+    }
+
+    private StompSession connect(int player) throws Exception {
+        StompSession session = stompClient.connectAsync(webSocketUrl, new StompSessionHandlerAdapter() {
+            @Override
+            public void handleTransportError(StompSession session, Throwable exception) {
+                if (!isFinished()) {
+                    metrics.failures.incrementAndGet();
+                }
+            }
+        }).get(10, TimeUnit.SECONDS);
+
+        StompHeaders headers = new StompHeaders();
+        headers.setDestination(WebSocketController.eventsDestination(gameId));
+        headers.add("playerId", playerIds[player]);
+        headers.add("gameId", gameId);
+        session.subscribe(headers, new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return GameUpdateEventDTO.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                onEvent(player, (GameUpdateEventDTO) payload, System.nanoTime());
+            }
+        });
+
+        if (settings.transport() == LoadTestSettings.Transport.STOMP) {
+            session.subscribe("/user/queue/acks", new StompFrameHandler() {
+                @Override
+                public Type getPayloadType(StompHeaders headers) {
+                    return CommandAckDTO.class;
+                }
+
+                @Override
+                public void handleFrame(StompHeaders headers, Object payload) {
+                    onAck((CommandAckDTO) payload, System.nanoTime());
+                }
+            });
+        }
+        return session;
+    }
+
+    private StompSession connectSpectator() throws Exception {
+        StompSession session = spectatorStompClient.connectAsync(webSocketUrl, new StompSessionHandlerAdapter() {
+            @Override
+            public void handleException(StompSession session, StompCommand command, StompHeaders headers,
+                                        byte[] payload, Throwable exception) {
+                if (!isFinished()) {
+                    metrics.failures.incrementAndGet();
+                }
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                // İzleyici sınırı dolduysa sunucu ERROR çerçevesi gönderir
+                if (!isFinished()) {
+                    metrics.failures.incrementAndGet();
+                    System.err.println("Spectator for game " + number + " rejected: " + headers.getFirst("message"));
+                }
+            }
+
+            @Override
+            public void handleTransportError(StompSession session, Throwable exception) {
+                if (!isFinished()) {
+                    metrics.failures.incrementAndGet();
+                }
+            }
+        }).get(10, TimeUnit.SECONDS);
+
+        session.subscribe(WebSocketController.spectatorDestination(gameId), new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return GameUpdateEventDTO.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                onSpectatorEvent((GameUpdateEventDTO) payload, System.nanoTime());
+            }
+        });
+        return session;
+    }
+
+    /**
+     * İzleyici olayını, sürümünü üreten son hamleyle eşleştirir. İzleyiciler oyun nesnesinin kilidini almaz;
+     * binlerce izleyicinin olayları hamle döngüsünü yavaşlatmaz.
+     */
+    private void onSpectatorEvent(GameUpdateEventDTO event, long receivedNanos) {
+        long[] action = lastAction;
+        if (action[0] < event.getVersion()) {
+            metrics.spectatorFanOut.recordNanos(receivedNanos - action[1]);
+        }
+    }
+
+    private synchronized void onEvent(int player, GameUpdateEventDTO event, long receivedNanos) {
+        if (finished) {
+            return;
+        }
+        for (PendingAction action : pendingActions) {
+            if (action.baseVersion < event.getVersion() && !action.seenBy[player]) {
+                action.seenBy[player] = true;
+                long latency = receivedNanos - action.sentNanos;
+                if (player == action.actor) {
+                    metrics.moveRoundTrip.recordNanos(latency);
+                } else {
+                    metrics.fanOut.recordNanos(latency);
+                }
+                break;
+            }
+        }
+        pendingActions.removeIf(action -> action.seenBy[0] && action.seenBy[1]);
+
+        if (event.getVersion() <= version) {
+            return; // Diğer oyuncunun oturumu bu olayı zaten işledi
+        }
+        version = event.getVersion();
+        for (Cell cell : event.getCells()) {
+            int index = cell.getRow() * settings.columns() + cell.getColumn();
+            revealed[index] = cell.isRevealed();
+            flagOwners[index] = cell.getFlaggedByPlayerId() == null ? -1 : playerIndex(cell.getFlaggedByPlayerId());
+        }
+        if (event.isGameOver()) {
+            metrics.gamesCompleted.incrementAndGet();
+            executor.execute(this::finish);
+            return;
+        }
+        if (event.getStatus() != GameStatus.IN_PROGRESS) {
+            return; // Kurulum sırasındaki hazır olma olayları; ilk hamle start() içinde planlanır
+        }
+        currentTurn = playerIndex(event.getCurrentTurn());
+        scheduleNextAction();
+    }
+
+    private synchronized void onAck(CommandAckDTO ack, long receivedNanos) {
+        PendingAction action = null;
+        for (PendingAction pending : pendingActions) {
+            if (pending.requestId.equals(ack.getRequestId())) {
+                action = pending;
+                break;
+            }
+        }
+        if (finished || action == null) {
+            return; // Zaman aşımına uğramış bir komutun onayı
+        }
+        metrics.commandResponse.recordNanos(receivedNanos - action.sentNanos);
+        if (!ack.isAccepted()) {
+            rejected(action);
+        }
+    }
+
+    /**
+     * Geçersiz hamle (ör. sıra değişti, hücre açıldı); olay yayınlanmaz, sıradakine geçilir.
+     */
+    private synchronized void rejected(PendingAction action) {
+        metrics.rejectedActions.incrementAndGet();
+        pendingActions.remove(action);
+        scheduleNextAction();
+    }
+
+    /**
+     * Düşünme süresi sonunda sıradaki oyuncunun hamlesini planlar. Aynı anda tek bir hamle planlanır.
+     */
+    private void scheduleNextAction() {
+        if (actionScheduled || finished) {
+            return;
+        }
+        actionScheduled = true;
+        executor.schedule(this::act, settings.thinkTime().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void act() {
+        String path;
+        Map<String, Object> body;
+        StompSession session;
+        PendingAction action;
+        synchronized (this) {
+            actionScheduled = false;
+            if (finished) {
+                return;
+            }
+            int player = currentTurn;
+            int target = pickMoveTarget(player);
+            boolean flag = target < 0 || ThreadLocalRandom.current().nextDouble() < settings.flagRatio();
+            if (flag) {
+                target = pickFlagTarget(player);
+            }
+            if (target < 0) {
+                return; // Açılacak hücre kalmadı; oyun sonu olayı bekleniyor
+            }
+            path = flag ? "/flag" : "/move";
+            body = Map.of("playerId", playerIds[player],
+                    "row", target / settings.columns(),
+                    "col", target % settings.columns());
+            session = sessions[player];
+            action = new PendingAction(number + "-" + (++actionNumber), player, version, System.nanoTime());
+            pendingActions.addLast(action);
+            lastAction = new long[]{action.baseVersion, action.sentNanos};
+        }
+
+        metrics.actions.incrementAndGet();
+        try {
+            if (settings.transport() == LoadTestSettings.Transport.STOMP) {
+                StompHeaders headers = new StompHeaders();
+                headers.setDestination("/app/games/" + gameId + path);
+                headers.add("requestId", action.requestId);
+                session.send(headers, body);
+            } else {
+                HttpResponse<byte[]> response = send(apiUrl + "/" + gameId + path, body);
+                metrics.commandResponse.recordNanos(System.nanoTime() - action.sentNanos);
+                if (response.statusCode() != 200) {
+                    rejected(action);
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            metrics.failures.incrementAndGet();
+            finish();
+            return;
+        }
+        executor.schedule(() -> checkTimeout(action), ACTION_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void checkTimeout(PendingAction action) {
+        if (!finished && pendingActions.contains(action) && !action.seenBy[action.actor]) {
+            metrics.timedOutActions.incrementAndGet();
+            pendingActions.remove(action);
+            scheduleNextAction();
+        }
+    }
+
+    /**
+     * @return Oyuncunun açabileceği rastgele kapalı hücre (kendi bayrağı olmayan), yoksa -1.
+     */
+    private int pickMoveTarget(int player) {
+        return pickCell(index -> !revealed[index] && flagOwners[index] != player);
+    }
+
+    /**
+     * @return Bayrağı konabilecek boş veya oyuncunun kendi bayrağını taşıyan kapalı hücre, yoksa -1.
+     */
+    private int pickFlagTarget(int player) {
+        return pickCell(index -> !revealed[index] && (flagOwners[index] == -1 || flagOwners[index] == player));
+    }
+
+    private int pickCell(IntPredicate candidate) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int attempt = 0; attempt < 32; attempt++) {
+            int index = random.nextInt(revealed.length);
+            if (candidate.test(index)) {
+                return index;
+            }
+        }
+        int start = random.nextInt(revealed.length);
+        for (int i = 0; i < revealed.length; i++) {
+            int index = (start + i) % revealed.length;
+            if (candidate.test(index)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private synchronized boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Oturumları kapatır ve oyunun bittiğini bildirir. Birden fazla çağrılabilir, yalnızca ilki etkilidir.
+     */
+    void finish() {
+        synchronized (this) {
+            if (finished) {
+                return;
+            }
+            finished = true;
+        }
+        for (StompSession session : sessions) {
+            if (session != null && session.isConnected()) {
+                session.disconnect();
+            }
+        }
+        List<StompSession> spectators;
+        synchronized (this) {
+            spectators = new ArrayList<>(spectatorSessions);
+        }
+        for (StompSession session : spectators) {
+            if (session.isConnected()) {
+                session.disconnect();
+            }
+        }
+        onFinished.accept(this);
+    }
+
+    private int playerIndex(String playerId) {
+        return playerIds[1] != null && playerIds[1].equals(playerId) ? 1 : 0;
+    }
+
+    private static String lastPlayerId(JsonNode game) {
+        JsonNode players = game.get("players");
+        return players.get(players.size() - 1).get("id").asText();
+    }
+
+    private JsonNode post(String url, Map<String, Object> body) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = send(url, body);
+        if (response.statusCode() != 200) {
+            throw new IOException("POST " + url + " returned " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private HttpResponse<byte[]> send(String url, Map<String, Object> body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
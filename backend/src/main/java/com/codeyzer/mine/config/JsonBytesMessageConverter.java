@@ -0,0 +1,34 @@
+package com.codeyzer.mine.config;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.AbstractMessageConverter;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * Önceden serileştirilmiş JSON baytlarını olduğu gibi {@code application/json} mesajı olarak gönderir.
+ * Varsayılan dönüştürücü {@code byte[]} yükleri {@code application/octet-stream} olarak işaretler ve bunlar ikili
+ * WebSocket çerçevesiyle gider; sürüm başına bir kez üretilen JSON çıktıları bu dönüştürücüyle metin çerçevesi olarak,
+ * yeniden serileştirilmeden gönderilir.
+ */
+public class JsonBytesMessageConverter extends AbstractMessageConverter {
+
+    public JsonBytesMessageConverter() {
+        super(MimeTypeUtils.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return byte[].class == clazz;
+    }
+
+    @Override
+    protected boolean canConvertFrom(Message<?> message, Class<?> targetClass) {
+        return false; // Gelen mesajlar varsayılan dönüştürücülerle işlenir
+    }
+
+    @Override
+    protected Object convertToInternal(Object payload, MessageHeaders headers, Object conversionHint) {
+        return payload;
+    }
+}
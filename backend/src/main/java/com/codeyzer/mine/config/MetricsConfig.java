@@ -0,0 +1,163 @@
+package com.codeyzer.mine.config;
+
+import com.codeyzer.mine.model.BoardPreset;
+import com.codeyzer.mine.model.GameStatus;
+import com.codeyzer.mine.repository.InMemoryGameRepository;
+import com.codeyzer.mine.service.BoardPool;
+import com.codeyzer.mine.service.GameBroadcastQueue;
+import com.codeyzer.mine.service.GameEventLog;
+import com.codeyzer.mine.service.GameJsonCache;
+import com.codeyzer.mine.service.GameLifecycleManager;
+import com.codeyzer.mine.service.NoGuessBoardGenerator;
+import com.codeyzer.mine.service.ReconnectGraceTimer;
+import com.codeyzer.mine.service.SpectatorRegistry;
+import com.codeyzer.mine.service.TurnTimerScheduler;
+import com.codeyzer.mine.service.WebSocketSessionRegistry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Bileşenlerin kendi tuttuğu sayaç ve durumları Micrometer'a bağlar.
+ * Değerler ölçüm okunurken bileşenlerden alınır, sıcak yollara ek maliyet getirmez.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder gameStateMetrics(InMemoryGameRepository gameRepository, WebSocketSessionRegistry sessionRegistry,
+                                        TurnTimerScheduler turnTimerScheduler, ReconnectGraceTimer reconnectGraceTimer,
+                                        GameEventLog gameEventLog) {
+        return registry -> {
+            for (GameStatus status : GameStatus.values()) {
+                Gauge.builder("mineyzer.games.live", gameRepository, repository -> repository.countByStatus(status))
+                        .description("Bellekteki oyun sayısı")
+                        .tag("status", status.name())
+                        .register(registry);
+            }
+            Gauge.builder("mineyzer.sessions.registered", sessionRegistry, WebSocketSessionRegistry::size)
+                    .description("Oyuna kayıtlı WebSocket oturumu sayısı")
+                    .register(registry);
+            Gauge.builder("mineyzer.sessions.games", sessionRegistry, WebSocketSessionRegistry::getGameCount)
+                    .description("Kayıtlı oturumu olan oyun sayısı")
+                    .register(registry);
+            Gauge.builder("mineyzer.turn.timers.scheduled", turnTimerScheduler, TurnTimerScheduler::getScheduledCount)
+                    .description("Kurulu sıra süresi zamanlayıcısı sayısı")
+                    .register(registry);
+            Gauge.builder("mineyzer.reconnect.pending", reconnectGraceTimer, ReconnectGraceTimer::getPendingCount)
+                    .description("Yeniden bağlanması beklenen oyuncu sayısı")
+                    .register(registry);
+            Gauge.builder("mineyzer.games.event.logs", gameEventLog, GameEventLog::size)
+                    .description("Olay tamponu tutulan oyun sayısı")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder spectatorMetrics(SpectatorRegistry spectatorRegistry) {
+        return registry -> {
+            Gauge.builder("mineyzer.spectators", spectatorRegistry, SpectatorRegistry::size)
+                    .description("İzleyici kanallarına yapılmış abonelik sayısı")
+                    .register(registry);
+            Gauge.builder("mineyzer.spectators.games", spectatorRegistry, SpectatorRegistry::getGameCount)
+                    .description("İzleyicisi olan oyun sayısı")
+                    .register(registry);
+            FunctionCounter.builder("mineyzer.spectators.rejected", spectatorRegistry, SpectatorRegistry::getRejected)
+                    .description("İzleyici sınırı dolu olduğu için reddedilen abonelikler")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder broadcastQueueMetrics(GameBroadcastQueue broadcastQueue) {
+        return registry -> {
+            Gauge.builder("mineyzer.broadcast.queue.depth", broadcastQueue, GameBroadcastQueue::getQueueDepth)
+                    .description("Yayın bekleyen oyun sayısı")
+                    .register(registry);
+            FunctionCounter.builder("mineyzer.broadcast.updates", broadcastQueue, GameBroadcastQueue::getSubmitted)
+                    .description("Yayın kuyruğuna eklenen güncellemeler")
+                    .tag("result", "submitted")
+                    .register(registry);
+            FunctionCounter.builder("mineyzer.broadcast.updates", broadcastQueue, GameBroadcastQueue::getCoalesced)
+                    .description("Yayın kuyruğuna eklenen güncellemeler")
+                    .tag("result", "coalesced")
+                    .register(registry);
+            FunctionCounter.builder("mineyzer.broadcast.updates", broadcastQueue, GameBroadcastQueue::getDropped)
+                    .description("Yayın kuyruğuna eklenen güncellemeler")
+                    .tag("result", "dropped")
+                    .register(registry);
+            FunctionCounter.builder("mineyzer.broadcast.published", broadcastQueue, GameBroadcastQueue::getPublished)
+                    .description("Gönderilen oyun yayınları")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder gameJsonCacheMetrics(GameJsonCache gameJsonCache) {
+        return registry -> {
+            FunctionCounter.builder("mineyzer.game.json.requests", gameJsonCache, GameJsonCache::getHits)
+                    .description("Oyun görüntüsünün JSON çıktısı istekleri")
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("mineyzer.game.json.requests", gameJsonCache, GameJsonCache::getMisses)
+                    .description("Oyun görüntüsünün JSON çıktısı istekleri")
+                    .tag("result", "miss")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder gameLifecycleMetrics(GameLifecycleManager lifecycleManager) {
+        return registry -> {
+            FunctionCounter.builder("mineyzer.games.evicted", lifecycleManager, GameLifecycleManager::getFinishedEvictions)
+                    .description("Bellekten çıkarılan oyun sayısı")
+                    .tag("reason", "finished")
+                    .register(registry);
+            FunctionCounter.builder("mineyzer.games.evicted", lifecycleManager, GameLifecycleManager::getStaleLobbyEvictions)
+                    .description("Bellekten çıkarılan oyun sayısı")
+                    .tag("reason", "stale_lobby")
+                    .register(registry);
+            FunctionCounter.builder("mineyzer.games.evicted", lifecycleManager, GameLifecycleManager::getCapacityEvictions)
+                    .description("Bellekten çıkarılan oyun sayısı")
+                    .tag("reason", "capacity")
+                    .register(registry);
+            FunctionCounter.builder("mineyzer.games.rejected", lifecycleManager, GameLifecycleManager::getRejectedCreations)
+                    .description("Kapasite dolu olduğu için reddedilen oyun oluşturma istekleri")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder boardGenerationMetrics(BoardPool boardPool, NoGuessBoardGenerator noGuessBoardGenerator) {
+        return registry -> {
+            FunctionCounter.builder("mineyzer.board.pool.requests", boardPool, BoardPool::getHits)
+                    .description("Hazır tahta havuzundan istenen tahtalar")
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("mineyzer.board.pool.requests", boardPool, BoardPool::getMisses)
+                    .description("Hazır tahta havuzundan istenen tahtalar")
+                    .tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("mineyzer.board.pool.returns", boardPool, BoardPool::getReturns)
+                    .description("Kullanılmadan havuza geri verilen tahtalar")
+                    .register(registry);
+            for (BoardPreset preset : BoardPreset.values()) {
+                Gauge.builder("mineyzer.board.pool.available", boardPool, pool -> pool.getAvailable(preset))
+                        .description("Havuzda hazır bekleyen tahta sayısı")
+                        .tag("preset", preset.name())
+                        .register(registry);
+            }
+            FunctionCounter.builder("mineyzer.board.noguess.generated", noGuessBoardGenerator, NoGuessBoardGenerator::getGeneratedBoards)
+                    .description("Üretilen tahminsiz tahtalar")
+                    .register(registry);
+            FunctionCounter.builder("mineyzer.board.noguess.candidates", noGuessBoardGenerator, NoGuessBoardGenerator::getCandidatesTried)
+                    .description("Tahminsiz tahta aramasında denenen aday tahtalar")
+                    .register(registry);
+            FunctionCounter.builder("mineyzer.board.noguess.budget.exceeded", noGuessBoardGenerator, NoGuessBoardGenerator::getBudgetExceeded)
+                    .description("Süre içinde tahminsiz tahta bulunamayan istekler")
+                    .register(registry);
+        };
+    }
+}
@@ -1,19 +1,43 @@
 package com.codeyzer.mine.config;
 
+import com.codeyzer.mine.listener.GameSubscriptionInterceptor;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
+import java.util.List;
+
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final GameSubscriptionInterceptor gameSubscriptionInterceptor;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/topic");
+        // /topic oyun ve lobi yayınları, /queue ise oturuma özel komut onayları (/user/queue/acks) için
+        config.enableSimpleBroker("/topic", "/queue");
         config.setApplicationDestinationPrefixes("/app");
+        config.setUserDestinationPrefix("/user");
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        // Oyuncu kanallarına sadece oyunun oyuncuları abone olabilir; izleyici kanallarına abonelikler sayılır ve sınır uygulanır
+        registration.interceptors(gameSubscriptionInterceptor);
+    }
+
+    @Override
+    public boolean configureMessageConverters(List<MessageConverter> messageConverters) {
+        // @SubscribeMapping'lerin döndürdüğü hazır JSON baytları; varsayılan dönüştürücüler de eklenir
+        messageConverters.add(new JsonBytesMessageConverter());
+        return true;
     }
 
     @Override
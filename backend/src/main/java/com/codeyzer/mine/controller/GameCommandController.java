@@ -0,0 +1,72 @@
+package com.codeyzer.mine.controller;
+
+import com.codeyzer.mine.dto.CommandAckDTO;
+import com.codeyzer.mine.dto.MakeMoveRequestDTO;
+import com.codeyzer.mine.dto.PlayerIdRequestDTO;
+import com.codeyzer.mine.dto.ToggleFlagRequestDTO;
+import com.codeyzer.mine.model.GameSnapshot;
+import com.codeyzer.mine.service.GameService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.stereotype.Controller;
+
+/**
+ * Hamle, bayrak ve hazır olma komutlarını açık WebSocket bağlantısı üzerinden alır
+ * ({@code /app/games/{id}/move}, {@code /flag}, {@code /ready}).
+ * <p>
+ * REST uç noktalarından farklı olarak yanıtta oyun durumu dönmez: değişiklik tüm oyunculara
+ * {@code /topic/games/{id}/events} kanalından yayınlanır, komutu gönderen oturuma ise sadece küçük bir
+ * {@link CommandAckDTO} {@code /user/queue/acks} kuyruğundan gönderilir. İstemci komutla birlikte bir
+ * {@code requestId} başlığı gönderirse aynı değer onayda geri döner.
+ * REST uç noktaları eski istemciler için aynen korunur.
+ */
+@Controller
+@RequiredArgsConstructor
+public class GameCommandController {
+
+    private static final String ACK_QUEUE = "/queue/acks";
+
+    private final GameService gameService;
+
+    @MessageMapping("/games/{gameId}/move")
+    @SendToUser(destinations = ACK_QUEUE, broadcast = false)
+    public CommandAckDTO makeMove(@DestinationVariable String gameId, @Payload MakeMoveRequestDTO request,
+                                  @Header(name = "requestId", required = false) String requestId) {
+        GameSnapshot updatedGame = null;
+        if (request.getPlayerId() != null && request.getRow() != null && request.getCol() != null) {
+            updatedGame = gameService.makeMove(gameId, request.getPlayerId(), request.getRow(), request.getCol());
+        }
+        return ack(requestId, gameId, CommandAckDTO.Command.MOVE, updatedGame);
+    }
+
+    @MessageMapping("/games/{gameId}/flag")
+    @SendToUser(destinations = ACK_QUEUE, broadcast = false)
+    public CommandAckDTO toggleFlag(@DestinationVariable String gameId, @Payload ToggleFlagRequestDTO request,
+                                    @Header(name = "requestId", required = false) String requestId) {
+        GameSnapshot updatedGame = null;
+        if (request.getPlayerId() != null && request.getRow() != null && request.getCol() != null) {
+            updatedGame = gameService.toggleFlag(gameId, request.getPlayerId(), request.getRow(), request.getCol());
+        }
+        return ack(requestId, gameId, CommandAckDTO.Command.FLAG, updatedGame);
+    }
+
+    @MessageMapping("/games/{gameId}/ready")
+    @SendToUser(destinations = ACK_QUEUE, broadcast = false)
+    public CommandAckDTO markPlayerReady(@DestinationVariable String gameId, @Payload PlayerIdRequestDTO request,
+                                         @Header(name = "requestId", required = false) String requestId) {
+        GameSnapshot updatedGame = null;
+        if (request.getPlayerId() != null && !request.getPlayerId().trim().isEmpty()) {
+            updatedGame = gameService.markPlayerReady(gameId, request.getPlayerId());
+        }
+        return ack(requestId, gameId, CommandAckDTO.Command.READY, updatedGame);
+    }
+
+    private static CommandAckDTO ack(String requestId, String gameId, CommandAckDTO.Command command, GameSnapshot updatedGame) {
+        return new CommandAckDTO(requestId, gameId, command, updatedGame != null,
+                updatedGame != null ? updatedGame.getVersion() : 0);
+    }
+}
@@ -4,23 +4,38 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import com.codeyzer.mine.dto.CellsGameDTO;
 import com.codeyzer.mine.dto.GameConfigDTO;
+import com.codeyzer.mine.dto.GameSummaryPageDTO;
 import com.codeyzer.mine.dto.JoinGameRequestDTO;
 import com.codeyzer.mine.dto.MakeMoveRequestDTO;
 import com.codeyzer.mine.dto.ToggleFlagRequestDTO;
 import com.codeyzer.mine.dto.PlayerIdRequestDTO;
-import com.codeyzer.mine.model.Game;
+import com.codeyzer.mine.dto.PackedGameSnapshotDTO;
+import com.codeyzer.mine.dto.SpectatorGameDTO;
+import com.codeyzer.mine.model.ArchivedGame;
+import com.codeyzer.mine.model.GameSnapshot;
+import com.codeyzer.mine.model.GameStatus;
+import com.codeyzer.mine.model.GameView;
+import com.codeyzer.mine.service.BoardSnapshotCodec;
+import com.codeyzer.mine.service.GameJsonCache;
 import com.codeyzer.mine.service.GameService;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RequiredArgsConstructor
 @RestController
@@ -28,37 +43,137 @@ import org.springframework.web.bind.annotation.RestController;
 @CrossOrigin(origins = "http://localhost:5173") // Frontend'in çalıştığı port
 public class GameController {
 
+    /** Oyun durumunu isteyen oyuncunun ID'si; verilmezse veya oyunun oyuncusu değilse izleyici görünümü döner. */
+    public static final String PLAYER_ID_HEADER = "X-Player-Id";
+
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final GameService gameService;
+    private final BoardSnapshotCodec boardSnapshotCodec;
+    private final GameJsonCache gameJsonCache;
+
     @PostMapping
-    public ResponseEntity<Game> createGame(@RequestBody GameConfigDTO gameConfig) {
+    public ResponseEntity<GameSnapshot> createGame(@RequestBody GameConfigDTO gameConfig) {
         int rows = gameConfig.getRows();
         int columns = gameConfig.getColumns();
         int mineCount = gameConfig.getMineCount();
 
-        Game newGame = gameService.createGame(rows, columns, mineCount);
+        GameSnapshot newGame = gameService.createGame(rows, columns, mineCount, gameConfig.isNoGuess());
+        if (newGame == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
         return ResponseEntity.ok(newGame);
     }
 
+    /**
+     * Tüm oyunları izleyici görünümünde döndürür; liste herkese açık olduğundan gerçek oyuncu ID'leri gönderilmez.
+     */
     @GetMapping
-    public ResponseEntity<List<Game>> getAllGames() {
-        return ResponseEntity.ok(gameService.getAllGames());
+    public ResponseEntity<List<SpectatorGameDTO>> getAllGames() {
+        return ResponseEntity.ok(gameService.getAllGames().stream().map(SpectatorGameDTO::from).toList());
+    }
+
+    /**
+     * Lobi için tahta içermeyen oyun özetlerini sayfa sayfa döndürür.
+     * @param status Filtrelenecek oyun durumu, verilmezse tüm oyunlar.
+     */
+    @GetMapping("/summaries")
+    public ResponseEntity<GameSummaryPageDTO> getGameSummaries(@RequestParam(required = false) GameStatus status,
+                                                               @RequestParam(defaultValue = "0") int page,
+                                                               @RequestParam(defaultValue = "20") int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(gameService.getGameSummaries(status, page, size));
+    }
+
+    /**
+     * Oyunun tam durumunu döndürür. {@value #PLAYER_ID_HEADER} başlığı oyunun oyuncularından birini göstermiyorsa
+     * oyuncu ID'leri genel ID'lerle değiştirilmiş izleyici görünümü döner.
+     * Yanıt oyunun sürümünden türetilen bir ETag taşır; istemcinin {@code If-None-Match} başlığındaki sürüm hâlâ
+     * günceldeyse gövdesiz 304 döner. Gövde, sürüm başına bir kez serileştirilip yayınlarla paylaşılan JSON çıktısıdır.
+     */
+    // Üretilen tür açıkça belirtilir; Accept'i application/*+json olan genel istemciler paketlenmiş biçime düşmez
+    @GetMapping(value = "/{gameId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getGameById(@PathVariable String gameId,
+                                              @RequestHeader(name = PLAYER_ID_HEADER, required = false) String playerId,
+                                              WebRequest request) throws JsonProcessingException {
+        return gameJson(gameId, playerId, false, request);
+    }
+
+    /**
+     * {@code Accept: application/vnd.mineyzer.cells+json} isteyen istemcilere tahtanın tamamı yerine sadece görünen
+     * hücreleri döndürür. Oyuncu/izleyici ayrımı ve ETag desteği tam durumdaki gibidir.
+     */
+    @GetMapping(value = "/{gameId}", produces = CellsGameDTO.MEDIA_TYPE)
+    public ResponseEntity<byte[]> getGameCellsById(@PathVariable String gameId,
+                                                   @RequestHeader(name = PLAYER_ID_HEADER, required = false) String playerId,
+                                                   WebRequest request) throws JsonProcessingException {
+        return gameJson(gameId, playerId, true, request);
+    }
+
+    private ResponseEntity<byte[]> gameJson(String gameId, String playerId, boolean cells, WebRequest request)
+            throws JsonProcessingException {
+        Optional<GameSnapshot> game = gameService.getGameById(gameId);
+        if (game.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        GameView view = GameView.of(!game.get().hasPlayer(playerId), cells);
+        String etag = GameJsonCache.etag(game.get(), view.getEtagSuffix());
+        if (request.checkNotModified(etag)) {
+            return null; // 304 yanıtı ve başlıkları checkNotModified tarafından hazırlandı
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .contentType(cells ? MediaType.parseMediaType(CellsGameDTO.MEDIA_TYPE) : MediaType.APPLICATION_JSON)
+                .body(gameJsonCache.toJson(game.get(), view));
+    }
+
+    /**
+     * {@code Accept: application/vnd.mineyzer.packed+json} isteyen oyunculara tahtayı paketlenmiş biçimde döndürür.
+     * Paketlenmiş biçim gerçek oyuncu ID'lerini taşıdığından {@value #PLAYER_ID_HEADER} başlığı zorunludur.
+     * Tam durumdaki gibi ETag ile koşullu istekleri destekler.
+     */
+    @GetMapping(value = "/{gameId}", produces = PackedGameSnapshotDTO.MEDIA_TYPE)
+    public ResponseEntity<PackedGameSnapshotDTO> getPackedGameById(@PathVariable String gameId,
+                                                                   @RequestHeader(name = PLAYER_ID_HEADER, required = false) String playerId,
+                                                                   WebRequest request) {
+        Optional<GameSnapshot> game = gameService.getGameById(gameId);
+        if (game.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!game.get().hasPlayer(playerId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        String etag = GameJsonCache.etag(game.get(), "packed");
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(boardSnapshotCodec.toPackedSnapshot(game.get()));
     }
 
-    @GetMapping("/{gameId}")
-    public ResponseEntity<Game> getGameById(@PathVariable String gameId) {
-        Optional<Game> game = gameService.getGameById(gameId);
-        return game.map(ResponseEntity::ok)
+    /**
+     * Bellekten çıkarılmış (bitmiş veya terk edilmiş) bir oyunun özetini döndürür.
+     */
+    @GetMapping("/{gameId}/archive")
+    public ResponseEntity<ArchivedGame> getArchivedGame(@PathVariable String gameId) {
+        return gameService.getArchivedGame(gameId)
+                .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @PostMapping("/{gameId}/join")
-    public ResponseEntity<Game> joinGame(@PathVariable String gameId, @RequestBody JoinGameRequestDTO request) {
+    public ResponseEntity<GameSnapshot> joinGame(@PathVariable String gameId, @RequestBody JoinGameRequestDTO request) {
         String username = request.getUsername();
         if (username == null || username.trim().isEmpty()) {
             return ResponseEntity.badRequest().build();
         }
 
-        Game game = gameService.joinGame(gameId, username);
+        GameSnapshot game = gameService.joinGame(gameId, username);
         if (game != null) {
             return ResponseEntity.ok(game);
         } else {
@@ -67,7 +182,7 @@ public class GameController {
     }
 
     @PostMapping("/{gameId}/move")
-    public ResponseEntity<Game> makeMove(@PathVariable String gameId, @RequestBody MakeMoveRequestDTO request) {
+    public ResponseEntity<GameSnapshot> makeMove(@PathVariable String gameId, @RequestBody MakeMoveRequestDTO request) {
         String playerId = request.getPlayerId();
         Integer row = request.getRow();
         Integer col = request.getCol();
@@ -76,7 +191,7 @@ public class GameController {
             return ResponseEntity.badRequest().build();
         }
 
-        Game updatedGame = gameService.makeMove(gameId, playerId, row, col);
+        GameSnapshot updatedGame = gameService.makeMove(gameId, playerId, row, col);
         if (updatedGame != null) {
             return ResponseEntity.ok(updatedGame);
         } else {
@@ -85,7 +200,7 @@ public class GameController {
     }
 
     @PostMapping("/{gameId}/flag")
-    public ResponseEntity<Game> toggleFlag(@PathVariable String gameId, @RequestBody ToggleFlagRequestDTO request) {
+    public ResponseEntity<GameSnapshot> toggleFlag(@PathVariable String gameId, @RequestBody ToggleFlagRequestDTO request) {
         String playerId = request.getPlayerId();
         Integer row = request.getRow();
         Integer col = request.getCol();
@@ -94,7 +209,7 @@ public class GameController {
             return ResponseEntity.badRequest().build();
         }
 
-        Game updatedGame = gameService.toggleFlag(gameId, playerId, row, col);
+        GameSnapshot updatedGame = gameService.toggleFlag(gameId, playerId, row, col);
         
         if (updatedGame != null) {
             return ResponseEntity.ok(updatedGame);
@@ -104,13 +219,13 @@ public class GameController {
     }
 
     @PostMapping("/{gameId}/ready")
-    public ResponseEntity<Game> markPlayerReady(@PathVariable String gameId, @RequestBody PlayerIdRequestDTO request) {
+    public ResponseEntity<GameSnapshot> markPlayerReady(@PathVariable String gameId, @RequestBody PlayerIdRequestDTO request) {
         String playerId = request.getPlayerId();
         if (playerId == null || playerId.trim().isEmpty()) {
             return ResponseEntity.badRequest().body(null);
         }
 
-        Game updatedGame = gameService.markPlayerReady(gameId, playerId);
+        GameSnapshot updatedGame = gameService.markPlayerReady(gameId, playerId);
         if (updatedGame != null) {
             return ResponseEntity.ok(updatedGame);
         } else {
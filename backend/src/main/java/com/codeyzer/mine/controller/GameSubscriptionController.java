@@ -0,0 +1,85 @@
+package com.codeyzer.mine.controller;
+
+import com.codeyzer.mine.dto.CellsGameDTO;
+import com.codeyzer.mine.dto.GameResumeDTO;
+import com.codeyzer.mine.dto.LobbyListingDTO;
+import com.codeyzer.mine.dto.PackedGameSnapshotDTO;
+import com.codeyzer.mine.model.GameSnapshot;
+import com.codeyzer.mine.model.GameView;
+import com.codeyzer.mine.service.BoardSnapshotCodec;
+import com.codeyzer.mine.service.GameJsonCache;
+import com.codeyzer.mine.service.GameService;
+import com.codeyzer.mine.service.LobbyService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
+import org.springframework.stereotype.Controller;
+
+import java.util.Optional;
+
+/**
+ * İstemcilerin abone olduklarında tam oyun durumunu tek seferlik almalarını sağlar.
+ * Sonraki değişiklikler {@code /topic/games/{id}/events} kanalından delta olarak gelir.
+ * Abonelik başlığında {@code accept: application/vnd.mineyzer.packed+json} gönderen istemciler
+ * tahtayı paketlenmiş biçimde, {@code accept: application/vnd.mineyzer.cells+json} gönderenler sadece görünen hücreleri alır.
+ * Bağlantısı kopup geri gelen istemciler {@code /app/games/{id}/resume} ile sadece kaçırdıkları olayları alabilir.
+ * Oyunu izleyenler {@code /app/games/{id}/spectate} ile mayınları gizlenmiş tam durumu alır, değişiklikler
+ * {@code /topic/games/{id}/spectate} kanalından gelir.
+ * Lobi de aynı şekilde çalışır: {@code /app/lobby} başlangıç listesini, {@code /topic/lobby} değişiklikleri taşır.
+ */
+@Controller
+@RequiredArgsConstructor
+public class GameSubscriptionController {
+
+    private final GameService gameService;
+    private final BoardSnapshotCodec boardSnapshotCodec;
+    private final LobbyService lobbyService;
+    private final GameJsonCache gameJsonCache;
+
+    /**
+     * {@code accept} başlığı paketlenmiş ({@value PackedGameSnapshotDTO#MEDIA_TYPE}) veya seyrek
+     * ({@value CellsGameDTO#MEDIA_TYPE}) biçimi seçer; başlık yoksa tahta tam olarak gönderilir.
+     */
+    @SubscribeMapping("/games/{gameId}")
+    public Object subscribeGame(@DestinationVariable String gameId,
+                                @Header(name = "accept", required = false) String accept) throws JsonProcessingException {
+        Optional<GameSnapshot> game = gameService.getGameById(gameId);
+        if (game.isEmpty()) {
+            return null;
+        }
+        if (PackedGameSnapshotDTO.MEDIA_TYPE.equals(accept)) {
+            return boardSnapshotCodec.toPackedSnapshot(game.get());
+        }
+        return gameJsonCache.toJson(game.get(), GameView.of(false, CellsGameDTO.MEDIA_TYPE.equals(accept)));
+    }
+
+    /**
+     * Yeniden bağlanan istemci {@code lastVersion} başlığıyla elindeki son sürümü bildirir; kaçırılan olaylar tamponda
+     * duruyorsa sadece onlar, aksi halde tam görüntü gönderilir.
+     */
+    @SubscribeMapping("/games/{gameId}/resume")
+    public GameResumeDTO resumeGame(@DestinationVariable String gameId,
+                                    @Header(name = "lastVersion", required = false) Long lastVersion) {
+        return gameService.resumeGame(gameId, lastVersion != null ? lastVersion : -1).orElse(null);
+    }
+
+    /**
+     * İzleyici görünümü sürüm başına bir kez serileştirilir; aynı sürümü isteyen tüm izleyicilere aynı baytlar gönderilir.
+     * {@code accept} başlığı {@value CellsGameDTO#MEDIA_TYPE} ise tahta yerine sadece görünen hücreler gönderilir.
+     */
+    @SubscribeMapping("/games/{gameId}/spectate")
+    public byte[] spectateGame(@DestinationVariable String gameId,
+                               @Header(name = "accept", required = false) String accept) throws JsonProcessingException {
+        Optional<GameSnapshot> game = gameService.getGameById(gameId);
+        return game.isPresent()
+                ? gameJsonCache.toJson(game.get(), GameView.of(true, CellsGameDTO.MEDIA_TYPE.equals(accept)))
+                : null;
+    }
+
+    @SubscribeMapping("/lobby")
+    public LobbyListingDTO subscribeLobby() {
+        return lobbyService.getListing();
+    }
+}
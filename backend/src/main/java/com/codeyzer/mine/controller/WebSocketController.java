@@ -1,21 +1,229 @@
 package com.codeyzer.mine.controller;
 
-import com.codeyzer.mine.model.Game;
+import com.codeyzer.mine.dto.GameUpdateEventDTO;
+import com.codeyzer.mine.dto.LobbyEventDTO;
+import com.codeyzer.mine.model.Cell;
+import com.codeyzer.mine.model.GameSnapshot;
+import com.codeyzer.mine.service.BoardSnapshotCodec;
+import com.codeyzer.mine.service.GameEventLog;
+import com.codeyzer.mine.service.GameJsonCache;
+import com.codeyzer.mine.service.GameMetrics;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.AbstractBrokerMessageHandler;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Controller;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 
 @Controller
 public class WebSocketController {
 
+    public static final String LOBBY_DESTINATION = "/topic/lobby";
+
+    private static final Set<String> PLAYER_CHANNELS = Set.of("", "/events", "/packed", "/resume");
+
+    private static final Logger log = LoggerFactory.getLogger(WebSocketController.class);
+
     private final SimpMessagingTemplate messagingTemplate;
+    private final AbstractBrokerMessageHandler brokerMessageHandler;
+    private final BoardSnapshotCodec boardSnapshotCodec;
+    private final ObjectMapper objectMapper;
+    private final GameMetrics gameMetrics;
+    private final GameJsonCache gameJsonCache;
+    private final GameEventLog gameEventLog;
 
     @Autowired
-    public WebSocketController(SimpMessagingTemplate messagingTemplate) {
+    public WebSocketController(SimpMessagingTemplate messagingTemplate,
+                               @Qualifier("simpleBrokerMessageHandler") AbstractBrokerMessageHandler brokerMessageHandler,
+                               BoardSnapshotCodec boardSnapshotCodec, ObjectMapper objectMapper, GameMetrics gameMetrics,
+                               GameJsonCache gameJsonCache, GameEventLog gameEventLog) {
         this.messagingTemplate = messagingTemplate;
+        this.brokerMessageHandler = brokerMessageHandler;
+        this.boardSnapshotCodec = boardSnapshotCodec;
+        this.objectMapper = objectMapper;
+        this.gameMetrics = gameMetrics;
+        this.gameJsonCache = gameJsonCache;
+        this.gameEventLog = gameEventLog;
+    }
+
+    /**
+     * Oyunun değişen kısmını {@code /topic/games/{id}/events} kanalına delta olay olarak yayınlar.
+     * Tam oyun durumu eski istemciler için {@code /topic/games/{id}} kanalına, paketlenmiş tahtalı hali de
+     * {@code /topic/games/{id}/packed} kanalına sadece abone varsa gönderilir.
+     * İzleyici varsa mayınları gizlenmiş olay {@code /topic/games/{id}/spectate} kanalına bir kez serileştirilip
+     * gönderilir; broker aynı yükü tüm izleyicilere dağıtır.
+     * @param game Güncellenen oyunun yayınlanan görüntüsü
+     * @param baseVersion Olayın uygulanabileceği istemci sürümü; birleştirilmiş güncellemelerde ilk güncellemenin öncesi
+     * @param changedCells Bu güncellemede (veya birleştirilen güncellemelerde) değişen hücrelerin indeksleri
+     */
+    public void broadcastGameUpdate(GameSnapshot game, long baseVersion, Collection<Integer> changedCells) {
+        GameUpdateEventDTO event = createUpdateEvent(game, baseVersion, changedCells, false);
+        gameEventLog.append(event); // Yeniden bağlanan istemciler kaçırdıkları olayları buradan alır
+        send(eventsDestination(game.getId()), "events", event);
+
+        String snapshotDestination = snapshotDestination(game.getId());
+        if (hasSubscribers(snapshotDestination)) {
+            sendSnapshot(snapshotDestination, game);
+        }
+
+        String packedDestination = packedDestination(game.getId());
+        if (hasSubscribers(packedDestination)) {
+            send(packedDestination, "packed", boardSnapshotCodec.toPackedSnapshot(game));
+        }
+
+        String spectatorDestination = spectatorDestination(game.getId());
+        if (hasSubscribers(spectatorDestination)) {
+            send(spectatorDestination, "spectator", createUpdateEvent(game, baseVersion, changedCells, true));
+        }
+    }
+
+    /**
+     * Lobi değişikliğini {@code /topic/lobby} kanalına yayınlar.
+     */
+    public void broadcastLobbyEvent(LobbyEventDTO event) {
+        send(LOBBY_DESTINATION, "lobby", event);
+    }
+
+    /**
+     * Mesajı JSON'a serileştirip gönderir; serileştirme süresi ve yük boyutu kanal bazında ölçülür.
+     */
+    private void send(String destination, String channel, Object payload) {
+        long start = System.nanoTime();
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(payload);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize {} message for {}", channel, destination, e);
+            return;
+        }
+        gameMetrics.recordBroadcast(channel, System.nanoTime() - start, json.length);
+        sendJson(destination, json);
+    }
+
+    /**
+     * Tam oyun durumunu, sürüm için bir kez üretilip REST okumalarıyla paylaşılan JSON çıktısıyla gönderir.
+     */
+    private void sendSnapshot(String destination, GameSnapshot game) {
+        long start = System.nanoTime();
+        byte[] json;
+        try {
+            json = gameJsonCache.toJson(game);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize snapshot message for {}", destination, e);
+            return;
+        }
+        gameMetrics.recordBroadcast("snapshot", System.nanoTime() - start, json.length);
+        sendJson(destination, json);
+    }
+
+    private void sendJson(String destination, byte[] json) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setLeaveMutable(true); // Hedef başlığı şablon tarafından eklenir
+        messagingTemplate.send(destination, MessageBuilder.createMessage(json, accessor.getMessageHeaders()));
+    }
+
+    /**
+     * Hücreler görünür görünümleriyle gönderilir; kapalı hücrelerin mayın bilgisi oyun bitene kadar gönderilmez.
+     * Oyunu bitiren güncellemede mayınlar değişen hücreler arasında gelir ({@link com.codeyzer.mine.model.Game#updateVisibleCells}).
+     * @param spectator İzleyici görünümü için true; oyuncu ID'leri genel ID'lerle değiştirilir
+     */
+    private GameUpdateEventDTO createUpdateEvent(GameSnapshot game, long baseVersion, Collection<Integer> changedCells,
+                                                 boolean spectator) {
+        GameUpdateEventDTO event = new GameUpdateEventDTO();
+        event.setGameId(game.getId());
+        event.setBaseVersion(baseVersion);
+        event.setVersion(game.getVersion());
+        event.setStatus(game.getStatus());
+        event.setNoGuess(game.isNoGuess());
+        event.setCurrentTurn(spectator ? game.spectatorPlayerId(game.getCurrentTurn()) : game.getCurrentTurn());
+        event.setPlayers(spectator ? game.spectatorPlayers() : game.getPlayers());
+        event.setPlayer1TimeLeftMillis(game.getPlayer1TimeLeftMillis());
+        event.setPlayer2TimeLeftMillis(game.getPlayer2TimeLeftMillis());
+        event.setTurnStartTimeMillis(game.getTurnStartTimeMillis());
+        event.setLastEventMessage(game.getLastEventMessage());
+        event.setLastMoveRow(game.getLastMoveRow());
+        event.setLastMoveCol(game.getLastMoveCol());
+        event.setWinnerId(spectator ? game.spectatorPlayerId(game.getWinnerId()) : game.getWinnerId());
+        event.setGameOver(game.isGameOver());
+
+        List<Cell> cells = new ArrayList<>(changedCells.size());
+        for (Integer index : changedCells) {
+            cells.add(spectator ? game.toSpectatorCell(index) : game.toCell(index));
+        }
+        event.setCells(cells);
+        return event;
+    }
+
+    private boolean hasSubscribers(String destination) {
+        if (!(brokerMessageHandler instanceof SimpleBrokerMessageHandler simpleBroker)) {
+            return true; // Abonelik bilgisi alınamıyorsa güvenli tarafta kal
+        }
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(destination);
+        Message<byte[]> probe = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+        return !simpleBroker.getSubscriptionRegistry().findSubscriptions(probe).isEmpty();
+    }
+
+    public static String snapshotDestination(String gameId) {
+        return "/topic/games/" + gameId;
+    }
+
+    public static String packedDestination(String gameId) {
+        return "/topic/games/" + gameId + "/packed";
+    }
+
+    public static String eventsDestination(String gameId) {
+        return "/topic/games/" + gameId + "/events";
+    }
+
+    public static String spectatorDestination(String gameId) {
+        return "/topic/games/" + gameId + "/spectate";
+    }
+
+    /**
+     * @return Hedef gerçek oyuncu ID'lerini taşıyan bir oyun kanalıysa ({@code /topic/games/{id}}, {@code /events},
+     * {@code /packed} ve {@code /app/games/{id}}, {@code /resume} abonelikleri) oyun ID'si, değilse null.
+     */
+    public static String playerChannelGameId(String destination) {
+        String path;
+        if (destination == null) {
+            return null;
+        } else if (destination.startsWith("/topic/games/")) {
+            path = destination.substring("/topic/games/".length());
+        } else if (destination.startsWith("/app/games/")) {
+            path = destination.substring("/app/games/".length());
+        } else {
+            return null;
+        }
+        int slash = path.indexOf('/');
+        String gameId = slash < 0 ? path : path.substring(0, slash);
+        String channel = slash < 0 ? "" : path.substring(slash);
+        return !gameId.isEmpty() && PLAYER_CHANNELS.contains(channel) ? gameId : null;
     }
 
-    public void broadcastGameUpdate(Game game) {
-        messagingTemplate.convertAndSend("/topic/games/" + game.getId(), game);
+    /**
+     * @return Hedef bir oyunun izleyici kanalıysa oyun ID'si, değilse null.
+     */
+    public static String spectatedGameId(String destination) {
+        if (destination == null || !destination.startsWith("/topic/games/") || !destination.endsWith("/spectate")) {
+            return null;
+        }
+        String gameId = destination.substring("/topic/games/".length(), destination.length() - "/spectate".length());
+        return gameId.isEmpty() || gameId.indexOf('/') >= 0 ? null : gameId;
     }
-} 
\ No newline at end of file
+}
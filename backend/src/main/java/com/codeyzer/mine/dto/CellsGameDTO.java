@@ -0,0 +1,38 @@
+package com.codeyzer.mine.dto;
+
+import com.codeyzer.mine.model.Cell;
+import com.codeyzer.mine.model.GameSnapshot;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Tahtası seyrek gönderilen oyun durumu. {@code Accept: application/vnd.mineyzer.cells+json} isteyen istemcilere
+ * gönderilir; {@code board} alanı yerine sadece görünen hücreleri (açılmış hücreler, bayraklar ve oyun bittiyse mayınlar)
+ * taşıyan {@code cells} alanı yazılır. İstemci kapalı hücreleri {@code rows} ve {@code columns} alanlarından kurar.
+ * Diğer alanlar oyuncu veya izleyici görünümüyle aynıdır.
+ */
+@Getter
+public class CellsGameDTO {
+    public static final String MEDIA_TYPE = "application/vnd.mineyzer.cells+json";
+
+    @JsonUnwrapped
+    @JsonIgnoreProperties("board")
+    private final Object game;
+    private final List<Cell> cells;
+
+    private CellsGameDTO(Object game, List<Cell> cells) {
+        this.game = game;
+        this.cells = cells;
+    }
+
+    public static CellsGameDTO from(GameSnapshot snapshot) {
+        return new CellsGameDTO(snapshot, snapshot.cells());
+    }
+
+    public static CellsGameDTO fromSpectator(GameSnapshot snapshot) {
+        return new CellsGameDTO(SpectatorGameDTO.withoutBoard(snapshot), snapshot.spectatorCells());
+    }
+}
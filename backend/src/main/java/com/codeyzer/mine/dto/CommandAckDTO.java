@@ -0,0 +1,27 @@
+package com.codeyzer.mine.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * STOMP üzerinden gönderilen bir komutun sonucu. Sadece komutu gönderen oturumun {@code /user/queue/acks}
+ * kuyruğuna gönderilir; oyunun yeni durumu her zamanki gibi {@code /topic/games/{id}/events} kanalından gelir.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommandAckDTO {
+
+    public enum Command {
+        MOVE,
+        FLAG,
+        READY
+    }
+
+    private String requestId; // İstemcinin komutla gönderdiği requestId başlığı, verilmediyse null
+    private String gameId;
+    private Command command;
+    private boolean accepted;
+    private long version; // Kabul edilen komuttan sonraki oyun sürümü, reddedildiyse 0
+}
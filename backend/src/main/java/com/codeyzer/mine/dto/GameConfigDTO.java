@@ -7,4 +7,5 @@ public class GameConfigDTO {
     private int rows;
     private int columns;
     private int mineCount;
+    private boolean noGuess; // Tahta ilk tıklamadan itibaren tahmin gerektirmeden çözülebilir olsun
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.codeyzer.mine.dto;
+
+import com.codeyzer.mine.model.GameSnapshot;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Yeniden bağlanan istemciye {@code /app/games/{id}/resume} aboneliğiyle gönderilen yanıt.
+ * İstemcinin bildirdiği sürümden sonraki olaylar tamponda duruyorsa sadece {@code events} dolu gelir ve istemci
+ * bunları sırayla uygular; aksi halde {@code game} tam görüntüyü taşır.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GameResumeDTO {
+    private String gameId;
+    private List<GameUpdateEventDTO> events; // Tam görüntü gönderildiğinde null
+    private GameSnapshot game; // Olaylarla devam edilebiliyorsa null
+
+    public static GameResumeDTO ofEvents(String gameId, List<GameUpdateEventDTO> events) {
+        return new GameResumeDTO(gameId, events, null);
+    }
+
+    public static GameResumeDTO ofSnapshot(GameSnapshot game) {
+        return new GameResumeDTO(game.getId(), null, game);
+    }
+}
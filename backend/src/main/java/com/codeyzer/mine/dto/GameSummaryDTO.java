@@ -0,0 +1,34 @@
+package com.codeyzer.mine.dto;
+
+import com.codeyzer.mine.model.GameSnapshot;
+import com.codeyzer.mine.model.GameStatus;
+import com.codeyzer.mine.model.Player;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Lobi listesinde gösterilen, tahta içermeyen hafif oyun özeti.
+ */
+@Data
+public class GameSummaryDTO {
+    private String id;
+    private int rows;
+    private int columns;
+    private int mineCount;
+    private boolean noGuess;
+    private GameStatus status;
+    private List<String> playerNames;
+
+    public static GameSummaryDTO from(GameSnapshot snapshot) {
+        GameSummaryDTO summary = new GameSummaryDTO();
+        summary.setId(snapshot.getId());
+        summary.setRows(snapshot.getRows());
+        summary.setColumns(snapshot.getColumns());
+        summary.setMineCount(snapshot.getMineCount());
+        summary.setNoGuess(snapshot.isNoGuess());
+        summary.setStatus(snapshot.getStatus());
+        summary.setPlayerNames(snapshot.getPlayers().stream().map(Player::getUsername).toList());
+        return summary;
+    }
+}
@@ -0,0 +1,20 @@
+package com.codeyzer.mine.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Sayfalanmış oyun özeti listesi.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GameSummaryPageDTO {
+    private List<GameSummaryDTO> content;
+    private int page;
+    private int size;
+    private int totalElements;
+}
@@ -0,0 +1,33 @@
+package com.codeyzer.mine.dto;
+
+import com.codeyzer.mine.model.Cell;
+import com.codeyzer.mine.model.GameStatus;
+import com.codeyzer.mine.model.Player;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Oyun durumundaki değişiklikleri taşıyan sürümlü olay.
+ * Tüm tahta yerine sadece değişen hücreleri ve skor, süre, sıra gibi küçük alanları içerir.
+ * İstemci, elindeki sürüm {@code baseVersion} ile eşleşiyorsa olayı uygular; aksi halde tam durumu yeniden ister.
+ */
+@Data
+public class GameUpdateEventDTO {
+    private String gameId;
+    private long baseVersion;
+    private long version;
+    private GameStatus status;
+    private boolean noGuess; // Tahminsiz tahta bulunamayıp normal tahtaya düşüldüyse ilk hamleden sonra false olur
+    private String currentTurn;
+    private List<Player> players;
+    private long player1TimeLeftMillis;
+    private long player2TimeLeftMillis;
+    private long turnStartTimeMillis;
+    private String lastEventMessage;
+    private int lastMoveRow;
+    private int lastMoveCol;
+    private String winnerId;
+    private boolean gameOver;
+    private List<Cell> cells;
+}
@@ -0,0 +1,25 @@
+package com.codeyzer.mine.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * {@code /topic/lobby} kanalına gönderilen artımlı lobi olayı.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LobbyEventDTO {
+
+    public enum Type {
+        ADDED,   // Lobiye yeni oyun eklendi
+        UPDATED, // Lobideki oyunun oyuncuları veya durumu değişti
+        REMOVED  // Oyun başladı, bitti veya bellekten çıkarıldı
+    }
+
+    private Type type;
+    private long sequence; // Lobi olaylarının artan sıra numarası
+    private String gameId;
+    private GameSummaryDTO game; // REMOVED olaylarında null
+}
@@ -0,0 +1,19 @@
+package com.codeyzer.mine.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Lobiye abone olunduğunda bir kez gönderilen başlangıç listesi.
+ * İstemci sıra numarası bu listeninkinden büyük olan olayları uygular.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LobbyListingDTO {
+    private long sequence;
+    private List<GameSummaryDTO> games;
+}
@@ -0,0 +1,37 @@
+package com.codeyzer.mine.dto;
+
+import com.codeyzer.mine.model.GameStatus;
+import com.codeyzer.mine.model.Player;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Tahtası bit düzeyinde paketlenmiş oyun durumu.
+ * Hücre başına JSON nesnesi yerine {@code board} alanında {@link com.codeyzer.mine.service.BoardSnapshotCodec}
+ * biçiminde kodlanmış baytlar (JSON içinde Base64) taşınır. Diğer alanlar tam oyun durumuyla aynıdır.
+ */
+@Data
+public class PackedGameSnapshotDTO {
+    public static final String MEDIA_TYPE = "application/vnd.mineyzer.packed+json";
+
+    private String id;
+    private long version;
+    private int rows;
+    private int columns;
+    private int mineCount;
+    private boolean noGuess;
+    private GameStatus status;
+    private String currentTurn;
+    private List<Player> players;
+    private String lastEventMessage;
+    private int lastMoveRow;
+    private int lastMoveCol;
+    private long initialPlayerTimeMillis;
+    private long player1TimeLeftMillis;
+    private long player2TimeLeftMillis;
+    private long turnStartTimeMillis;
+    private String winnerId;
+    private boolean gameOver;
+    private byte[] board;
+}
@@ -0,0 +1,71 @@
+package com.codeyzer.mine.dto;
+
+import com.codeyzer.mine.model.Cell;
+import com.codeyzer.mine.model.GameSnapshot;
+import com.codeyzer.mine.model.GameStatus;
+import com.codeyzer.mine.model.Player;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Oyunu izleyenlere {@code /app/games/{id}/spectate} aboneliğiyle gönderilen tam durum.
+ * Alanları oyunun JSON çıktısıyla aynıdır; kapalı hücrelerin mayın bilgisi gizlenir ve oyuncu ID'leri yerine genel ID'ler
+ * kullanılır. Sonraki değişiklikler aynı görünümle {@code /topic/games/{id}/spectate} kanalından delta olarak gelir.
+ */
+@Data
+public class SpectatorGameDTO {
+    private String id;
+    private long version;
+    private int rows;
+    private int columns;
+    private int mineCount;
+    private boolean noGuess;
+    private GameStatus status;
+    private String currentTurn;
+    private List<Player> players;
+    private String lastEventMessage;
+    private int lastMoveRow;
+    private int lastMoveCol;
+    private long initialPlayerTimeMillis;
+    private long player1TimeLeftMillis;
+    private long player2TimeLeftMillis;
+    private long turnStartTimeMillis;
+    private String winnerId;
+    private boolean gameOver;
+    private boolean gameFinished;
+    private List<List<Cell>> board;
+
+    public static SpectatorGameDTO from(GameSnapshot snapshot) {
+        SpectatorGameDTO game = withoutBoard(snapshot);
+        game.setBoard(snapshot.spectatorBoard());
+        return game;
+    }
+
+    /**
+     * @return Tahtası doldurulmamış izleyici görünümü; tahtanın başka biçimde gönderildiği görünümler için.
+     */
+    public static SpectatorGameDTO withoutBoard(GameSnapshot snapshot) {
+        SpectatorGameDTO game = new SpectatorGameDTO();
+        game.setId(snapshot.getId());
+        game.setVersion(snapshot.getVersion());
+        game.setRows(snapshot.getRows());
+        game.setColumns(snapshot.getColumns());
+        game.setMineCount(snapshot.getMineCount());
+        game.setNoGuess(snapshot.isNoGuess());
+        game.setStatus(snapshot.getStatus());
+        game.setCurrentTurn(snapshot.spectatorPlayerId(snapshot.getCurrentTurn()));
+        game.setPlayers(snapshot.spectatorPlayers());
+        game.setLastEventMessage(snapshot.getLastEventMessage());
+        game.setLastMoveRow(snapshot.getLastMoveRow());
+        game.setLastMoveCol(snapshot.getLastMoveCol());
+        game.setInitialPlayerTimeMillis(snapshot.getInitialPlayerTimeMillis());
+        game.setPlayer1TimeLeftMillis(snapshot.getPlayer1TimeLeftMillis());
+        game.setPlayer2TimeLeftMillis(snapshot.getPlayer2TimeLeftMillis());
+        game.setTurnStartTimeMillis(snapshot.getTurnStartTimeMillis());
+        game.setWinnerId(snapshot.spectatorPlayerId(snapshot.getWinnerId()));
+        game.setGameOver(snapshot.isGameOver());
+        game.setGameFinished(snapshot.isGameFinished());
+        return game;
+    }
+}
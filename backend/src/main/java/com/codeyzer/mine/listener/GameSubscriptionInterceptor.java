@@ -0,0 +1,95 @@
+package com.codeyzer.mine.listener;
+
+import com.codeyzer.mine.controller.WebSocketController;
+import com.codeyzer.mine.model.Game;
+import com.codeyzer.mine.repository.InMemoryGameRepository;
+import com.codeyzer.mine.service.SpectatorRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * İstemciden gelen STOMP çerçevelerinde oyun kanallarına yapılan abonelikleri denetler; reddedilen abonelik broker'a
+ * ulaşmaz ve istemci ERROR çerçevesi alır.
+ * <ul>
+ *     <li>Oyuncu kanalları gerçek oyuncu ID'lerini taşır; aboneliğin {@code playerId} başlığı oyunun oyuncularından biri
+ *     olmalıdır. Oyuncu olmayanlar izleyici kanalını kullanır.</li>
+ *     <li>İzleyici kanalına abonelikler sayılır; oyun yoksa veya izleyici sınırı dolmuşsa reddedilir. Abonelikten çıkma ve
+ *     bağlantı kopmasında izleyici sayısı düşürülür.</li>
+ *     <li>{@code /topic} altında desenli (joker karakterli) abonelikler reddedilir; aksi halde tek abonelik bütün oyun
+ *     kanallarını dinleyebilirdi.</li>
+ * </ul>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GameSubscriptionInterceptor implements ChannelInterceptor {
+
+    private final SpectatorRegistry spectatorRegistry;
+    private final InMemoryGameRepository gameRepository;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null || accessor.getSessionId() == null) {
+            return message;
+        }
+        String sessionId = accessor.getSessionId();
+        switch (accessor.getCommand()) {
+            case SUBSCRIBE -> {
+                String destination = accessor.getDestination();
+                if (isPattern(destination)) {
+                    throw new MessageDeliveryException(message, "Pattern subscriptions are not allowed: " + destination);
+                }
+                String playerGameId = WebSocketController.playerChannelGameId(destination);
+                if (playerGameId != null) {
+                    checkPlayer(message, playerGameId, accessor.getFirstNativeHeader("playerId"));
+                    return message;
+                }
+                String gameId = WebSocketController.spectatedGameId(destination);
+                if (gameId == null) {
+                    return message;
+                }
+                if (gameRepository.findById(gameId).isEmpty()) {
+                    throw new MessageDeliveryException(message, "Game not found: " + gameId);
+                }
+                if (!spectatorRegistry.tryAdd(sessionId, accessor.getSubscriptionId(), gameId)) {
+                    log.debug("Spectator limit reached for game {}, rejecting session {}", gameId, sessionId);
+                    throw new MessageDeliveryException(message, "Spectator limit reached for game " + gameId);
+                }
+                log.debug("Session {} is spectating game {} ({} spectators)",
+                        sessionId, gameId, spectatorRegistry.getSpectatorCount(gameId));
+            }
+            case UNSUBSCRIBE -> spectatorRegistry.remove(sessionId, accessor.getSubscriptionId());
+            case DISCONNECT -> spectatorRegistry.removeSession(sessionId);
+            default -> {
+                // Diğer çerçeveler izleyici sayısını etkilemez
+            }
+        }
+        return message;
+    }
+
+    private void checkPlayer(Message<?> message, String gameId, String playerId) {
+        Optional<Game> game = gameRepository.findById(gameId);
+        if (game.isEmpty()) {
+            throw new MessageDeliveryException(message, "Game not found: " + gameId);
+        }
+        if (!game.get().getSnapshot().hasPlayer(playerId)) {
+            log.debug("Rejecting subscription of non-player {} to game {}", playerId, gameId);
+            throw new MessageDeliveryException(message, "Not a player of game " + gameId);
+        }
+    }
+
+    private static boolean isPattern(String destination) {
+        return destination != null && destination.startsWith("/topic/")
+                && (destination.indexOf('*') >= 0 || destination.indexOf('?') >= 0 || destination.indexOf('{') >= 0);
+    }
+}
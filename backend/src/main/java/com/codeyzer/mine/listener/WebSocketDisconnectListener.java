@@ -22,15 +22,19 @@ public class WebSocketDisconnectListener implements ApplicationListener<SessionD
         StompHeaderAccessor headerAccessor = StompHeaderAccessor.wrap(event.getMessage());
         String sessionId = headerAccessor.getSessionId();
 
-        log.info("WebSocket session disconnected: {}", sessionId);
+        log.debug("WebSocket session disconnected: {}", sessionId);
 
         WebSocketSessionRegistry.SessionInfo sessionInfo = sessionRegistry.unregisterSession(sessionId);
 
-        if (sessionInfo != null) {
+        if (sessionInfo != null && sessionRegistry.hasSession(sessionInfo.getGameId(), sessionInfo.getPlayerId())) {
+            // Oyuncunun başka bir sekmesi açık veya eski oturum kapanmadan yeniden bağlanmış
+            log.debug("Player {} still has an open session in game {}", sessionInfo.getPlayerId(), sessionInfo.getGameId());
+        } else if (sessionInfo != null) {
             log.info("Handling disconnect for Player ID: {}, Game ID: {}", sessionInfo.getPlayerId(), sessionInfo.getGameId());
             gameService.handlePlayerDisconnect(sessionInfo.getGameId(), sessionInfo.getPlayerId());
         } else {
-            log.warn("No player/game information found for disconnected session: {}", sessionId);
+            // Lobi oturumları ve bellekten çıkarılmış oyunların oturumları
+            log.debug("No player/game information found for disconnected session: {}", sessionId);
         }
     }
 } 
\ No newline at end of file
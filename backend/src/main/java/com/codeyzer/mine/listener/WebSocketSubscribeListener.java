@@ -1,5 +1,7 @@
 package com.codeyzer.mine.listener;
 
+import com.codeyzer.mine.controller.WebSocketController;
+import com.codeyzer.mine.service.GameService;
 import com.codeyzer.mine.service.WebSocketSessionRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,6 +17,7 @@ import org.springframework.web.socket.messaging.SessionSubscribeEvent;
 public class WebSocketSubscribeListener implements ApplicationListener<SessionSubscribeEvent> {
 
     private final WebSocketSessionRegistry sessionRegistry;
+    private final GameService gameService;
 
     @Override
     public void onApplicationEvent(SessionSubscribeEvent event) {
@@ -23,9 +26,16 @@ public class WebSocketSubscribeListener implements ApplicationListener<SessionSu
         String destination = headerAccessor.getDestination();
 
         // Check if the subscription is for a game topic
-        if (sessionId != null && destination != null && destination.startsWith("/topic/games/")) {
+        // İzleyici abonelikleri oyuncu oturumu olarak kaydedilmez, GameSubscriptionInterceptor tarafından sayılır
+        if (sessionId != null && destination != null && destination.startsWith("/topic/games/")
+                && WebSocketController.spectatedGameId(destination) == null) {
             try {
+                // Hem tam durum (/topic/games/{id}) hem de delta (/topic/games/{id}/events) kanalları kabul edilir
                 String gameId = destination.substring("/topic/games/".length());
+                int suffixStart = gameId.indexOf('/');
+                if (suffixStart >= 0) {
+                    gameId = gameId.substring(0, suffixStart);
+                }
 
                 // Oyuncu ID'sini ve Oyun ID'sini başlıklardan al
                 // Not: İstemcinin (frontend) bu başlıkları göndermesi gerekecek!
@@ -33,8 +43,11 @@ public class WebSocketSubscribeListener implements ApplicationListener<SessionSu
                 String headerGameId = headerAccessor.getFirstNativeHeader("gameId");
 
                 if (playerId != null && headerGameId != null && headerGameId.equals(gameId)) {
-                    log.info("Registering session {} for Player {} in Game {}", sessionId, playerId, gameId);
-                    sessionRegistry.registerSession(sessionId, playerId, gameId);
+                    log.debug("Registering session {} for Player {} in Game {}", sessionId, playerId, gameId);
+                    if (sessionRegistry.registerSession(sessionId, playerId, gameId)) {
+                        // Oyuncunun açık oturumu yoktu; yeniden bağlanma süresindeyse oyun devam eder
+                        gameService.handlePlayerReconnect(gameId, playerId);
+                    }
                 } else {
                     log.warn("Could not register session {}: Missing or mismatched playerId/gameId headers for destination {}", sessionId, destination);
                     if(playerId == null) log.warn("playerId header is missing");
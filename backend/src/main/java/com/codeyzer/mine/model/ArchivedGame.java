@@ -0,0 +1,42 @@
+package com.codeyzer.mine.model;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bellekten çıkarılan bir oyunun küçük özeti.
+ * Tahta, kilit ve görüntü gibi büyük alanlar tutulmaz; sadece sonucu göstermeye yetecek bilgiler saklanır.
+ */
+@Getter
+public class ArchivedGame {
+
+    private final String id;
+    private final int rows;
+    private final int columns;
+    private final int mineCount;
+    private final GameStatus status;
+    private final List<Player> players;
+    private final String winnerId;
+    private final String lastEventMessage;
+    private final long createdAtMillis;
+    private final long archivedAtMillis;
+
+    public ArchivedGame(Game game, long archivedAtMillis) {
+        this.id = game.getId();
+        this.rows = game.getRows();
+        this.columns = game.getColumns();
+        this.mineCount = game.getMineCount();
+        this.status = game.getStatus();
+        List<Player> playerCopies = new ArrayList<>(game.getPlayers().size());
+        for (Player player : game.getPlayers()) {
+            playerCopies.add(new Player(player));
+        }
+        this.players = List.copyOf(playerCopies);
+        this.winnerId = game.getWinnerId();
+        this.lastEventMessage = game.getLastEventMessage();
+        this.createdAtMillis = game.getCreatedAtMillis();
+        this.archivedAtMillis = archivedAtMillis;
+    }
+}
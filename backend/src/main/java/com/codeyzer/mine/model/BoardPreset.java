@@ -0,0 +1,53 @@
+package com.codeyzer.mine.model;
+
+import java.util.Optional;
+
+/**
+ * Standart zorluk seviyeleri ve her biri için oyunculara verilen başlangıç süresi.
+ */
+public enum BoardPreset {
+    EASY(8, 8, 10, 30 * 1000),
+    MEDIUM(16, 16, 40, 90 * 1000),
+    HARD(16, 20, 60, 105 * 1000),
+    EXPERT(20, 24, 99, 150 * 1000);
+
+    private final int rows;
+    private final int columns;
+    private final int mineCount;
+    private final long initialTimeMillis;
+
+    BoardPreset(int rows, int columns, int mineCount, long initialTimeMillis) {
+        this.rows = rows;
+        this.columns = columns;
+        this.mineCount = mineCount;
+        this.initialTimeMillis = initialTimeMillis;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getMineCount() {
+        return mineCount;
+    }
+
+    public long getInitialTimeMillis() {
+        return initialTimeMillis;
+    }
+
+    /**
+     * @return Verilen ayarlara karşılık gelen zorluk seviyesi, özel ayarlar için boş.
+     */
+    public static Optional<BoardPreset> of(int rows, int columns, int mineCount) {
+        for (BoardPreset preset : values()) {
+            if (preset.rows == rows && preset.columns == columns && preset.mineCount == mineCount) {
+                return Optional.of(preset);
+            }
+        }
+        return Optional.empty();
+    }
+}
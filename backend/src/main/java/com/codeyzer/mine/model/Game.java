@@ -1,11 +1,16 @@
 package com.codeyzer.mine.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Getter;
 import lombok.Setter;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static com.codeyzer.mine.model.GameStatus.*;
 
@@ -17,10 +22,14 @@ public class Game {
     private int rows;
     private int columns;
     private int mineCount;
+    private boolean noGuess; // Tahminsiz çözülebilir tahta istendi mi
     private GameStatus status;
     private String currentTurn;
     private List<Player> players = new ArrayList<>();
-    private List<List<Cell>> board = new ArrayList<>();
+    @JsonIgnore
+    private PackedBoard packedBoard; // İlk hamle veya bayrağa kadar null; oyun sadece boyutları, mayın sayısını ve tohumu tutar
+    @JsonIgnore
+    private boolean minesPlaced; // Mayınlar ilk hamlede yerleştirilir
     private String lastEventMessage = "";
     private int lastMoveRow = -1; // Son hamle koordinatları
     private int lastMoveCol = -1; // Son hamle koordinatları
@@ -30,6 +39,21 @@ public class Game {
     private long player2TimeLeftMillis; // Default initialization kaldırıldı
     private long turnStartTimeMillis = 0L;
     private String winnerId = null; // Kazanan oyuncunun ID'si (null ise berabere veya devam ediyor)
+    private long version = 0L; // Her durum değişikliğinde artan sürüm numarası
+    @JsonIgnore
+    private long seed; // Mayın yerleşimini belirleyen tohum; aynı tohum aynı tahtayı üretir
+    @JsonIgnore
+    private long createdAtMillis; // Oyunun oluşturulma zamanı
+    @JsonIgnore
+    private volatile long lastUpdatedMillis; // Son durum değişikliğinin zamanı (bellekten çıkarma kararları için)
+    @JsonIgnore
+    private VisibleCells visibleCells = VisibleCells.EMPTY; // Oyunculara görünen hücreler, her değişiklikte güncellenir
+    @JsonIgnore
+    private volatile GameSnapshot snapshot; // Son yayınlanan değişmez görüntü
+    @JsonIgnore
+    private volatile boolean evicted; // Bellekten çıkarıldı; kilidi sonradan alan komutlar oyunu değiştirmez
+    @JsonIgnore
+    private final ReentrantLock lock = new ReentrantLock(true); // Oyuna gelen komutları sırayla uygulamak için
 
     public Game() {
         // Boş constructor
@@ -42,6 +66,8 @@ public class Game {
         this.mineCount = mineCount;
         this.status = WAITING_FOR_PLAYERS;
         this.lastEventMessage = "Oyun oluşturuldu, rakip bekleniyor.";
+        this.createdAtMillis = System.currentTimeMillis();
+        this.lastUpdatedMillis = this.createdAtMillis;
     }
     
     /**
@@ -75,6 +101,25 @@ public class Game {
         return false;
     }
 
+    /**
+     * Oyunun sürüm numarasını bir artırır. Oyun durumunu değiştiren her işlemden sonra çağrılmalıdır.
+     * @return Yeni sürüm numarası.
+     */
+    public long incrementVersion() {
+        return ++version;
+    }
+
+    /**
+     * Oyunun mevcut durumundan değişmez bir görüntü oluşturur ve okuyucular için yayınlar.
+     * Oyunun kilidi altında, her durum değişikliğinden sonra çağrılmalıdır.
+     * @return Yayınlanan görüntü.
+     */
+    public GameSnapshot publishSnapshot() {
+        GameSnapshot published = new GameSnapshot(this);
+        this.snapshot = published;
+        return published;
+    }
+
     /**
      * Sıradaki oyuncuya geçer.
      */
@@ -101,19 +146,90 @@ public class Game {
                       .orElse(null);
     }
     
-    public boolean isGameFinished() {
-        if (this.status != IN_PROGRESS) {
-            return false;
+    /**
+     * Verilen ID'ye sahip oyuncunun oyuncu listesindeki indeksini bulur.
+     * Paketlenmiş tahtada oyuncular UUID yerine bu indeksle tutulur.
+     * @param playerId Aranacak oyuncunun ID'si.
+     * @return Oyuncunun indeksi, bulunamazsa {@link PackedBoard#NO_PLAYER}.
+     */
+    public int getPlayerIndex(String playerId) {
+        if (playerId == null) {
+            return PackedBoard.NO_PLAYER;
+        }
+        for (int i = 0; i < players.size(); i++) {
+            if (players.get(i).getId().equals(playerId)) {
+                return i;
+            }
+        }
+        return PackedBoard.NO_PLAYER;
+    }
+
+    /**
+     * @return Oyuncu indekslerine karşılık gelen oyuncu ID'leri.
+     */
+    @JsonIgnore
+    public String[] getPlayerIds() {
+        String[] playerIds = new String[players.size()];
+        for (int i = 0; i < playerIds.length; i++) {
+            playerIds[i] = players.get(i).getId();
         }
-        for (List<Cell> row : board) {
-            for (Cell cell : row) {
-                if (!cell.isMine() && !cell.isRevealed()) {
-                    return false;
-                }
+        return playerIds;
+    }
+
+    /**
+     * Görünür hücre kümesini bu değişiklikte açılan veya bayrağı değişen hücrelerle günceller; oyun bittiyse mayınlar da
+     * eklenir. Oyunun kilidi altında, görüntü yayınlanmadan önce çağrılmalıdır.
+     * @param changedCells Bu değişiklikte açılan veya bayrağı değişen hücrelerin indeksleri
+     * @return İstemcilere gönderilecek hücreler: değişen hücreler ve oyun bu değişiklikte bittiyse tüm mayınlar.
+     */
+    public Collection<Integer> updateVisibleCells(Collection<Integer> changedCells) {
+        if (packedBoard == null) {
+            return changedCells;
+        }
+        visibleCells = visibleCells.update(packedBoard, changedCells, isGameOver());
+        int[] revealedMines = visibleCells.getRevealedMines();
+        if (revealedMines.length == 0) {
+            return changedCells;
+        }
+        Set<Integer> cells = new LinkedHashSet<>(changedCells);
+        for (int index : revealedMines) {
+            cells.add(index);
+        }
+        return cells;
+    }
+
+    /**
+     * Paketlenmiş tahtadaki bir hücrenin oyunculara gönderilecek görünümünü oluşturur; kapalı hücrelerin mayın bilgisi
+     * sadece oyun bittiğinde gönderilir.
+     */
+    public Cell toCell(int index) {
+        return packedBoard.toVisibleCell(index, getPlayerIds(), isGameOver());
+    }
+
+    /**
+     * Tahtanın JSON çıktısı için satır satır hücre görünümü; kapalı hücrelerin mayın bilgisi sadece oyun bittiğinde gönderilir.
+     * Tahta {@link PackedBoard} içinde tutulur, bu liste her çağrıda yeniden oluşturulur.
+     */
+    public List<List<Cell>> getBoard() {
+        List<List<Cell>> board = new ArrayList<>();
+        String[] playerIds = getPlayerIds();
+        for (int i = 0; i < rows; i++) {
+            List<Cell> rowList = new ArrayList<>(columns);
+            for (int j = 0; j < columns; j++) {
+                // Tahta henüz oluşturulmadıysa tüm hücreler kapalıdır
+                rowList.add(packedBoard == null ? new Cell(i, j)
+                        : packedBoard.toVisibleCell(packedBoard.index(i, j), playerIds, isGameOver()));
             }
+            board.add(rowList);
+        }
+        return board;
+    }
+
+    public boolean isGameFinished() {
+        if (this.status != IN_PROGRESS || packedBoard == null) {
+            return false;
         }
-        
-        return true;
+        return packedBoard.getUnrevealedSafeCells() == 0;
     }
     
     /**
@@ -141,19 +257,21 @@ public class Game {
     public boolean toggleFlag(String playerId, int row, int col) {
         if (this.status != IN_PROGRESS) { return false; }
         if (row < 0 || row >= rows || col < 0 || col >= columns) { return false; }
-        Cell cell = board.get(row).get(col);
-        if (cell.isRevealed()) { return false; } // Açık hücreye bayrak konmaz
+        int playerIndex = getPlayerIndex(playerId);
+        if (playerIndex == PackedBoard.NO_PLAYER) { return false; }
+        int index = packedBoard.index(row, col);
+        if (packedBoard.isRevealed(index)) { return false; } // Açık hücreye bayrak konmaz
 
-        String currentFlagOwner = cell.getFlaggedByPlayerId();
+        int currentFlagOwner = packedBoard.getFlagOwner(index);
         boolean toggled = false;
 
-        if (currentFlagOwner == null) {
+        if (currentFlagOwner == PackedBoard.NO_PLAYER) {
             // Hücre boş, bayrak koy
-            cell.setFlaggedByPlayerId(playerId);
+            packedBoard.setFlagOwner(index, playerIndex);
             toggled = true;
-        } else if (currentFlagOwner.equals(playerId)) {
+        } else if (currentFlagOwner == playerIndex) {
             // Kendi bayrağı, kaldır
-            cell.setFlaggedByPlayerId(null);
+            packedBoard.clearFlag(index);
             toggled = true;
         } else {
             // Rakibin bayrağı, değiştirme
@@ -0,0 +1,204 @@
+package com.codeyzer.mine.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntFunction;
+
+/**
+ * Oyunun belirli bir sürümdeki değişmez anlık görüntüsü.
+ * Her durum değişikliğinden sonra oyunun kilidi altında oluşturulur ve yayınlanır;
+ * okuma uç noktaları ve yayınlar canlı {@link Game} nesnesi yerine bu görüntüyü kilit almadan serileştirir.
+ * JSON çıktısı {@link Game} ile aynı alanlara sahiptir. Görüntü değişmez olduğundan JSON çıktısı sürüm başına bir kez
+ * üretilip görüntüde saklanır ({@link com.codeyzer.mine.service.GameJsonCache}).
+ * <p>
+ * Tahta JSON çıktısına {@code board} alanında satır satır yazılır; kapalı hücrelerin mayın ve komşu mayın bilgisi oyun
+ * bitene kadar hiçbir oyuncuya gönderilmez. {@link GameView#PLAYER_CELLS} isteyen istemcilere tahta yerine sadece görünen
+ * hücreler ({@link VisibleCells}) gönderilir.
+ * İzleyicilere gönderilen görünümde kapalı hücrelerin mayın bilgisi gizlenir ve oyuncu ID'leri yerine sıraya göre
+ * verilen genel ID'ler kullanılır; oyuncu ID'leri komut göndermek için yeterli olduğundan izleyicilere verilmez.
+ */
+@Getter
+public class GameSnapshot {
+
+    private static final String[] SPECTATOR_PLAYER_IDS = {"player-1", "player-2"};
+
+    private final String id;
+    private final long version;
+    private final int rows;
+    private final int columns;
+    private final int mineCount;
+    private final boolean noGuess;
+    private final GameStatus status;
+    private final String currentTurn;
+    private final List<Player> players;
+    private final String lastEventMessage;
+    private final int lastMoveRow;
+    private final int lastMoveCol;
+    private final long initialPlayerTimeMillis;
+    private final long player1TimeLeftMillis;
+    private final long player2TimeLeftMillis;
+    private final long turnStartTimeMillis;
+    private final String winnerId;
+    private final boolean gameOver;
+    private final boolean gameFinished;
+    @JsonIgnore
+    private final PackedBoard packedBoard;
+    @JsonIgnore
+    private final String[] playerIds;
+    @JsonIgnore
+    private final VisibleCells visibleCells;
+    @Getter(AccessLevel.NONE)
+    private final AtomicReferenceArray<byte[]> json = new AtomicReferenceArray<>(GameView.values().length); // Görünüm başına JSON çıktısı, ilk ihtiyaç duyulduğunda doldurulur
+
+    public GameSnapshot(Game game) {
+        this.id = game.getId();
+        this.version = game.getVersion();
+        this.rows = game.getRows();
+        this.columns = game.getColumns();
+        this.mineCount = game.getMineCount();
+        this.noGuess = game.isNoGuess();
+        this.status = game.getStatus();
+        this.currentTurn = game.getCurrentTurn();
+        List<Player> playerCopies = new ArrayList<>(game.getPlayers().size());
+        for (Player player : game.getPlayers()) {
+            playerCopies.add(new Player(player));
+        }
+        this.players = List.copyOf(playerCopies);
+        this.lastEventMessage = game.getLastEventMessage();
+        this.lastMoveRow = game.getLastMoveRow();
+        this.lastMoveCol = game.getLastMoveCol();
+        this.initialPlayerTimeMillis = game.getInitialPlayerTimeMillis();
+        this.player1TimeLeftMillis = game.getPlayer1TimeLeftMillis();
+        this.player2TimeLeftMillis = game.getPlayer2TimeLeftMillis();
+        this.turnStartTimeMillis = game.getTurnStartTimeMillis();
+        this.winnerId = game.getWinnerId();
+        this.gameOver = game.isGameOver();
+        this.gameFinished = game.isGameFinished();
+        // Kopya parçaları canlı tahtayla paylaşır; sonraki hamlede sadece yazılan parçalar kopyalanır
+        this.packedBoard = game.getPackedBoard() == null ? null : game.getPackedBoard().copy();
+        this.playerIds = game.getPlayerIds();
+        this.visibleCells = game.getVisibleCells();
+    }
+
+    /**
+     * @return Bu sürüm için daha önce üretilmiş JSON çıktısı, henüz üretilmediyse null.
+     */
+    public byte[] cachedJson(GameView view) {
+        return json.get(view.ordinal());
+    }
+
+    /**
+     * Bu sürümün JSON çıktısını saklar. Aynı anda iki thread yazarsa ikisi de aynı içeriği yazar.
+     */
+    public void cacheJson(GameView view, byte[] json) {
+        this.json.set(view.ordinal(), json);
+    }
+
+    /**
+     * Görüntüdeki bir hücrenin oyunculara gönderilecek görünümünü oluşturur; kapalı mayınlar sadece oyun bittiğinde görünür.
+     */
+    public Cell toCell(int index) {
+        return packedBoard.toVisibleCell(index, playerIds, gameOver);
+    }
+
+    /**
+     * Hücrenin izleyicilere gönderilecek görünümünü oluşturur; mayınlar sadece açıldığında veya oyun bittiğinde görünür.
+     */
+    public Cell toSpectatorCell(int index) {
+        return packedBoard.toVisibleCell(index, SPECTATOR_PLAYER_IDS, gameOver);
+    }
+
+    /**
+     * @return Verilen ID bu oyunun oyuncularından birininse true.
+     */
+    public boolean hasPlayer(String playerId) {
+        if (playerId == null) {
+            return false;
+        }
+        for (Player player : players) {
+            if (playerId.equals(player.getId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return Oyuncunun izleyicilere gösterilen genel ID'si, oyuncu bu oyunda değilse null.
+     */
+    public String spectatorPlayerId(String playerId) {
+        for (int i = 0; i < playerIds.length && i < SPECTATOR_PLAYER_IDS.length; i++) {
+            if (playerIds[i] != null && playerIds[i].equals(playerId)) {
+                return SPECTATOR_PLAYER_IDS[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return Oyuncuların ID'leri genel ID'lerle değiştirilmiş kopyaları.
+     */
+    public List<Player> spectatorPlayers() {
+        List<Player> spectatorPlayers = new ArrayList<>(players.size());
+        for (Player player : players) {
+            Player copy = new Player(player);
+            copy.setId(spectatorPlayerId(player.getId()));
+            spectatorPlayers.add(copy);
+        }
+        return spectatorPlayers;
+    }
+
+    /**
+     * Tahtanın JSON çıktısı için satır satır hücre görünümü; kapalı hücreler maskelenir.
+     */
+    public List<List<Cell>> getBoard() {
+        return board(this::toCell);
+    }
+
+    /**
+     * Tahtanın izleyici görünümü.
+     */
+    public List<List<Cell>> spectatorBoard() {
+        return board(this::toSpectatorCell);
+    }
+
+    /**
+     * @return Oyunculara görünen hücreler; kapalı hücreler yer almaz.
+     */
+    public List<Cell> cells() {
+        return cells(this::toCell);
+    }
+
+    /**
+     * Görünen hücrelerin izleyici görünümü.
+     */
+    public List<Cell> spectatorCells() {
+        return cells(this::toSpectatorCell);
+    }
+
+    private List<List<Cell>> board(IntFunction<Cell> cellView) {
+        List<List<Cell>> board = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            List<Cell> rowList = new ArrayList<>(columns);
+            for (int j = 0; j < columns; j++) {
+                // Tahta henüz oluşturulmadıysa tüm hücreler kapalıdır
+                rowList.add(packedBoard == null ? new Cell(i, j) : cellView.apply(packedBoard.index(i, j)));
+            }
+            board.add(rowList);
+        }
+        return board;
+    }
+
+    private List<Cell> cells(IntFunction<Cell> cellView) {
+        List<Cell> cells = new ArrayList<>(visibleCells.size());
+        for (int index = visibleCells.next(0); index >= 0; index = visibleCells.next(index + 1)) {
+            cells.add(cellView.apply(index));
+        }
+        return cells;
+    }
+}
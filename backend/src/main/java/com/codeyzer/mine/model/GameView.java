@@ -0,0 +1,38 @@
+package com.codeyzer.mine.model;
+
+/**
+ * Bir oyun görüntüsünün JSON olarak gönderilebildiği görünümler. Her görünümün çıktısı sürüm başına bir kez üretilip
+ * görüntüde saklanır.
+ * <ul>
+ *     <li>Oyuncu görünümleri gerçek oyuncu ID'lerini, izleyici görünümleri sıraya göre verilen genel ID'leri taşır.</li>
+ *     <li>Varsayılan görünümler tahtayı {@code board} alanında satır satır tam olarak yazar (kapalı hücreler maskelenir).
+ *     Hücre görünümleri ({@code application/vnd.mineyzer.cells+json}) {@code board} yerine sadece görünen hücreleri
+ *     {@code cells} alanında taşır.</li>
+ * </ul>
+ */
+public enum GameView {
+    PLAYER(null),
+    SPECTATOR("spectator"),
+    PLAYER_CELLS("cells"),
+    SPECTATOR_CELLS("spectator-cells");
+
+    private final String etagSuffix;
+
+    GameView(String etagSuffix) {
+        this.etagSuffix = etagSuffix;
+    }
+
+    public static GameView of(boolean spectator, boolean cells) {
+        if (spectator) {
+            return cells ? SPECTATOR_CELLS : SPECTATOR;
+        }
+        return cells ? PLAYER_CELLS : PLAYER;
+    }
+
+    /**
+     * @return Aynı sürümün farklı görünümlerini ETag'de ayırmak için sonek, varsayılan oyuncu görünümünde null.
+     */
+    public String getEtagSuffix() {
+        return etagSuffix;
+    }
+}
@@ -0,0 +1,278 @@
+package com.codeyzer.mine.model;
+
+import java.util.Arrays;
+
+/**
+ * Oyun tahtasının ilkel dizilerle paketlenmiş gösterimi.
+ * Her hücre tek bir byte içinde tutulur:
+ * <ul>
+ *     <li>0-3. bitler: komşu mayın sayısı (0-8)</li>
+ *     <li>4. bit: mayın</li>
+ *     <li>5. bit: açık</li>
+ *     <li>6-7. bitler: bayrak sahibi oyuncu indeksi + 1 (0 ise bayrak yok)</li>
+ * </ul>
+ * Hücreyi açan oyuncunun indeksi ayrı bir byte dizisinde tutulur.
+ * Hücreler satır öncelikli olarak {@code row * columns + col} indeksinde saklanır.
+ * <p>
+ * Mayın sayısı, açılmış güvenli hücre sayısı ve açılmamış güvenli hücrelerin toplam puan değeri
+ * hücreler değiştikçe güncellenir; böylece oyun sonu ve kalan puan kontrolleri tahtayı taramadan yapılır.
+ * <p>
+ * Kaskad açılımı için '0' bölgeleri {@link ZeroRegionIndex} olarak tutulur. Mayın dizilimi değiştiğinde indeks geçersiz olur.
+ * <p>
+ * Diziler {@value #CHUNK_SIZE} hücrelik parçalar halinde tutulur ve {@link #copy()} parçaları kopyalamadan paylaşır
+ * (yazarken kopyala). Bir parçaya kopyadan sonraki ilk yazmada sadece o parça kopyalanır; böylece her değişiklikten
+ * sonra alınan görüntünün maliyeti tahtanın boyutuyla değil, değişen parçalarla orantılıdır.
+ */
+public class PackedBoard {
+
+    public static final int NO_PLAYER = -1;
+
+    private static final int ADJACENT_MASK = 0x0F;
+    private static final int MINE_BIT = 0x10;
+    private static final int REVEALED_BIT = 0x20;
+    private static final int FLAG_SHIFT = 6;
+    private static final int FLAG_MASK = 0xC0;
+    private static final int CHUNK_SHIFT = 6;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final int rows;
+    private final int columns;
+    private final int size;
+    private final byte[][] cells;
+    private final byte[][] revealedBy;
+    private final boolean[] owned; // Parça bu tahtaya mı ait; false ise bir kopyayla paylaşılıyor ve yazmadan önce kopyalanır
+    private int mineCount;
+    private int revealedSafeCells;
+    private int remainingPoints;
+    private ZeroRegionIndex zeroRegions;
+
+    public PackedBoard(int rows, int columns) {
+        this.rows = rows;
+        this.columns = columns;
+        this.size = rows * columns;
+        int chunks = (size + CHUNK_MASK) >>> CHUNK_SHIFT;
+        this.cells = new byte[chunks][];
+        this.revealedBy = new byte[chunks][];
+        this.owned = new boolean[chunks];
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            int length = Math.min(CHUNK_SIZE, size - (chunk << CHUNK_SHIFT));
+            cells[chunk] = new byte[length];
+            revealedBy[chunk] = new byte[length];
+            Arrays.fill(revealedBy[chunk], (byte) NO_PLAYER);
+            owned[chunk] = true;
+        }
+    }
+
+    private PackedBoard(PackedBoard source) {
+        this.rows = source.rows;
+        this.columns = source.columns;
+        this.size = source.size;
+        this.cells = source.cells.clone();
+        this.revealedBy = source.revealedBy.clone();
+        this.owned = new boolean[source.owned.length];
+        Arrays.fill(source.owned, false); // Parçalar artık iki tahta arasında paylaşılıyor
+        this.mineCount = source.mineCount;
+        this.revealedSafeCells = source.revealedSafeCells;
+        this.remainingPoints = source.remainingPoints;
+        this.zeroRegions = source.zeroRegions; // Değişmez, paylaşılabilir
+    }
+
+    /**
+     * @return Tahtanın bağımsız bir kopyası. Parçalar paylaşılır; iki tahtadan biri bir parçaya yazdığında o parça kopyalanır.
+     * Kopya alınan tahta aynı anda başka bir thread tarafından değiştirilmemelidir.
+     */
+    public PackedBoard copy() {
+        return new PackedBoard(this);
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int index(int row, int col) {
+        return row * columns + col;
+    }
+
+    public int rowOf(int index) {
+        return index / columns;
+    }
+
+    public int columnOf(int index) {
+        return index % columns;
+    }
+
+    public boolean isInBounds(int row, int col) {
+        return row >= 0 && row < rows && col >= 0 && col < columns;
+    }
+
+    private byte cell(int index) {
+        return cells[index >>> CHUNK_SHIFT][index & CHUNK_MASK];
+    }
+
+    private void setCell(int index, int value) {
+        int chunk = index >>> CHUNK_SHIFT;
+        if (!owned[chunk]) {
+            cells[chunk] = cells[chunk].clone();
+            revealedBy[chunk] = revealedBy[chunk].clone();
+            owned[chunk] = true;
+        }
+        cells[chunk][index & CHUNK_MASK] = (byte) value;
+    }
+
+    public boolean isMine(int index) {
+        return (cell(index) & MINE_BIT) != 0;
+    }
+
+    public void setMine(int index) {
+        if (isMine(index)) {
+            return;
+        }
+        mineCount++;
+        zeroRegions = null;
+        if (!isRevealed(index)) {
+            remainingPoints -= getAdjacentMines(index);
+        }
+        setCell(index, (cell(index) | MINE_BIT) & ~ADJACENT_MASK);
+    }
+
+    public boolean isRevealed(int index) {
+        return (cell(index) & REVEALED_BIT) != 0;
+    }
+
+    /**
+     * Hücreyi açar ve varsa bayrağını kaldırır.
+     * @param index Hücre indeksi
+     * @param playerIndex Hücreyi açan oyuncunun indeksi, kaskad açılımında {@link #NO_PLAYER}.
+     */
+    public void reveal(int index, int playerIndex) {
+        if (!isRevealed(index) && !isMine(index)) {
+            revealedSafeCells++;
+            remainingPoints -= getAdjacentMines(index);
+        }
+        setCell(index, (cell(index) | REVEALED_BIT) & ~FLAG_MASK); // Parça kopyalandıysa revealedBy parçası da kopyalanmıştır
+        revealedBy[index >>> CHUNK_SHIFT][index & CHUNK_MASK] = (byte) playerIndex;
+    }
+
+    public int getAdjacentMines(int index) {
+        return cell(index) & ADJACENT_MASK;
+    }
+
+    /**
+     * Mayın olmayan hücrenin komşu mayın sayısını doğrudan ayarlar.
+     */
+    public void setAdjacentMines(int index, int adjacentMines) {
+        if (!isMine(index) && !isRevealed(index)) {
+            remainingPoints += adjacentMines - getAdjacentMines(index);
+        }
+        setCell(index, (cell(index) & ~ADJACENT_MASK) | (adjacentMines & ADJACENT_MASK));
+        zeroRegions = null;
+    }
+
+    public int getRevealedBy(int index) {
+        return revealedBy[index >>> CHUNK_SHIFT][index & CHUNK_MASK];
+    }
+
+    public int getMineCount() {
+        return mineCount;
+    }
+
+    /**
+     * @return Mayınlı hücrelerin artan sırada indeksleri. Tahtayı bir kez tarar.
+     */
+    public int[] getMineIndices() {
+        int[] mines = new int[mineCount];
+        int found = 0;
+        for (int index = 0; index < size && found < mines.length; index++) {
+            if (isMine(index)) {
+                mines[found++] = index;
+            }
+        }
+        return mines;
+    }
+
+    public int getRevealedSafeCells() {
+        return revealedSafeCells;
+    }
+
+    /**
+     * @return Henüz açılmamış güvenli hücre sayısı.
+     */
+    public int getUnrevealedSafeCells() {
+        return size - mineCount - revealedSafeCells;
+    }
+
+    /**
+     * @return Açılmamış güvenli hücrelerin komşu mayın sayılarının toplamı.
+     */
+    public int getRemainingPoints() {
+        return remainingPoints;
+    }
+
+    /**
+     * @return '0' bölge indeksi, henüz oluşturulmadıysa veya mayınlar değiştiyse null.
+     */
+    public ZeroRegionIndex getZeroRegions() {
+        return zeroRegions;
+    }
+
+    public void setZeroRegions(ZeroRegionIndex zeroRegions) {
+        this.zeroRegions = zeroRegions;
+    }
+
+    public boolean isFlagged(int index) {
+        return (cell(index) & FLAG_MASK) != 0;
+    }
+
+    /**
+     * @return Bayrağı koyan oyuncunun indeksi, bayrak yoksa {@link #NO_PLAYER}.
+     */
+    public int getFlagOwner(int index) {
+        return ((cell(index) & FLAG_MASK) >>> FLAG_SHIFT) - 1;
+    }
+
+    public void setFlagOwner(int index, int playerIndex) {
+        int flagBits = ((playerIndex + 1) << FLAG_SHIFT) & FLAG_MASK;
+        setCell(index, (cell(index) & ~FLAG_MASK) | flagBits);
+    }
+
+    public void clearFlag(int index) {
+        setCell(index, cell(index) & ~FLAG_MASK);
+    }
+
+    /**
+     * Hücrenin istemciye gönderilecek görünümünü oluşturur. Kapalı hücrelerin mayın ve komşu mayın bilgisi
+     * gönderilmez; bayraklar her zaman görünür.
+     * @param index Hücre indeksi
+     * @param playerIds Oyuncu indekslerine karşılık gelen oyuncu ID'leri
+     * @param revealMines Oyun bittiyse true; kapalı mayınlar da gösterilir
+     */
+    public Cell toVisibleCell(int index, String[] playerIds, boolean revealMines) {
+        Cell cell = new Cell(rowOf(index), columnOf(index));
+        if (isRevealed(index)) {
+            cell.setRevealed(true);
+            cell.setMine(isMine(index));
+            cell.setAdjacentMines(getAdjacentMines(index));
+            cell.setRevealedByPlayerId(playerIdAt(playerIds, getRevealedBy(index)));
+        } else if (revealMines) {
+            cell.setMine(isMine(index));
+        }
+        cell.setFlaggedByPlayerId(playerIdAt(playerIds, getFlagOwner(index)));
+        return cell;
+    }
+
+    private static String playerIdAt(String[] playerIds, int playerIndex) {
+        if (playerIndex < 0 || playerIndex >= playerIds.length) {
+            return null;
+        }
+        return playerIds[playerIndex];
+    }
+}
@@ -13,6 +13,7 @@ public class Player {
     private String username;
     private int score;
     private boolean ready = false;
+    private boolean connected = true; // Bağlantısı koptuysa yeniden bağlanma süresi boyunca false
     
     public Player() {
         // Boş constructor
@@ -25,6 +26,17 @@ public class Player {
         this.ready = false;
     }
     
+    /**
+     * Verilen oyuncunun bağımsız bir kopyasını oluşturur.
+     */
+    public Player(Player other) {
+        this.id = other.id;
+        this.username = other.username;
+        this.score = other.score;
+        this.ready = other.ready;
+        this.connected = other.connected;
+    }
+
     public void increaseScore(int amount) {
         if (amount > 0) {
            this.score += amount;
@@ -0,0 +1,7 @@
+package com.codeyzer.mine.model;
+
+/**
+ * Mayınları yerleştirilmiş bir tahta ve onu üreten tohum.
+ */
+public record SeededBoard(long seed, PackedBoard board) {
+}
@@ -0,0 +1,141 @@
+package com.codeyzer.mine.model;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Tahtada oyunculara görünen hücrelerin kümesi: açılmış hücreler, bayraklı hücreler ve oyun bittiyse mayınlar.
+ * Seyrek hücre görünümü ({@link GameView#PLAYER_CELLS}) tahtanın tamamı yerine sadece bu hücreleri içerir.
+ * <p>
+ * Küme hücre başına bir bitle, {@value #CHUNK_CELLS} hücrelik parçalar halinde tutulur ve değişmezdir. Her sürümde
+ * sadece o değişiklikte açılan veya bayrağı değişen hücreler değerlendirilir; yeni küme değişmeyen parçaları önceki
+ * kümeyle paylaşır, yalnızca yazılan parçalar kopyalanır ({@link PackedBoard} ile aynı yazarken kopyala yaklaşımı).
+ * Böylece güncellemenin maliyeti görünen hücre sayısıyla değil, değişen hücrelerle orantılıdır. Görüntüler aynı
+ * nesneyi kilitsiz paylaşır.
+ */
+public final class VisibleCells {
+
+    private static final int[] NO_MINES = new int[0];
+
+    public static final VisibleCells EMPTY = new VisibleCells(new long[0][], 0, false, NO_MINES);
+
+    private static final int WORD_SHIFT = 6;
+    private static final int CHUNK_SHIFT = 3;
+    private static final int CHUNK_WORDS = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_WORDS - 1;
+    private static final int CHUNK_CELLS = CHUNK_WORDS << WORD_SHIFT;
+
+    private final long[][] chunks; // null parça hiç görünen hücre içermez
+    private final int size;
+    private final boolean minesRevealed;
+    private final int[] revealedMines; // Bu kümeyi üreten güncellemede oyun bittiği için görünür hale gelen mayınlar
+
+    private VisibleCells(long[][] chunks, int size, boolean minesRevealed, int[] revealedMines) {
+        this.chunks = chunks;
+        this.size = size;
+        this.minesRevealed = minesRevealed;
+        this.revealedMines = revealedMines;
+    }
+
+    /**
+     * Değişen hücrelerin görünürlüğünü yeniden değerlendirerek yeni bir küme oluşturur.
+     * Değişmeyen parçalar önceki kümeyle paylaşılır.
+     * @param board Oyunun güncel tahtası
+     * @param changedCells Bu değişiklikte açılan veya bayrağı değişen hücrelerin indeksleri
+     * @param revealMines Oyun bittiyse true; kapalı mayınlar da görünür hale gelir
+     * @return Değişiklik yoksa bu küme, aksi halde yeni küme. Mayınları bu güncellemede ekleyen küme onları
+     * {@link #getRevealedMines()} ile bildirir.
+     */
+    public VisibleCells update(PackedBoard board, Collection<Integer> changedCells, boolean revealMines) {
+        boolean revealNewMines = revealMines && !minesRevealed;
+        if (changedCells.isEmpty() && !revealNewMines) {
+            return revealedMines.length == 0 ? this : new VisibleCells(chunks, size, minesRevealed, NO_MINES);
+        }
+        long[][] updated = Arrays.copyOf(chunks, (board.size() + CHUNK_CELLS - 1) / CHUNK_CELLS);
+        int updatedSize = size;
+        for (Integer index : changedCells) {
+            updatedSize += set(updated, index, isVisible(board, index, revealMines));
+        }
+        int[] mines = NO_MINES;
+        if (revealNewMines) {
+            // Oyun bittiğinde mayınlar oyun başına bir kez eklenir
+            mines = board.getMineIndices();
+            for (int index : mines) {
+                updatedSize += set(updated, index, true);
+            }
+        }
+        return new VisibleCells(updated, updatedSize, minesRevealed || revealMines, mines);
+    }
+
+    /**
+     * Hücrenin bitini yeni kümede ayarlar. Önceki kümeyle paylaşılan parça ilk yazmada kopyalanır.
+     * @return Küme boyutundaki değişim: eklendiyse 1, çıkarıldıysa -1, değişmediyse 0.
+     */
+    private int set(long[][] updated, int index, boolean visible) {
+        int word = index >>> WORD_SHIFT;
+        int chunk = word >>> CHUNK_SHIFT;
+        long bit = 1L << index;
+        long[] words = updated[chunk];
+        boolean wasVisible = words != null && (words[word & CHUNK_MASK] & bit) != 0;
+        if (wasVisible == visible) {
+            return 0;
+        }
+        if (words == null) {
+            words = new long[CHUNK_WORDS];
+        } else if (chunk < chunks.length && words == chunks[chunk]) {
+            words = words.clone();
+        }
+        words[word & CHUNK_MASK] ^= bit;
+        updated[chunk] = words;
+        return visible ? 1 : -1;
+    }
+
+    private static boolean isVisible(PackedBoard board, int index, boolean revealMines) {
+        return board.isRevealed(index) || board.isFlagged(index) || (revealMines && board.isMine(index));
+    }
+
+    /**
+     * Oyun bittiğinde bu kümeyi üreten güncellemede görünür hale gelen mayınlar; istemcilere değişen hücrelerle
+     * birlikte bir kez gönderilir. Bayraklı mayınlar da dahildir. Diğer güncellemelerde boştur. Dizi değiştirilmemelidir.
+     */
+    public int[] getRevealedMines() {
+        return revealedMines;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(int index) {
+        return (word(index >>> WORD_SHIFT) & (1L << index)) != 0;
+    }
+
+    /**
+     * Görünen hücreleri artan sırada dolaşmak için kullanılır:
+     * {@code for (int i = cells.next(0); i >= 0; i = cells.next(i + 1))}.
+     * @return {@code from} veya sonrasındaki ilk görünen hücrenin indeksi, yoksa -1.
+     */
+    public int next(int from) {
+        int word = from >>> WORD_SHIFT;
+        int words = chunks.length << CHUNK_SHIFT;
+        if (word >= words) {
+            return -1;
+        }
+        long bits = word(word) & (-1L << from);
+        while (bits == 0) {
+            if (++word >= words) {
+                return -1;
+            }
+            bits = word(word);
+        }
+        return (word << WORD_SHIFT) + Long.numberOfTrailingZeros(bits);
+    }
+
+    private long word(int word) {
+        int chunk = word >>> CHUNK_SHIFT;
+        if (chunk >= chunks.length || chunks[chunk] == null) {
+            return 0;
+        }
+        return chunks[chunk][word & CHUNK_MASK];
+    }
+}
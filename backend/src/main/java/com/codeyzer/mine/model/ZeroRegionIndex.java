@@ -0,0 +1,81 @@
+package com.codeyzer.mine.model;
+
+/**
+ * Tahtadaki birbirine bağlı '0' hücre bölgelerinin ve bu bölgeleri çevreleyen numaralı hücrelerin indeksi.
+ * Mayınlar yerleştirildikten sonra bir kez oluşturulur ve değişmez; kaskad açılımı bölgeyi tekrar dolaşmak yerine
+ * bu listeyi kullanır.
+ * <p>
+ * Bölge hücreleri tek bir dizide bölge bölge tutulur: bölge {@code k}'nın hücreleri
+ * {@code regionCells[regionOffsets[k]] .. regionCells[regionOffsets[k + 1] - 1]} aralığındadır.
+ * Birden fazla bölgeye komşu olan numaralı hücreler her bölgede ayrı ayrı yer alır.
+ * <p>
+ * En fazla {@value #COMPACT_MAX_CELLS} hücreli tahtalarda bölge numaraları ve bölge hücreleri {@code char} dizilerinde
+ * tutulur; her ikisi de eleman başına 4 yerine 2 bayt yer kaplar. Daha büyük tahtalarda {@code int} dizileri kullanılır.
+ */
+public class ZeroRegionIndex {
+
+    public static final int NO_REGION = -1;
+
+    static final int COMPACT_MAX_CELLS = 1 << 16;
+    private static final char COMPACT_NO_REGION = Character.MAX_VALUE;
+
+    // Tahtanın boyutuna göre ya char ya int dizileri doludur
+    private final char[] compactRegionOf;
+    private final char[] compactRegionCells;
+    private final int[] regionOf;
+    private final int[] regionCells;
+    private final int[] regionOffsets;
+
+    /**
+     * @param regionOf Her '0' hücresinin bölge numarası, diğer hücreler için {@link #NO_REGION}.
+     * @param regionOffsets Bölgelerin {@code regionCells} içindeki başlangıçları, son eleman toplam uzunluk.
+     * @param regionCells Bölgelerin '0' hücreleri ve sınırlarındaki numaralı hücreler.
+     */
+    public ZeroRegionIndex(int[] regionOf, int[] regionOffsets, int[] regionCells) {
+        this.regionOffsets = regionOffsets;
+        if (regionOf.length <= COMPACT_MAX_CELLS && regionOffsets.length - 1 < COMPACT_NO_REGION) {
+            this.compactRegionOf = new char[regionOf.length];
+            for (int index = 0; index < regionOf.length; index++) {
+                compactRegionOf[index] = regionOf[index] == NO_REGION ? COMPACT_NO_REGION : (char) regionOf[index];
+            }
+            this.compactRegionCells = new char[regionCells.length];
+            for (int position = 0; position < regionCells.length; position++) {
+                compactRegionCells[position] = (char) regionCells[position];
+            }
+            this.regionOf = null;
+            this.regionCells = null;
+        } else {
+            this.compactRegionOf = null;
+            this.compactRegionCells = null;
+            this.regionOf = regionOf;
+            this.regionCells = regionCells;
+        }
+    }
+
+    /**
+     * @return Hücrenin ait olduğu '0' bölgesi, hücre '0' değilse {@link #NO_REGION}.
+     */
+    public int getRegion(int index) {
+        if (compactRegionOf == null) {
+            return regionOf[index];
+        }
+        char region = compactRegionOf[index];
+        return region == COMPACT_NO_REGION ? NO_REGION : region;
+    }
+
+    public int getRegionCount() {
+        return regionOffsets.length - 1;
+    }
+
+    public int getRegionStart(int region) {
+        return regionOffsets[region];
+    }
+
+    public int getRegionEnd(int region) {
+        return regionOffsets[region + 1];
+    }
+
+    public int getRegionCell(int position) {
+        return compactRegionCells != null ? compactRegionCells[position] : regionCells[position];
+    }
+}
@@ -0,0 +1,40 @@
+package com.codeyzer.mine.repository;
+
+import com.codeyzer.mine.model.ArchivedGame;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Bellekten çıkarılan oyunların özetlerini sınırlı sayıda tutar.
+ * Kapasite dolduğunda en eski özet silinir.
+ */
+@Repository
+public class InMemoryGameArchive {
+
+    private final Map<String, ArchivedGame> archivedGames;
+
+    public InMemoryGameArchive(@Value("${mineyzer.games.archive.max-size:10000}") int maxSize) {
+        this.archivedGames = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ArchivedGame> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public synchronized void save(ArchivedGame archivedGame) {
+        archivedGames.put(archivedGame.getId(), archivedGame);
+    }
+
+    public synchronized Optional<ArchivedGame> findById(String id) {
+        return Optional.ofNullable(archivedGames.get(id));
+    }
+
+    public synchronized int count() {
+        return archivedGames.size();
+    }
+}
@@ -1,23 +1,81 @@
 package com.codeyzer.mine.repository;
 
 import com.codeyzer.mine.model.Game;
+import com.codeyzer.mine.model.GameStatus;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Repository
 public class InMemoryGameRepository {
-    
+
+    // Listeleme sırası: en yeni oyun önce
+    private static final Comparator<Game> NEWEST_FIRST = Comparator
+            .comparingLong(Game::getCreatedAtMillis).reversed()
+            .thenComparing(Game::getId);
+
     private final Map<String, Game> games = new ConcurrentHashMap<>();
-    
+    // İkincil indeksler: tüm oyunlar ve duruma göre oyunlar, sayfalama için sıralı tutulur
+    private final NavigableSet<Game> allGames = new ConcurrentSkipListSet<>(NEWEST_FIRST);
+    private final Map<GameStatus, NavigableSet<Game>> gamesByStatus = new EnumMap<>(GameStatus.class);
+    // ConcurrentSkipListSet.size() tüm kümeyi dolaştığı için sayılar ayrıca tutulur
+    private final Map<GameStatus, AtomicInteger> countsByStatus = new EnumMap<>(GameStatus.class);
+    // Oyunun indekslendiği son durum; durum değiştiğinde eski indeksten çıkarmak için
+    private final Map<String, GameStatus> indexedStatus = new ConcurrentHashMap<>();
+
+    public InMemoryGameRepository() {
+        for (GameStatus status : GameStatus.values()) {
+            gamesByStatus.put(status, new ConcurrentSkipListSet<>(NEWEST_FIRST));
+            countsByStatus.put(status, new AtomicInteger());
+        }
+    }
+
+    /**
+     * Oyunu kaydeder ve durum indeksini günceller.
+     * Aynı oyun için çağrılar oyunun kilidi altında sırayla yapılmalıdır.
+     */
     public Game save(Game game) {
         games.put(game.getId(), game);
+        index(game);
         return game;
     }
+
+    /**
+     * Kayıtlı bir oyunun durum indeksini günceller. Oyun silindiyse yeniden eklenmez; bellekten çıkarılan bir oyunu
+     * sonradan değiştiren komut onu geri getiremez.
+     * Aynı oyun için çağrılar oyunun kilidi altında sırayla yapılmalıdır.
+     * @return Oyun kayıtlıysa true, silinmişse false.
+     */
+    public boolean update(Game game) {
+        if (games.computeIfPresent(game.getId(), (id, existing) -> game) == null) {
+            return false;
+        }
+        index(game);
+        return true;
+    }
+
+    private void index(Game game) {
+        allGames.add(game);
+        GameStatus previousStatus = indexedStatus.put(game.getId(), game.getStatus());
+        if (previousStatus != game.getStatus()) {
+            if (previousStatus != null) {
+                gamesByStatus.get(previousStatus).remove(game);
+                countsByStatus.get(previousStatus).decrementAndGet();
+            }
+            gamesByStatus.get(game.getStatus()).add(game);
+            countsByStatus.get(game.getStatus()).incrementAndGet();
+        }
+    }
     
     public Optional<Game> findById(String id) {
         return Optional.ofNullable(games.get(id));
@@ -26,25 +84,55 @@ public class InMemoryGameRepository {
     public List<Game> findAll() {
         return new ArrayList<>(games.values());
     }
-    
-    public void deleteById(String id) {
-        games.remove(id);
+
+    /**
+     * @return Verilen durumdaki oyunlar, en yeni önce.
+     */
+    public List<Game> findByStatus(GameStatus status) {
+        return new ArrayList<>(gamesByStatus.get(status));
+    }
+
+    /**
+     * @return Verilen durumdaki en eski oluşturulmuş oyun; durum indeksinin sonundan alınır, oyunlar dolaşılmaz.
+     */
+    public Optional<Game> findOldestByStatus(GameStatus status) {
+        Iterator<Game> oldestFirst = gamesByStatus.get(status).descendingIterator();
+        return oldestFirst.hasNext() ? Optional.of(oldestFirst.next()) : Optional.empty();
     }
 
     /**
-     * Zamanlayıcı kontrolü için uygun olan aktif oyunları bulur.
-     * Sadece bitmemiş, 2 oyunculu ve sırası başlamış (turnStartTimeMillis > 0) oyunları döndürür.
-     * @return Zamanlayıcı kontrolü gerektiren oyunların listesi.
+     * Oyunları en yeni önce sıralı olarak sayfa sayfa döndürür.
+     * Sadece istenen sayfaya kadar olan oyunlar dolaşılır.
+     * @param status Filtrelenecek durum, null ise tüm oyunlar.
+     * @param offset Atlanacak oyun sayısı
+     * @param limit En fazla döndürülecek oyun sayısı
      */
-    public List<Game> findActiveGamesForTimerCheck() {
-        List<Game> activeGames = new ArrayList<>();
-        for (Game game : games.values()) {
-            // getCurrentTurn() metodunun Game sınıfında var olduğunu varsayıyoruz.
-            // Eğer yoksa veya turnStartTimeMillis getter'ı yoksa, ilgili getter'ları eklemelisiniz.
-            if (!game.isGameOver() && game.getPlayers().size() == 2 && game.getTurnStartTimeMillis() > 0) {
-                activeGames.add(game);
+    public List<Game> findPage(GameStatus status, long offset, int limit) {
+        NavigableSet<Game> source = status == null ? allGames : gamesByStatus.get(status);
+        return source.stream().skip(offset).limit(limit).toList();
+    }
+
+    public int countByStatus(GameStatus status) {
+        return status == null ? games.size() : countsByStatus.get(status).get();
+    }
+    
+    /**
+     * @return Oyun silindiyse true, zaten yoksa false.
+     */
+    public boolean deleteById(String id) {
+        Game removed = games.remove(id);
+        GameStatus status = indexedStatus.remove(id);
+        if (removed != null) {
+            allGames.remove(removed);
+            if (status != null) {
+                gamesByStatus.get(status).remove(removed);
+                countsByStatus.get(status).decrementAndGet();
             }
         }
-        return activeGames;
+        return removed != null;
+    }
+
+    public int count() {
+        return games.size();
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,141 @@
+package com.codeyzer.mine.service;
+
+import com.codeyzer.mine.model.BoardPreset;
+import com.codeyzer.mine.model.PackedBoard;
+import com.codeyzer.mine.model.SeededBoard;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Standart zorluk seviyeleri için önceden mayınları yerleştirilmiş tahtaları hazır tutar.
+ * Her seviye için sınırlı bir havuz vardır; havuzdan tahta alındıkça düşük öncelikli tek bir arka plan thread'i
+ * havuzu yeniden doldurur. Böylece tahta üretimi hamle isteğinin yolundan çıkar.
+ */
+@Component
+public class BoardPool {
+
+    private static final Logger log = LoggerFactory.getLogger(BoardPool.class);
+
+    private final BoardService boardService;
+    private final boolean enabled;
+    private final Map<BoardPreset, BlockingQueue<SeededBoard>> pools = new EnumMap<>(BoardPreset.class);
+    private final ExecutorService refillExecutor;
+    private final AtomicBoolean refillPending = new AtomicBoolean();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong returns = new AtomicLong();
+
+    public BoardPool(BoardService boardService,
+                     @Value("${mineyzer.board.pool.enabled:true}") boolean enabled,
+                     @Value("${mineyzer.board.pool.size-per-preset:32}") int sizePerPreset) {
+        this.boardService = boardService;
+        this.enabled = enabled && sizePerPreset > 0;
+        for (BoardPreset preset : BoardPreset.values()) {
+            pools.put(preset, new ArrayBlockingQueue<>(Math.max(1, sizePerPreset)));
+        }
+        this.refillExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "board-pool-refill");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        requestRefill();
+    }
+
+    /**
+     * Verilen ayarlara uyan hazır bir tahta alır.
+     * @return Hazır tahta; ayarlar standart değilse, havuz kapalıysa veya boşsa null.
+     */
+    public SeededBoard take(int rows, int columns, int mineCount) {
+        if (!enabled) {
+            return null;
+        }
+        BoardPreset preset = BoardPreset.of(rows, columns, mineCount).orElse(null);
+        if (preset == null) {
+            return null;
+        }
+        SeededBoard pooled = pools.get(preset).poll();
+        if (pooled == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        requestRefill();
+        return pooled;
+    }
+
+    /**
+     * Kullanılmadan geri verilen (hiç hücresi açılmamış) tahtayı havuza iade eder. Havuz doluysa tahta bırakılır.
+     */
+    public void giveBack(SeededBoard pooled) {
+        PackedBoard board = pooled.board();
+        BoardPreset.of(board.getRows(), board.getColumns(), board.getMineCount())
+                .filter(preset -> pools.get(preset).offer(pooled))
+                .ifPresent(preset -> returns.incrementAndGet());
+    }
+
+    private void requestRefill() {
+        if (enabled && refillPending.compareAndSet(false, true)) {
+            refillExecutor.execute(this::refill);
+        }
+    }
+
+    private void refill() {
+        refillPending.set(false);
+        try {
+            for (Map.Entry<BoardPreset, BlockingQueue<SeededBoard>> entry : pools.entrySet()) {
+                BoardPreset preset = entry.getKey();
+                BlockingQueue<SeededBoard> pool = entry.getValue();
+                while (pool.remainingCapacity() > 0) {
+                    long seed = boardService.newSeed();
+                    PackedBoard board = boardService.initializeBoard(preset.getRows(), preset.getColumns());
+                    boardService.placeMines(board, preset.getMineCount(), seed, BoardService.NO_SAFE_CELL);
+                    if (!pool.offer(new SeededBoard(seed, board))) {
+                        break;
+                    }
+                }
+            }
+        } catch (Exception e) {
+            log.error("Board pool refill failed", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refillExecutor.shutdownNow();
+    }
+
+    public int getAvailable(BoardPreset preset) {
+        return pools.get(preset).size();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getReturns() {
+        return returns.get();
+    }
+}
@@ -2,129 +2,361 @@ package com.codeyzer.mine.service;
 
 import com.codeyzer.mine.model.Cell;
 import com.codeyzer.mine.model.Game;
-import com.codeyzer.mine.model.Player; // Gerekirse eklenebilir
+import com.codeyzer.mine.model.PackedBoard;
+import com.codeyzer.mine.model.ZeroRegionIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
 
 @Service
 public class BoardService {
 
     private static final Logger log = LoggerFactory.getLogger(BoardService.class);
 
+    public static final int NO_SAFE_CELL = -1;
+
+    private final RandomGeneratorFactory<RandomGenerator> randomFactory;
+
+    public BoardService(@Value("${mineyzer.board.random-algorithm:SplittableRandom}") String randomAlgorithm) {
+        this.randomFactory = RandomGeneratorFactory.of(randomAlgorithm);
+    }
+
     /**
-     * Verilen boyutlarda boş bir oyun tahtası listesi oluşturur.
+     * Verilen boyutlarda boş bir oyun tahtası oluşturur.
      * @param rows Satır sayısı
      * @param columns Sütun sayısı
-     * @return Boş hücrelerden oluşan 2D liste (tahta).
+     * @return Boş hücrelerden oluşan paketlenmiş tahta.
      */
-    public List<List<Cell>> initializeBoard(int rows, int columns) {
+    public PackedBoard initializeBoard(int rows, int columns) {
         log.debug("Initializing board {}x{}", rows, columns);
-        List<List<Cell>> board = new ArrayList<>();
-        for (int i = 0; i < rows; i++) {
-            List<Cell> rowList = new ArrayList<>();
-            for (int j = 0; j < columns; j++) {
-                rowList.add(new Cell(i, j));
+        return new PackedBoard(rows, columns);
+    }
+
+    /**
+     * Yeni bir oyun için tohum üretir. Aynı tohumla oluşturulan tahtalar aynıdır.
+     */
+    public long newSeed() {
+        return ThreadLocalRandom.current().nextLong();
+    }
+
+    /**
+     * Verilen tohumdan, yapılandırılan algoritmayla bir rastgele sayı üreteci oluşturur.
+     */
+    public RandomGenerator createRandom(long seed) {
+        return randomFactory.create(seed);
+    }
+
+    /**
+     * Verilen tahtaya tohumdan belirlenen mayınları yerleştirir.
+     * @param board Mayınların yerleştirileceği tahta.
+     * @param mineCount Yerleştirilecek mayın sayısı.
+     * @param seed Oyunun tohumu
+     * @param safeIndex Mayın konmayacak hücre (ilk tıklanan hücre), yoksa {@link #NO_SAFE_CELL}.
+     */
+    public void placeMines(PackedBoard board, int mineCount, long seed, int safeIndex) {
+        placeMines(board, mineCount, createRandom(seed), safeIndex);
+    }
+
+    public void placeMines(PackedBoard board, int mineCount, RandomGenerator random) {
+        placeMines(board, mineCount, random, NO_SAFE_CELL);
+    }
+
+    public void placeMines(PackedBoard board, int mineCount, RandomGenerator random, int safeIndex) {
+        placeMines(board, mineCount, random, safeIndex == NO_SAFE_CELL ? new int[0] : new int[]{safeIndex});
+    }
+
+    /**
+     * @return Verilen hücre ve komşularının indeksleri (3x3 alan, tahta sınırları içinde).
+     */
+    public int[] safeArea(int rows, int columns, int index) {
+        int row = index / columns;
+        int col = index % columns;
+        int[] area = new int[9];
+        int count = 0;
+        for (int i = Math.max(0, row - 1); i <= Math.min(rows - 1, row + 1); i++) {
+            for (int j = Math.max(0, col - 1); j <= Math.min(columns - 1, col + 1); j++) {
+                area[count++] = i * columns + j;
             }
-            board.add(rowList);
         }
-        return board;
+        return Arrays.copyOf(area, count);
     }
 
     /**
-     * Verilen tahtaya rastgele mayınları yerleştirir ve komşu hücrelerin sayaçlarını günceller.
-     * @param board Mayınların yerleştirileceği tahta.
-     * @param rows Satır sayısı
-     * @param columns Sütun sayısı
+     * Verilen tahtaya rastgele mayınları yerleştirir ve komşu hücrelerin sayaçlarını hesaplar.
+     * Hücre indeksleri üzerinde kısmi Fisher–Yates karıştırması yapılır; böylece her mayın tek bir rastgele sayıyla
+     * seçilir ve yoğun tahtalarda bile tekrar deneme gerekmez. Komşu sayaçları tüm mayınlar yerleştikten sonra
+     * tahta üzerinde tek geçişte hesaplanır. Süre hücre sayısıyla doğrusaldır.
+     * @param board Mayınların yerleştirileceği boş tahta.
      * @param mineCount Yerleştirilecek mayın sayısı.
+     * @param random Rastgele sayı üreteci
+     * @param safeCells Mayın konmayacak hücreler (ilk tıklanan hücre veya çevresi), boş olabilir.
+     */
+    public void placeMines(PackedBoard board, int mineCount, RandomGenerator random, int[] safeCells) {
+        log.debug("Placing {} mines on {}x{} board", mineCount, board.getRows(), board.getColumns());
+        layMines(board, mineCount, random, safeCells);
+        indexZeroRegions(board);
+    }
+
+    /**
+     * Mayınları yerleştirir ve komşu sayaçlarını hesaplar, ancak '0' bölge indeksini oluşturmaz.
+     * Çoğu elenecek aday tahtalar üretilirken kullanılır; seçilen tahta için ardından {@link #indexZeroRegions}
+     * çağrılmalıdır.
      */
-    public void placeMines(List<List<Cell>> board, int rows, int columns, int mineCount) {
-        log.debug("Placing {} mines on {}x{} board", mineCount, rows, columns);
-        Random random = new Random();
-        int minesPlaced = 0;
+    public void layMines(PackedBoard board, int mineCount, RandomGenerator random, int[] safeCells) {
+        int rows = board.getRows();
+        int columns = board.getColumns();
         int totalCells = rows * columns;
         if (mineCount >= totalCells) {
              log.warn("Mine count ({}) is greater than or equal to total cells ({}), placing mines in all cells except one if possible.", mineCount, totalCells);
              mineCount = Math.max(0, totalCells -1); // Tüm hücrelere mayın koyma durumunu engelle
         }
 
-        while (minesPlaced < mineCount) {
-            int row = random.nextInt(rows);
-            int col = random.nextInt(columns);
-            Cell cell = board.get(row).get(col);
-            if (!cell.isMine()) {
-                cell.setMine(true);
-                minesPlaced++;
-                // Komşu hücrelerin sayaçlarını artır
-                updateAdjacentCells(board, rows, columns, row, col);
+        // Güvenli hücreler karıştırmaya katılmaz
+        int[] cells = new int[totalCells];
+        int candidates = 0;
+        if (safeCells.length == 0) {
+            for (int index = 0; index < totalCells; index++) {
+                cells[candidates++] = index;
+            }
+        } else {
+            boolean[] excluded = new boolean[totalCells];
+            for (int safeCell : safeCells) {
+                excluded[safeCell] = true;
             }
+            for (int index = 0; index < totalCells; index++) {
+                if (!excluded[index]) {
+                    cells[candidates++] = index;
+                }
+            }
+        }
+        if (mineCount > candidates) {
+            log.warn("Mine count ({}) exceeds cells outside the safe area ({}), placing {} mines.", mineCount, candidates, candidates);
+            mineCount = candidates;
         }
+        for (int i = 0; i < mineCount; i++) {
+            int j = i + random.nextInt(candidates - i);
+            int mine = cells[j];
+            cells[j] = cells[i];
+            cells[i] = mine;
+            board.setMine(mine);
+        }
+
+        computeAdjacentMines(board);
     }
 
     /**
-     * Bir mayının yerleştirildiği koordinat etrafındaki komşu hücrelerin mayın sayısını artırır.
-     * @param board Tahta
-     * @param rows Satır sayısı
-     * @param columns Sütun sayısı
-     * @param mineRow Mayının satırı
-     * @param mineCol Mayının sütunu
+     * Mayın olmayan her hücrenin komşu mayın sayısını tek geçişte hesaplar.
+     * Her satır için üst, kendi ve alt satırdaki mayınlar sütun bazında toplanır; hücrenin değeri üç sütunluk
+     * pencerenin toplamıdır.
      */
-    public void updateAdjacentCells(List<List<Cell>> board, int rows, int columns, int mineRow, int mineCol) {
-        for (int i = Math.max(0, mineRow - 1); i <= Math.min(rows - 1, mineRow + 1); i++) {
-            for (int j = Math.max(0, mineCol - 1); j <= Math.min(columns - 1, mineCol + 1); j++) {
-                // Mayın hücresinin kendisini atla
-                if (i == mineRow && j == mineCol) {
+    private void computeAdjacentMines(PackedBoard board) {
+        int rows = board.getRows();
+        int columns = board.getColumns();
+        int[] columnMines = new int[columns];
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < columns; col++) {
+                int count = 0;
+                for (int i = Math.max(0, row - 1); i <= Math.min(rows - 1, row + 1); i++) {
+                    if (board.isMine(board.index(i, col))) {
+                        count++;
+                    }
+                }
+                columnMines[col] = count;
+            }
+            for (int col = 0; col < columns; col++) {
+                int index = board.index(row, col);
+                if (board.isMine(index)) {
                     continue;
                 }
-                Cell adjacentCell = board.get(i).get(j);
-                // Diğer mayınların sayacını artırma
-                if (!adjacentCell.isMine()) {
-                    adjacentCell.setAdjacentMines(adjacentCell.getAdjacentMines() + 1);
+                int adjacentMines = columnMines[col];
+                if (col > 0) {
+                    adjacentMines += columnMines[col - 1];
+                }
+                if (col + 1 < columns) {
+                    adjacentMines += columnMines[col + 1];
                 }
+                board.setAdjacentMines(index, adjacentMines);
             }
         }
     }
 
     /**
-     * Açılan '0' değerli bir hücrenin etrafındaki güvenli komşu hücreleri rekürsif olarak açar (kaskad).
-     * Bayraklı hücreler açılmaz.
-     * @param board Tahta
-     * @param rows Satır sayısı
-     * @param columns Sütun sayısı
-     * @param row Başlangıç satırı ('0' olan hücre)
-     * @param col Başlangıç sütunu ('0' olan hücre)
+     * Tahtadaki birbirine bağlı '0' hücrelerini union-find ile bölgelere ayırır ve her bölgenin
+     * açılacak hücrelerini (bölgedeki '0' hücreleri ve sınırındaki numaralı hücreler) tahtaya kaydeder.
+     * Mayınlar yerleştirildikten sonra bir kez çağrılır.
+     * @param board Mayınları yerleştirilmiş tahta.
+     * @return Oluşturulan bölge indeksi.
      */
-    public void revealAdjacentCells(List<List<Cell>> board, int rows, int columns, int row, int col) {
-        Cell currentCell = board.get(row).get(col);
-        // Kaskad sadece zaten açılmış ve 0 değerli hücrelerden başlamalı (güvenlik kontrolü)
-        if (!currentCell.isRevealed() || currentCell.getAdjacentMines() != 0 || currentCell.isMine()) {
+    public ZeroRegionIndex indexZeroRegions(PackedBoard board) {
+        int rows = board.getRows();
+        int columns = board.getColumns();
+        int size = board.size();
+
+        // Her '0' hücresini sağ, sol-alt, alt ve sağ-alt komşusundaki '0' hücreleriyle birleştir
+        int[] parent = new int[size];
+        for (int index = 0; index < size; index++) {
+            parent[index] = index;
+        }
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < columns; col++) {
+                int index = board.index(row, col);
+                if (!isZeroCell(board, index)) {
+                    continue;
+                }
+                if (col + 1 < columns) {
+                    unionIfZero(board, parent, index, index + 1);
+                }
+                if (row + 1 < rows) {
+                    int below = index + columns;
+                    unionIfZero(board, parent, index, below);
+                    if (col > 0) {
+                        unionIfZero(board, parent, index, below - 1);
+                    }
+                    if (col + 1 < columns) {
+                        unionIfZero(board, parent, index, below + 1);
+                    }
+                }
+            }
+        }
+
+        // Kök hücrelere sıralı bölge numarası ver
+        int[] regionOf = new int[size];
+        Arrays.fill(regionOf, ZeroRegionIndex.NO_REGION);
+        int regionCount = 0;
+        for (int index = 0; index < size; index++) {
+            if (isZeroCell(board, index) && find(parent, index) == index) {
+                regionOf[index] = regionCount++;
+            }
+        }
+        for (int index = 0; index < size; index++) {
+            if (isZeroCell(board, index)) {
+                regionOf[index] = regionOf[find(parent, index)];
+            }
+        }
+
+        // İki geçiş: önce bölge boyutlarını say, sonra hücreleri yerleştir
+        int[] regionOffsets = new int[regionCount + 1];
+        int[] neighborRegions = new int[8];
+        for (int index = 0; index < size; index++) {
+            if (regionOf[index] != ZeroRegionIndex.NO_REGION) {
+                regionOffsets[regionOf[index] + 1]++;
+            } else if (!board.isMine(index)) {
+                int found = collectNeighborRegions(board, regionOf, index, neighborRegions);
+                for (int i = 0; i < found; i++) {
+                    regionOffsets[neighborRegions[i] + 1]++;
+                }
+            }
+        }
+        for (int region = 0; region < regionCount; region++) {
+            regionOffsets[region + 1] += regionOffsets[region];
+        }
+        int[] regionCells = new int[regionOffsets[regionCount]];
+        int[] nextPosition = new int[regionCount];
+        System.arraycopy(regionOffsets, 0, nextPosition, 0, regionCount);
+        for (int index = 0; index < size; index++) {
+            if (regionOf[index] != ZeroRegionIndex.NO_REGION) {
+                regionCells[nextPosition[regionOf[index]]++] = index;
+            } else if (!board.isMine(index)) {
+                int found = collectNeighborRegions(board, regionOf, index, neighborRegions);
+                for (int i = 0; i < found; i++) {
+                    regionCells[nextPosition[neighborRegions[i]]++] = index;
+                }
+            }
+        }
+
+        ZeroRegionIndex zeroRegions = new ZeroRegionIndex(regionOf, regionOffsets, regionCells);
+        board.setZeroRegions(zeroRegions);
+        log.debug("Indexed {} zero regions on {}x{} board", regionCount, rows, columns);
+        return zeroRegions;
+    }
+
+    private static boolean isZeroCell(PackedBoard board, int index) {
+        return !board.isMine(index) && board.getAdjacentMines(index) == 0;
+    }
+
+    private static void unionIfZero(PackedBoard board, int[] parent, int index, int neighbor) {
+        if (!isZeroCell(board, neighbor)) {
             return;
         }
+        int rootA = find(parent, index);
+        int rootB = find(parent, neighbor);
+        if (rootA != rootB) {
+            // Küçük indeksli kök kalır; bölge numaraları böylece tahta sırasına göre verilir
+            parent[Math.max(rootA, rootB)] = Math.min(rootA, rootB);
+        }
+    }
 
-        log.trace("Cascading reveal from ({}, {})", row, col);
+    private static int find(int[] parent, int index) {
+        while (parent[index] != index) {
+            parent[index] = parent[parent[index]]; // Yol yarılama
+            index = parent[index];
+        }
+        return index;
+    }
 
-        for (int i = Math.max(0, row - 1); i <= Math.min(rows - 1, row + 1); i++) {
-            for (int j = Math.max(0, col - 1); j <= Math.min(columns - 1, col + 1); j++) {
-                // Kendisini atla
-                if (i == row && j == col) {
+    /**
+     * Numaralı bir hücreye komşu olan farklı '0' bölgelerini toplar.
+     * @return Bulunan bölge sayısı.
+     */
+    private static int collectNeighborRegions(PackedBoard board, int[] regionOf, int index, int[] neighborRegions) {
+        int row = board.rowOf(index);
+        int col = board.columnOf(index);
+        int found = 0;
+        for (int i = Math.max(0, row - 1); i <= Math.min(board.getRows() - 1, row + 1); i++) {
+            for (int j = Math.max(0, col - 1); j <= Math.min(board.getColumns() - 1, col + 1); j++) {
+                int region = regionOf[board.index(i, j)];
+                if (region == ZeroRegionIndex.NO_REGION) {
                     continue;
                 }
+                boolean seen = false;
+                for (int k = 0; k < found && !seen; k++) {
+                    seen = neighborRegions[k] == region;
+                }
+                if (!seen) {
+                    neighborRegions[found++] = region;
+                }
+            }
+        }
+        return found;
+    }
 
-                Cell neighbor = board.get(i).get(j);
+    /**
+     * Açılan '0' değerli hücrenin ait olduğu bölgeyi açar (kaskad): bölgedeki tüm '0' hücreleri ve sınırındaki
+     * numaralı hücreler, bayraklı ve zaten açık olanlar hariç. Bölgeler {@link #indexZeroRegions} ile önceden
+     * hesaplandığı için komşular yeniden kontrol edilmez ve yığın derinliği tahta boyutundan bağımsızdır.
+     * @param board Tahta
+     * @param row Başlangıç satırı ('0' olan hücre)
+     * @param col Başlangıç sütunu ('0' olan hücre)
+     * @param revealedCells Kaskad sırasında açılan hücrelerin indekslerinin ekleneceği liste.
+     */
+    public void revealAdjacentCells(PackedBoard board, int row, int col, List<Integer> revealedCells) {
+        int currentIndex = board.index(row, col);
+        // Kaskad sadece zaten açılmış ve 0 değerli hücrelerden başlamalı (güvenlik kontrolü)
+        if (!board.isRevealed(currentIndex) || board.getAdjacentMines(currentIndex) != 0 || board.isMine(currentIndex)) {
+            return;
+        }
 
-                // Sadece açılmamış, mayın olmayan ve bayraksız komşuları aç
-                if (!neighbor.isRevealed() && !neighbor.isMine() && neighbor.getFlaggedByPlayerId() == null) {
-                    log.trace("Revealing neighbor ({}, {}) during cascade", i, j);
-                    neighbor.setRevealed(true);
-                    // Eğer açılan komşu da '0' ise, kaskadı oradan devam ettir
-                    if (neighbor.getAdjacentMines() == 0) {
-                        revealAdjacentCells(board, rows, columns, i, j);
-                    }
-                }
+        ZeroRegionIndex zeroRegions = board.getZeroRegions();
+        if (zeroRegions == null) {
+            zeroRegions = indexZeroRegions(board);
+        }
+        int region = zeroRegions.getRegion(currentIndex);
+        log.trace("Cascading reveal of region {} from ({}, {})", region, row, col);
+
+        for (int position = zeroRegions.getRegionStart(region); position < zeroRegions.getRegionEnd(region); position++) {
+            int cell = zeroRegions.getRegionCell(position);
+            // Sadece açılmamış ve bayraksız hücreleri aç
+            if (!board.isRevealed(cell) && !board.isFlagged(cell)) {
+                board.reveal(cell, PackedBoard.NO_PLAYER);
+                revealedCells.add(cell);
             }
         }
     }
@@ -139,6 +371,7 @@ public class BoardService {
         public boolean cascadeTriggered = false; // '0' açılarak kaskad tetiklendi mi?
         public String revealedOpponentFlagOwnerId = null; // Açılan hücrede rakip bayrağı var mıydı? Varsa sahibinin ID'si.
         public Cell revealedCell = null; // Açılan hücre nesnesi.
+        public List<Integer> revealedCells = new ArrayList<>(); // Bu hamlede açılan tüm hücrelerin indeksleri (kaskad dahil).
     }
 
     /**
@@ -152,51 +385,50 @@ public class BoardService {
      */
     public RevealResult revealCell(Game game, String playerId, int row, int col) {
         RevealResult result = new RevealResult();
-        List<List<Cell>> board = game.getBoard();
-        int rows = game.getRows();
-        int columns = game.getColumns();
+        PackedBoard board = game.getPackedBoard();
 
         // Temel koordinat kontrolü
-        if (row < 0 || row >= rows || col < 0 || col >= columns) {
+        if (board == null || !board.isInBounds(row, col)) {
             log.warn("Invalid coordinates ({}, {}) in revealCell", row, col);
             return result; // moveSuccess = false
         }
 
-        Cell cell = board.get(row).get(col);
-        result.revealedCell = cell; // Hedef hücreyi kaydet
+        int playerIndex = game.getPlayerIndex(playerId);
+        int index = board.index(row, col);
+        int flagOwner = board.getFlagOwner(index);
 
         // Zaten açıksa veya oyuncunun kendi bayrağı varsa geçersiz hamle
-        if (cell.isRevealed() || playerId.equals(cell.getFlaggedByPlayerId())) {
+        if (board.isRevealed(index) || (flagOwner != PackedBoard.NO_PLAYER && flagOwner == playerIndex)) {
              log.debug("Cell ({}, {}) already revealed or flagged by player {}", row, col, playerId);
             return result; // moveSuccess = false
         }
 
         // Rakip bayrağı var mı kontrol et
-        if (cell.getFlaggedByPlayerId() != null && !playerId.equals(cell.getFlaggedByPlayerId())) {
-            result.revealedOpponentFlagOwnerId = cell.getFlaggedByPlayerId();
+        if (flagOwner != PackedBoard.NO_PLAYER) {
+            result.revealedOpponentFlagOwnerId = game.getPlayers().get(flagOwner).getId();
             log.debug("Revealing opponent's ({}) flag at ({}, {})", result.revealedOpponentFlagOwnerId, row, col);
         }
 
-        // Hücreyi aç
-        cell.setRevealed(true);
-        cell.setRevealedByPlayerId(playerId); // Kimin açtığını kaydet
-        cell.setFlaggedByPlayerId(null); // Varsa bayrağı kaldır
+        // Hücreyi aç, kimin açtığını kaydet, varsa bayrağı kaldır
+        board.reveal(index, playerIndex);
+        result.revealedCells.add(index);
+        result.revealedCell = game.toCell(index); // Hedef hücreyi kaydet
 
         // Ne açıldı?
-        if (cell.isMine()) {
+        if (board.isMine(index)) {
             log.debug("Player {} hit a mine at ({}, {})", playerId, row, col);
             result.mineHit = true;
             result.moveSuccess = true; // Mayına basmak geçerli bir hamle sonucudur
         } else {
             // Güvenli hücre
-            int adjacentMines = cell.getAdjacentMines();
+            int adjacentMines = board.getAdjacentMines(index);
             if (adjacentMines > 0) {
                 result.pointsGained = adjacentMines; // Puanı ayarla
                  log.debug("Player {} revealed safe cell ({}, {}) with {} points", playerId, row, col, adjacentMines);
             } else {
                 // '0' hücresi, kaskadı tetikle
                  log.debug("Player {} revealed 0-cell ({}, {}), triggering cascade", playerId, row, col);
-                revealAdjacentCells(board, rows, columns, row, col); // Kaskadı çağır
+                revealAdjacentCells(board, row, col, result.revealedCells); // Kaskadı çağır
                 result.cascadeTriggered = true;
             }
             result.moveSuccess = true;
@@ -207,65 +439,31 @@ public class BoardService {
 
     /**
      * Tüm mayın olmayan hücrelerin açılıp açılmadığını kontrol eder.
+     * Tahtanın tuttuğu sayaçlar kullanıldığı için sabit zamanda çalışır.
      * @param board Kontrol edilecek tahta.
-     * @param mineCount Tahtadaki toplam mayın sayısı.
      * @return Tüm güvenli hücreler açıldıysa true, aksi halde false.
      */
-    public boolean isGameFinished(List<List<Cell>> board, int mineCount) {
-        if (board == null || board.isEmpty() || board.get(0).isEmpty()) {
+    public boolean isGameFinished(PackedBoard board) {
+        if (board == null || board.size() == 0) {
             return false; // Geçersiz tahta durumu
         }
-        int rows = board.size();
-        int columns = board.get(0).size();
-        int revealedSafeCells = 0;
-        int totalCells = rows * columns;
-        int totalSafeCells = totalCells - mineCount;
-
-        // Tahtada mayın sayısı beklenenden fazla veya az ise (potansiyel hata), bitirme
-        if (totalSafeCells < 0) {
-             log.error("Calculated totalSafeCells is negative ({}), check mineCount ({}) vs totalCells ({}).", totalSafeCells, mineCount, totalCells);
-             return false;
-        }
-
-        for (List<Cell> row : board) {
-            for (Cell cell : row) {
-                if (cell.isRevealed() && !cell.isMine()) {
-                    revealedSafeCells++;
-                }
-                // Eğer açılmamış güvenli bir hücre varsa, oyun bitmemiştir
-                else if (!cell.isRevealed() && !cell.isMine()) {
-                    return false;
-                }
-            }
-        }
-
-        // Tüm güvenli hücreler açıldıysa oyun bitmiştir.
-        boolean finished = revealedSafeCells >= totalSafeCells;
-        log.trace("isGameFinished check: Revealed safe cells = {}, Total safe cells = {}, Finished = {}", revealedSafeCells, totalSafeCells, finished);
+        boolean finished = board.getUnrevealedSafeCells() == 0;
+        log.trace("isGameFinished check: Revealed safe cells = {}, Mines = {}, Finished = {}", board.getRevealedSafeCells(), board.getMineCount(), finished);
         return finished;
     }
 
     /**
-     * Tahtada kalan (açılmamış, mayın olmayan) hücrelerin toplam puan değerini hesaplar.
+     * Tahtada kalan (açılmamış, mayın olmayan) hücrelerin toplam puan değerini döndürür.
+     * Tahtanın tuttuğu sayaç kullanıldığı için sabit zamanda çalışır.
      * @param board Oyun tahtası.
      * @return Kalan toplam puan.
      */
-    public int calculateRemainingPoints(List<List<Cell>> board) {
-        if (board == null || board.isEmpty()) {
+    public int calculateRemainingPoints(PackedBoard board) {
+        if (board == null) {
             return 0;
         }
-        int remainingPoints = 0;
-        log.debug("Calculating remaining points on the board.");
-        for (List<Cell> row : board) {
-            for (Cell cell : row) {
-                // Sadece açılmamış ve mayın olmayan hücreleri say
-                if (!cell.isRevealed() && !cell.isMine()) {
-                    // Kalan puan hücrenin komşu mayın sayısıdır
-                    remainingPoints += cell.getAdjacentMines();
-                }
-            }
-        }
-        log.debug("Total remaining points calculated: {}", remainingPoints);
+        int remainingPoints = board.getRemainingPoints();
+        log.debug("Total remaining points: {}", remainingPoints);
         return remainingPoints;
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,103 @@
+package com.codeyzer.mine.service;
+
+import com.codeyzer.mine.dto.PackedGameSnapshotDTO;
+import com.codeyzer.mine.model.GameSnapshot;
+import com.codeyzer.mine.model.PackedBoard;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Oyun tahtasını istemcilere gönderilmek üzere kompakt ikili biçime kodlar.
+ * <pre>
+ * byte    biçim sürümü ({@link #FORMAT_VERSION})
+ * byte    bayraklar (bit 0: mayın bit kümesi eklendi)
+ * int     satır sayısı
+ * int     sütun sayısı
+ * n/8     açık hücre bit kümesi
+ * n/4     bayrak sahibi, hücre başına 2 bit (0: yok, 1: 1. oyuncu, 2: 2. oyuncu)
+ * n/2     komşu mayın sayısı, hücre başına 4 bit (sadece açık hücreler için, diğerleri 0)
+ * n/8     mayın bit kümesi (sadece oyun bittiyse)
+ * </pre>
+ * Bitler hücre indeksi ({@code row * columns + col}) sırasıyla, her baytın en düşük bitinden başlayarak yazılır.
+ */
+@Service
+public class BoardSnapshotCodec {
+
+    public static final int FORMAT_VERSION = 1;
+    public static final int FLAG_MINES_INCLUDED = 0x01;
+
+    private static final int HEADER_SIZE = 10;
+
+    /**
+     * Oyunun tahtasını ikili biçime kodlar. Mayınlar sadece oyun bittiyse eklenir.
+     * @param game Kodlanacak oyun
+     * @return Kodlanmış tahta. Tahta henüz oluşturulmadıysa tüm hücreler kapalı olarak kodlanır.
+     */
+    public byte[] encode(GameSnapshot game) {
+        PackedBoard board = game.getPackedBoard();
+        boolean includeMines = game.isGameOver() && board != null;
+        int size = game.getRows() * game.getColumns();
+        int bitsetBytes = (size + 7) / 8;
+        int flagBytes = (size + 3) / 4;
+        int adjacentBytes = (size + 1) / 2;
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + bitsetBytes + flagBytes + adjacentBytes + (includeMines ? bitsetBytes : 0));
+        buffer.put((byte) FORMAT_VERSION);
+        buffer.put((byte) (includeMines ? FLAG_MINES_INCLUDED : 0));
+        buffer.putInt(game.getRows());
+        buffer.putInt(game.getColumns());
+
+        byte[] out = buffer.array();
+        if (board == null) {
+            return out;
+        }
+        int revealedOffset = HEADER_SIZE;
+        int flagOffset = revealedOffset + bitsetBytes;
+        int adjacentOffset = flagOffset + flagBytes;
+        int mineOffset = adjacentOffset + adjacentBytes;
+
+        for (int i = 0; i < size; i++) {
+            boolean revealed = board.isRevealed(i);
+            if (revealed) {
+                out[revealedOffset + (i >>> 3)] |= (byte) (1 << (i & 7));
+                out[adjacentOffset + (i >>> 1)] |= (byte) (board.getAdjacentMines(i) << ((i & 1) << 2));
+            }
+            int flagOwner = board.getFlagOwner(i);
+            if (flagOwner != PackedBoard.NO_PLAYER) {
+                out[flagOffset + (i >>> 2)] |= (byte) ((flagOwner + 1) << ((i & 3) << 1));
+            }
+            if (includeMines && board.isMine(i)) {
+                out[mineOffset + (i >>> 3)] |= (byte) (1 << (i & 7));
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Oyunun paketlenmiş tahtalı anlık görüntüsünü oluşturur.
+     */
+    public PackedGameSnapshotDTO toPackedSnapshot(GameSnapshot game) {
+        PackedGameSnapshotDTO snapshot = new PackedGameSnapshotDTO();
+        snapshot.setId(game.getId());
+        snapshot.setVersion(game.getVersion());
+        snapshot.setRows(game.getRows());
+        snapshot.setColumns(game.getColumns());
+        snapshot.setMineCount(game.getMineCount());
+        snapshot.setNoGuess(game.isNoGuess());
+        snapshot.setStatus(game.getStatus());
+        snapshot.setCurrentTurn(game.getCurrentTurn());
+        snapshot.setPlayers(game.getPlayers());
+        snapshot.setLastEventMessage(game.getLastEventMessage());
+        snapshot.setLastMoveRow(game.getLastMoveRow());
+        snapshot.setLastMoveCol(game.getLastMoveCol());
+        snapshot.setInitialPlayerTimeMillis(game.getInitialPlayerTimeMillis());
+        snapshot.setPlayer1TimeLeftMillis(game.getPlayer1TimeLeftMillis());
+        snapshot.setPlayer2TimeLeftMillis(game.getPlayer2TimeLeftMillis());
+        snapshot.setTurnStartTimeMillis(game.getTurnStartTimeMillis());
+        snapshot.setWinnerId(game.getWinnerId());
+        snapshot.setGameOver(game.isGameOver());
+        snapshot.setBoard(encode(game));
+        return snapshot;
+    }
+}
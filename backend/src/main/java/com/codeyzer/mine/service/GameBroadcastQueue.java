@@ -0,0 +1,232 @@
+package com.codeyzer.mine.service;
+
+import com.codeyzer.mine.controller.WebSocketController;
+import com.codeyzer.mine.model.GameSnapshot;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Oyun güncellemelerini istek thread'lerinden ayırıp ayrı bir çalıştırıcıda yayınlayan oyun başına giden kuyruk.
+ * <p>
+ * Bir güncelleme geldiğinde oyunun kutusuna yazılır. Oyun için son birleştirme penceresi içinde yayın yapılmadıysa
+ * güncelleme hemen yayınlanır; yapıldıysa pencere sonuna kadar bekletilir. Bekleyen güncellemenin yerine geçen sonraki
+ * güncellemelerde son görüntü kullanılır, değişen hücreler birleştirilir ve olay ilk güncellemenin
+ * {@code baseVersion} değerinden son sürüme kadar tek bir delta olarak gönderilir. Böylece tek hamleler gecikmeden
+ * yayınlanırken art arda bayrak koyan bir oyuncu pencere başına tek bir yayın üretir ve her yayın bir kez serileştirilir.
+ * <p>
+ * Aynı oyunun yayınları hiçbir zaman eşzamanlı çalışmaz; bir yayın sürerken gelen güncellemeler bir sonraki
+ * yayında gönderilir. Bu sayede istemciler sürümleri sırayla alır.
+ */
+@Component
+public class GameBroadcastQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(GameBroadcastQueue.class);
+
+    /**
+     * Bir oyunun bekleyen güncellemesi.
+     */
+    private static final class Outbox {
+        final String gameId;
+        GameSnapshot snapshot; // Yayınlanacak son görüntü, bekleyen güncelleme yoksa null
+        long baseVersion;
+        Set<Integer> changedCells;
+        int updates;
+        long firstSubmittedNanos;
+        long lastPublishedNanos;
+        boolean published; // En az bir yayın yapıldı, lastPublishedNanos geçerli
+        boolean scheduled; // Bir yayın planlandı veya çalışıyor
+        boolean closed; // Pencere boyunca boşta kaldığı için haritadan çıkarıldı; yeni güncellemeler yeni kutuya yazılır
+
+        Outbox(String gameId) {
+            this.gameId = gameId;
+        }
+    }
+
+    private final WebSocketController webSocketController;
+    private final GameMetrics gameMetrics;
+    private final ScheduledThreadPoolExecutor executor;
+    private final long coalesceWindowNanos;
+    private final Map<String, Outbox> outboxes = new ConcurrentHashMap<>();
+
+    private final AtomicInteger pendingGames = new AtomicInteger();
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public GameBroadcastQueue(WebSocketController webSocketController, GameMetrics gameMetrics,
+                              @Value("${mineyzer.broadcast.threads:2}") int threads,
+                              @Value("${mineyzer.broadcast.coalesce-window:20ms}") Duration coalesceWindow) {
+        this.webSocketController = webSocketController;
+        this.gameMetrics = gameMetrics;
+        this.coalesceWindowNanos = coalesceWindow.toNanos();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ScheduledThreadPoolExecutor(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "game-broadcast-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Güncellemeyi yayın için kuyruğa ekler ve hemen döner. Oyunun kilidi altında, sürüm sırasıyla çağrılmalıdır.
+     * @param snapshot Güncellemeden sonra yayınlanan görüntü
+     * @param changedCells Bu güncellemede değişen hücrelerin indeksleri
+     */
+    public void submit(GameSnapshot snapshot, Collection<Integer> changedCells) {
+        submitted.incrementAndGet();
+        while (true) {
+            Outbox outbox = outboxes.computeIfAbsent(snapshot.getId(), Outbox::new);
+            synchronized (outbox) {
+                if (outbox.closed) {
+                    continue; // Kutu bu arada kapatıldı, yenisini al
+                }
+                if (outbox.snapshot == null) {
+                    outbox.baseVersion = snapshot.getVersion() - 1;
+                    outbox.changedCells = new LinkedHashSet<>(changedCells);
+                    outbox.updates = 1;
+                    outbox.firstSubmittedNanos = System.nanoTime();
+                    pendingGames.incrementAndGet();
+                } else {
+                    outbox.changedCells.addAll(changedCells);
+                    outbox.updates++;
+                    coalesced.incrementAndGet();
+                }
+                outbox.snapshot = snapshot;
+                if (!outbox.scheduled) {
+                    outbox.scheduled = true;
+                    schedule(outbox, remainingWindowNanos(outbox));
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return Oyunun son yayınından itibaren birleştirme penceresinin bitmesine kalan süre, pencere dışındaysa 0.
+     */
+    private long remainingWindowNanos(Outbox outbox) {
+        if (!outbox.published) {
+            return 0;
+        }
+        return Math.max(0, outbox.lastPublishedNanos + coalesceWindowNanos - System.nanoTime());
+    }
+
+    private void schedule(Outbox outbox, long delayNanos) {
+        try {
+            executor.schedule(() -> flush(outbox), delayNanos, TimeUnit.NANOSECONDS);
+        } catch (RuntimeException e) {
+            // Uygulama kapanırken çalıştırıcı yeni görev kabul etmez
+            dropped.addAndGet(outbox.updates);
+            log.warn("Broadcast for game {} dropped: {}", outbox.gameId, e.toString());
+        }
+    }
+
+    private void flush(Outbox outbox) {
+        GameSnapshot snapshot;
+        long baseVersion;
+        Set<Integer> changedCells;
+        int updates;
+        long firstSubmittedNanos;
+        synchronized (outbox) {
+            snapshot = outbox.snapshot;
+            baseVersion = outbox.baseVersion;
+            changedCells = outbox.changedCells;
+            updates = outbox.updates;
+            firstSubmittedNanos = outbox.firstSubmittedNanos;
+            outbox.snapshot = null;
+            outbox.changedCells = null;
+            outbox.updates = 0;
+            pendingGames.decrementAndGet();
+        }
+
+        try {
+            webSocketController.broadcastGameUpdate(snapshot, baseVersion, changedCells);
+            published.incrementAndGet();
+            gameMetrics.recordBroadcastDelay(System.nanoTime() - firstSubmittedNanos);
+        } catch (Exception e) {
+            dropped.addAndGet(updates);
+            log.error("Broadcast for game {} version {} failed", outbox.gameId, snapshot.getVersion(), e);
+        }
+
+        synchronized (outbox) {
+            outbox.published = true;
+            outbox.lastPublishedNanos = System.nanoTime();
+            if (outbox.snapshot != null) {
+                schedule(outbox, coalesceWindowNanos); // Yayın sürerken yeni güncelleme geldi
+            } else {
+                outbox.scheduled = false;
+                scheduleExpiry(outbox);
+            }
+        }
+    }
+
+    /**
+     * Pencere boyunca yeni güncelleme gelmeyen kutuyu haritadan çıkarır; böylece biten oyunlar için kutu birikmez.
+     */
+    private void scheduleExpiry(Outbox outbox) {
+        try {
+            executor.schedule(() -> {
+                synchronized (outbox) {
+                    if (!outbox.scheduled && outbox.snapshot == null && remainingWindowNanos(outbox) == 0) {
+                        outbox.closed = true;
+                        outboxes.remove(outbox.gameId, outbox);
+                    }
+                }
+            }, coalesceWindowNanos, TimeUnit.NANOSECONDS);
+        } catch (RuntimeException e) {
+            // Uygulama kapanıyor, kutuların temizlenmesine gerek yok
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        if (pendingGames.get() > 0) {
+            log.info("Broadcast queue stopped with {} games pending", pendingGames.get());
+        }
+    }
+
+    /**
+     * @return Yayın bekleyen oyun sayısı.
+     */
+    public int getQueueDepth() {
+        return pendingGames.get();
+    }
+
+    public long getSubmitted() {
+        return submitted.get();
+    }
+
+    public long getPublished() {
+        return published.get();
+    }
+
+    /**
+     * @return Sonraki bir güncellemeyle birleştirilip ayrıca yayınlanmayan güncelleme sayısı.
+     */
+    public long getCoalesced() {
+        return coalesced.get();
+    }
+
+    /**
+     * @return Yayın hatası veya kapanış nedeniyle gönderilemeyen güncelleme sayısı.
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+}
@@ -0,0 +1,95 @@
+package com.codeyzer.mine.service;
+
+import com.codeyzer.mine.dto.GameUpdateEventDTO;
+import com.codeyzer.mine.repository.InMemoryGameRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Her oyun için son yayınlanan delta olayları sınırlı bir halka tamponda tutar.
+ * Yeniden bağlanan bir istemci gördüğü son sürümü bildirerek sadece kaçırdığı olayları alabilir; istenen sürüm
+ * tampondan çıkmışsa çağıran tam görüntüye düşer.
+ * <p>
+ * Olaylar birbirini zincirler: her olayın {@code baseVersion} değeri bir öncekinin {@code version} değeridir.
+ * Bir olay, {@code baseVersion} ile {@code version} arasında değişen hücrelerin son halini taşıdığı için bu aralıktaki
+ * herhangi bir sürümün üzerine de güvenle uygulanabilir.
+ */
+@Component
+public class GameEventLog {
+
+    private final InMemoryGameRepository gameRepository;
+    private final int capacity;
+    private final Map<String, Deque<GameUpdateEventDTO>> logs = new ConcurrentHashMap<>();
+
+    public GameEventLog(InMemoryGameRepository gameRepository,
+                        @Value("${mineyzer.games.event-log-size:64}") int capacity) {
+        this.gameRepository = gameRepository;
+        this.capacity = Math.max(1, capacity);
+    }
+
+    /**
+     * Yayınlanan olayı oyunun tamponuna ekler; tampon doluysa en eski olay çıkarılır.
+     * Aynı oyunun olayları sürüm sırasıyla eklenmelidir.
+     */
+    public void append(GameUpdateEventDTO event) {
+        Deque<GameUpdateEventDTO> log = logs.computeIfAbsent(event.getGameId(), id -> new ArrayDeque<>(capacity));
+        synchronized (log) {
+            if (log.size() == capacity) {
+                log.removeFirst();
+            }
+            log.addLast(event);
+        }
+        // Yayın oyun bellekten çıkarıldıktan sonra tamamlandıysa tampon geride kalmasın
+        if (gameRepository.findById(event.getGameId()).isEmpty()) {
+            logs.remove(event.getGameId(), log);
+        }
+    }
+
+    /**
+     * @param lastVersion İstemcinin elindeki son sürüm
+     * @return {@code lastVersion} sonrasındaki olaylar sırasıyla; aradaki olaylar tampondan çıkmışsa null.
+     * Henüz yayınlanmamış son değişiklikler listede olmayabilir, bunlar olay kanalından gelir.
+     */
+    public List<GameUpdateEventDTO> eventsSince(String gameId, long lastVersion) {
+        Deque<GameUpdateEventDTO> log = logs.get(gameId);
+        if (log == null) {
+            return null;
+        }
+        synchronized (log) {
+            List<GameUpdateEventDTO> missed = new ArrayList<>();
+            for (GameUpdateEventDTO event : log) {
+                if (event.getVersion() > lastVersion) {
+                    if (missed.isEmpty() && event.getBaseVersion() > lastVersion) {
+                        return null; // İlk kaçırılan olay tampondan çıkmış
+                    }
+                    missed.add(event);
+                }
+            }
+            if (missed.isEmpty() && (log.isEmpty() || log.peekLast().getVersion() < lastVersion)) {
+                return null; // İstemci yayınlanandan ileride bir sürüm bildiriyor
+            }
+            return missed;
+        }
+    }
+
+    /**
+     * Bellekten çıkarılan oyunun tamponunu bırakır.
+     */
+    public void remove(String gameId) {
+        logs.remove(gameId);
+    }
+
+    /**
+     * @return Tamponu olan oyun sayısı.
+     */
+    public int size() {
+        return logs.size();
+    }
+}
@@ -0,0 +1,78 @@
+package com.codeyzer.mine.service;
+
+import com.codeyzer.mine.dto.CellsGameDTO;
+import com.codeyzer.mine.dto.SpectatorGameDTO;
+import com.codeyzer.mine.model.GameSnapshot;
+import com.codeyzer.mine.model.GameView;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Oyun görüntülerinin JSON çıktısını sürüm başına bir kez üretir.
+ * Çıktı görüntünün kendisinde saklanır; görüntü yeni bir sürümle değiştirildiğinde eski çıktı da onunla birlikte
+ * bırakılır, ayrıca temizlik gerekmez. REST okumaları ve tam durum yayınları aynı baytları kullanır.
+ * İzleyici görünümü ve seyrek hücre görünümleri ({@link GameView}) de aynı şekilde sürüm başına bir kez üretilir; aynı
+ * görünümü isteyen herkese aynı baytlar gönderilir.
+ */
+@Component
+public class GameJsonCache {
+
+    private final ObjectMapper objectMapper;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public GameJsonCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @return Görüntünün JSON çıktısı; bu sürüm için daha önce üretildiyse aynı dizi döner, değiştirilmemelidir.
+     */
+    public byte[] toJson(GameSnapshot snapshot) throws JsonProcessingException {
+        return toJson(snapshot, GameView.PLAYER);
+    }
+
+    /**
+     * @return Görüntünün istenen görünümdeki JSON çıktısı; bu sürüm için daha önce üretildiyse aynı dizi döner.
+     */
+    public byte[] toJson(GameSnapshot snapshot, GameView view) throws JsonProcessingException {
+        byte[] json = snapshot.cachedJson(view);
+        if (json != null) {
+            hits.incrementAndGet();
+            return json;
+        }
+        misses.incrementAndGet();
+        json = objectMapper.writeValueAsBytes(payload(snapshot, view));
+        snapshot.cacheJson(view, json);
+        return json;
+    }
+
+    private static Object payload(GameSnapshot snapshot, GameView view) {
+        return switch (view) {
+            case PLAYER -> snapshot;
+            case SPECTATOR -> SpectatorGameDTO.from(snapshot);
+            case PLAYER_CELLS -> CellsGameDTO.from(snapshot);
+            case SPECTATOR_CELLS -> CellsGameDTO.fromSpectator(snapshot);
+        };
+    }
+
+    /**
+     * Görüntünün sürümünden türetilen ETag. Aynı oyunun her sürümü tek bir JSON çıktısına karşılık gelir.
+     * @param representation Aynı sürümün farklı gösterimlerini (ör. paketlenmiş tahta) ayırmak için sonek, yoksa null
+     */
+    public static String etag(GameSnapshot snapshot, String representation) {
+        return "\"" + snapshot.getVersion() + (representation == null ? "" : "-" + representation) + "\"";
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+}
@@ -0,0 +1,190 @@
+package com.codeyzer.mine.service;
+
+import com.codeyzer.mine.model.ArchivedGame;
+import com.codeyzer.mine.model.Game;
+import com.codeyzer.mine.model.GameStatus;
+import com.codeyzer.mine.repository.InMemoryGameArchive;
+import com.codeyzer.mine.repository.InMemoryGameRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.codeyzer.mine.model.GameStatus.*;
+
+/**
+ * Oyunların bellekteki yaşam döngüsünü yönetir.
+ * Bitmiş oyunlar ve uzun süredir hareketsiz bekleyen lobiler belirlenen sürelerden sonra bellekten çıkarılır,
+ * istenirse önce küçük bir özet olarak arşivlenir. Aynı anda bellekte tutulabilecek oyun sayısı da sınırlanır:
+ * her yeni oyun önce bir yer ayırır, yer oyun bellekten çıkarılınca bırakılır.
+ */
+@Service
+public class GameLifecycleManager {
+
+    private static final Logger log = LoggerFactory.getLogger(GameLifecycleManager.class);
+
+    public enum EvictionReason {
+        FINISHED,    // Bitmiş oyunun saklama süresi doldu
+        STALE_LOBBY, // Oyuncu veya hazır olma bekleyen oyun çok uzun süre hareketsiz kaldı
+        CAPACITY     // Yeni oyuna yer açmak için en eski bitmiş oyun çıkarıldı
+    }
+
+    private final InMemoryGameRepository gameRepository;
+    private final InMemoryGameArchive gameArchive;
+    private final TurnTimerScheduler turnTimerScheduler;
+    private final LobbyService lobbyService;
+    private final GameEventLog gameEventLog;
+    private final WebSocketSessionRegistry sessionRegistry;
+    private final Duration finishedTtl;
+    private final Duration staleLobbyTtl;
+    private final int maxLiveGames;
+    private final boolean archiveEnabled;
+    private final Semaphore liveGameSlots; // Bellekteki ve oluşturulmakta olan oyunlar için ayrılan yerler
+
+    private final AtomicLong finishedEvictions = new AtomicLong();
+    private final AtomicLong staleLobbyEvictions = new AtomicLong();
+    private final AtomicLong capacityEvictions = new AtomicLong();
+    private final AtomicLong rejectedCreations = new AtomicLong();
+
+    public GameLifecycleManager(InMemoryGameRepository gameRepository,
+                                InMemoryGameArchive gameArchive,
+                                TurnTimerScheduler turnTimerScheduler,
+                                LobbyService lobbyService,
+                                GameEventLog gameEventLog,
+                                WebSocketSessionRegistry sessionRegistry,
+                                @Value("${mineyzer.games.finished-ttl:10m}") Duration finishedTtl,
+                                @Value("${mineyzer.games.stale-lobby-ttl:30m}") Duration staleLobbyTtl,
+                                @Value("${mineyzer.games.max-live-games:50000}") int maxLiveGames,
+                                @Value("${mineyzer.games.archive.enabled:true}") boolean archiveEnabled) {
+        this.gameRepository = gameRepository;
+        this.gameArchive = gameArchive;
+        this.turnTimerScheduler = turnTimerScheduler;
+        this.lobbyService = lobbyService;
+        this.gameEventLog = gameEventLog;
+        this.sessionRegistry = sessionRegistry;
+        this.finishedTtl = finishedTtl;
+        this.staleLobbyTtl = staleLobbyTtl;
+        this.maxLiveGames = maxLiveGames;
+        this.archiveEnabled = archiveEnabled;
+        this.liveGameSlots = new Semaphore(Math.max(0, maxLiveGames));
+    }
+
+    /**
+     * Süresi dolan bitmiş oyunları ve hareketsiz lobileri bellekten çıkarır.
+     */
+    @Scheduled(fixedDelayString = "${mineyzer.games.eviction-interval:PT30S}")
+    public void evictExpiredGames() {
+        long now = System.currentTimeMillis();
+        int evicted = 0;
+        for (Game game : gameRepository.findAll()) {
+            EvictionReason reason = getExpiryReason(game, now);
+            if (reason != null && evict(game, reason, now)) {
+                evicted++;
+            }
+        }
+        if (evicted > 0) {
+            log.info("Evicted {} expired games. Live games: {}", evicted, gameRepository.count());
+        }
+    }
+
+    /**
+     * Yeni bir oyun için yer ayırır. Sınıra ulaşıldıysa en eski bitmiş oyunu çıkarıp onun yerini almayı dener.
+     * Yer ayırma atomiktir; eşzamanlı oluşturmalar sınırı aşamaz. Oyun oluşturulamazsa yer {@link #releaseSlot()} ile
+     * bırakılmalıdır.
+     * @return Yer ayrıldıysa true, aksi halde false.
+     */
+    public boolean reserveSlot() {
+        while (!liveGameSlots.tryAcquire()) {
+            Optional<Game> oldestFinished = gameRepository.findOldestByStatus(GAME_OVER);
+            if (oldestFinished.isEmpty()) {
+                rejectedCreations.incrementAndGet();
+                log.warn("Live game limit ({}) reached and no finished game can be evicted.", maxLiveGames);
+                return false;
+            }
+            // Çıkarma başarısız olursa (oyun başka bir thread tarafından çıkarıldıysa) sıradaki aday denenir
+            evict(oldestFinished.get(), EvictionReason.CAPACITY, System.currentTimeMillis());
+        }
+        return true;
+    }
+
+    /**
+     * Ayrılan ama kullanılmayan yeri bırakır.
+     */
+    public void releaseSlot() {
+        liveGameSlots.release();
+    }
+
+    private EvictionReason getExpiryReason(Game game, long now) {
+        long idleMillis = now - game.getLastUpdatedMillis();
+        GameStatus status = game.getStatus();
+        if (status == GAME_OVER && idleMillis >= finishedTtl.toMillis()) {
+            return EvictionReason.FINISHED;
+        }
+        if ((status == WAITING_FOR_PLAYERS || status == WAITING_FOR_READY) && idleMillis >= staleLobbyTtl.toMillis()) {
+            return EvictionReason.STALE_LOBBY;
+        }
+        return null;
+    }
+
+    /**
+     * Oyunu kilidi altında, uygunluğunu yeniden kontrol ederek bellekten çıkarır.
+     */
+    private boolean evict(Game game, EvictionReason reason, long now) {
+        ReentrantLock lock = game.getLock();
+        lock.lock();
+        try {
+            // Kilit beklenirken oyun değişmiş olabilir
+            if (reason != EvictionReason.CAPACITY && getExpiryReason(game, now) != reason) {
+                return false;
+            }
+            if (reason == EvictionReason.CAPACITY && game.getStatus() != GAME_OVER) {
+                return false;
+            }
+            if (archiveEnabled) {
+                gameArchive.save(new ArchivedGame(game, now));
+            }
+            turnTimerScheduler.cancel(game.getId());
+            if (!gameRepository.deleteById(game.getId())) {
+                return false; // Başka bir thread zaten çıkardı
+            }
+            game.setEvicted(true);
+            liveGameSlots.release();
+            gameEventLog.remove(game.getId());
+            sessionRegistry.removeGame(game.getId());
+            lobbyService.gameEvicted(game);
+        } finally {
+            lock.unlock();
+        }
+
+        switch (reason) {
+            case FINISHED -> finishedEvictions.incrementAndGet();
+            case STALE_LOBBY -> staleLobbyEvictions.incrementAndGet();
+            case CAPACITY -> capacityEvictions.incrementAndGet();
+        }
+        log.debug("Game {} evicted ({})", game.getId(), reason);
+        return true;
+    }
+
+    public long getFinishedEvictions() {
+        return finishedEvictions.get();
+    }
+
+    public long getStaleLobbyEvictions() {
+        return staleLobbyEvictions.get();
+    }
+
+    public long getCapacityEvictions() {
+        return capacityEvictions.get();
+    }
+
+    public long getRejectedCreations() {
+        return rejectedCreations.get();
+    }
+}
@@ -0,0 +1,120 @@
+package com.codeyzer.mine.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Oyunun sıcak yolları için Micrometer ölçümleri.
+ * Hamle ve bayrak komutlarının süresi (kilit bekleme dahil), hücre açma süresi, kaskad büyüklüğü,
+ * yayınların kuyrukta bekleme süresi, serileştirme süresi ve boyutu, sıra zamanlayıcısının gecikmesi ve tahminsiz tahta
+ * bulunamayan oyunlar burada kaydedilir.
+ * Süre ölçerler SLO tanımlanabilsin diye yüzdelik histogramlarıyla yayınlanır.
+ * <p>
+ * Oyun sayıları, oturum sayısı ve bileşenlerin sayaçları gibi durum ölçümleri
+ * {@link com.codeyzer.mine.config.MetricsConfig} içinde bağlanır.
+ */
+@Component
+public class GameMetrics {
+
+    private final MeterRegistry registry;
+    private final Timer moveTimer;
+    private final Timer flagTimer;
+    private final Timer revealTimer;
+    private final DistributionSummary cascadeSize;
+    private final Timer turnTimerLag;
+    private final Timer broadcastDelay;
+    private final Counter noGuessFallbacks;
+    private final Map<String, Timer> serializationTimers = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> payloadSizes = new ConcurrentHashMap<>();
+
+    public GameMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.moveTimer = Timer.builder("mineyzer.game.move")
+                .description("Hamle komutunun süresi (oyun kilidini bekleme dahil)")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.flagTimer = Timer.builder("mineyzer.game.flag")
+                .description("Bayrak komutunun süresi (oyun kilidini bekleme dahil)")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.revealTimer = Timer.builder("mineyzer.board.reveal")
+                .description("BoardService.revealCell süresi")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.cascadeSize = DistributionSummary.builder("mineyzer.board.cascade.size")
+                .description("Kaskad açılımında açılan hücre sayısı")
+                .baseUnit("cells")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.broadcastDelay = Timer.builder("mineyzer.broadcast.delay")
+                .description("Güncellemenin yayın kuyruğuna eklenmesinden gönderilmesine kadar geçen süre")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.turnTimerLag = Timer.builder("mineyzer.turn.timer.lag")
+                .description("Sıra süresi bitiş görevinin planlanan andan ne kadar geç çalıştığı")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.noGuessFallbacks = Counter.builder("mineyzer.board.noguess.fallback")
+                .description("Tahminsiz tahta bulunamadığı için normal tahtaya düşen oyunlar")
+                .register(registry);
+    }
+
+    public Timer.Sample startTimer() {
+        return Timer.start(registry);
+    }
+
+    public void stopMoveTimer(Timer.Sample sample) {
+        sample.stop(moveTimer);
+    }
+
+    public void stopFlagTimer(Timer.Sample sample) {
+        sample.stop(flagTimer);
+    }
+
+    public void stopRevealTimer(Timer.Sample sample) {
+        sample.stop(revealTimer);
+    }
+
+    public void recordCascade(int revealedCells) {
+        cascadeSize.record(revealedCells);
+    }
+
+    public void recordTurnTimerLag(long lagMillis) {
+        turnTimerLag.record(Math.max(0, lagMillis), TimeUnit.MILLISECONDS);
+    }
+
+    public void recordNoGuessFallback() {
+        noGuessFallbacks.increment();
+    }
+
+    public void recordBroadcastDelay(long nanos) {
+        broadcastDelay.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Bir yayının serileştirme süresini ve yük boyutunu kaydeder.
+     * @param channel Yayın kanalı (events, snapshot, packed, lobby)
+     * @param nanos Serileştirme süresi
+     * @param bytes Serileştirilmiş yükün boyutu
+     */
+    public void recordBroadcast(String channel, long nanos, int bytes) {
+        serializationTimers.computeIfAbsent(channel, key -> Timer.builder("mineyzer.broadcast.serialization")
+                .description("Yayınlanan mesajın JSON'a serileştirilme süresi")
+                .tag("channel", key)
+                .register(registry)).record(nanos, TimeUnit.NANOSECONDS);
+        payloadSizes.computeIfAbsent(channel, key -> DistributionSummary.builder("mineyzer.broadcast.payload")
+                .description("Yayınlanan mesajın boyutu")
+                .baseUnit(BaseUnits.BYTES)
+                .tag("channel", key)
+                .publishPercentileHistogram()
+                .register(registry)).record(bytes);
+    }
+}
@@ -1,97 +1,165 @@
 package com.codeyzer.mine.service;
 
+import com.codeyzer.mine.repository.InMemoryGameArchive;
 import com.codeyzer.mine.repository.InMemoryGameRepository;
-import com.codeyzer.mine.controller.WebSocketController;
+import com.codeyzer.mine.dto.GameResumeDTO;
+import com.codeyzer.mine.dto.GameSummaryDTO;
+import com.codeyzer.mine.dto.GameSummaryPageDTO;
+import com.codeyzer.mine.dto.GameUpdateEventDTO;
 import com.codeyzer.mine.model.*;
 import static com.codeyzer.mine.model.GameStatus.*;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 
 @Service
 public class GameService {
 
     private static final Logger log = LoggerFactory.getLogger(GameService.class);
     private final InMemoryGameRepository gameRepository;
-    private final WebSocketController webSocketController;
+    private final GameBroadcastQueue broadcastQueue;
     private final BoardService boardService;
+    private final TurnTimerScheduler turnTimerScheduler;
+    private final GameLifecycleManager gameLifecycleManager;
+    private final InMemoryGameArchive gameArchive;
+    private final LobbyService lobbyService;
+    private final BoardPool boardPool;
+    private final NoGuessBoardGenerator noGuessBoardGenerator;
+    private final GameMetrics gameMetrics;
+    private final GameEventLog gameEventLog;
+    private final ReconnectGraceTimer reconnectGraceTimer;
+    private final WebSocketSessionRegistry sessionRegistry;
+    private final boolean safeFirstClick;
+    private final Duration reconnectGrace;
 
     @Autowired
-    public GameService(InMemoryGameRepository gameRepository, WebSocketController webSocketController, BoardService boardService) {
+    public GameService(InMemoryGameRepository gameRepository, GameBroadcastQueue broadcastQueue, BoardService boardService,
+                       TurnTimerScheduler turnTimerScheduler, GameLifecycleManager gameLifecycleManager, InMemoryGameArchive gameArchive,
+                       LobbyService lobbyService, BoardPool boardPool,
+                       NoGuessBoardGenerator noGuessBoardGenerator, GameMetrics gameMetrics,
+                       GameEventLog gameEventLog, ReconnectGraceTimer reconnectGraceTimer,
+                       WebSocketSessionRegistry sessionRegistry,
+                       @Value("${mineyzer.board.safe-first-click:false}") boolean safeFirstClick,
+                       @Value("${mineyzer.games.reconnect-grace:30s}") Duration reconnectGrace) {
         this.gameRepository = gameRepository;
-        this.webSocketController = webSocketController;
+        this.broadcastQueue = broadcastQueue;
         this.boardService = boardService;
+        this.turnTimerScheduler = turnTimerScheduler;
+        this.gameLifecycleManager = gameLifecycleManager;
+        this.gameArchive = gameArchive;
+        this.lobbyService = lobbyService;
+        this.boardPool = boardPool;
+        this.noGuessBoardGenerator = noGuessBoardGenerator;
+        this.gameMetrics = gameMetrics;
+        this.gameEventLog = gameEventLog;
+        this.reconnectGraceTimer = reconnectGraceTimer;
+        this.sessionRegistry = sessionRegistry;
+        this.safeFirstClick = safeFirstClick;
+        this.reconnectGrace = reconnectGrace;
     }
 
-    public Game createGame(int rows, int columns, int mineCount) {
-        Game newGame = new Game(rows, columns, mineCount);
-        
-        long initialTimeMillis;
-        if (rows == 8 && columns == 8 && mineCount == 10) {
-            initialTimeMillis = 30 * 1000;
-        } else if (rows == 16 && columns == 16 && mineCount == 40) {
-            initialTimeMillis = 90 * 1000;
-        } else if (rows == 16 && columns == 20 && mineCount == 60) {
-            initialTimeMillis = 105 * 1000;
-        } else if (rows == 20 && columns == 24 && mineCount == 99) {
-            initialTimeMillis = 150 * 1000;
-        } else {
-            log.warn("Unknown or custom difficulty settings ({}x{}, {} mines), defaulting to 1.5 minutes.", rows, columns, mineCount);
-            initialTimeMillis = 90 * 1000;
+    /**
+     * Yeni bir oyun oluşturur.
+     * @param noGuess Tahta ilk tıklamadan itibaren tahmin gerektirmeden çözülebilir olsun
+     * @return Oluşturulan oyunun görüntüsü, bellekteki oyun sınırına ulaşıldıysa null.
+     */
+    public GameSnapshot createGame(int rows, int columns, int mineCount, boolean noGuess) {
+        if (!gameLifecycleManager.reserveSlot()) {
+            return null;
         }
+        Game newGame;
+        try {
+            newGame = newGame(rows, columns, mineCount, noGuess);
+        } catch (RuntimeException e) {
+            gameLifecycleManager.releaseSlot(); // Oyun kaydedilmedi, ayrılan yer boşa çıkar
+            throw e;
+        }
+        GameSnapshot snapshot = newGame.publishSnapshot();
+        gameRepository.save(newGame);
+        lobbyService.gameCreated(snapshot);
+        return snapshot;
+    }
+
+    private Game newGame(int rows, int columns, int mineCount, boolean noGuess) {
+        Game newGame = new Game(rows, columns, mineCount);
+        newGame.setNoGuess(noGuess);
         
+        long initialTimeMillis = BoardPreset.of(rows, columns, mineCount)
+                .map(BoardPreset::getInitialTimeMillis)
+                .orElseGet(() -> {
+                    log.warn("Unknown or custom difficulty settings ({}x{}, {} mines), defaulting to 1.5 minutes.", rows, columns, mineCount);
+                    return 90 * 1000L;
+                });
+
         newGame.initializeTime(initialTimeMillis);
-        
-        List<List<Cell>> board = boardService.initializeBoard(rows, columns);
-        boardService.placeMines(board, rows, columns, mineCount);
-        newGame.setBoard(board);
-        
-        Game savedGame = gameRepository.save(newGame);
-        return savedGame;
+        // Tahta ilk hamlede oluşturulur; bekleyen oyunlar sadece boyutları, mayın sayısını ve tohumu tutar
+        newGame.setSeed(boardService.newSeed());
+        return newGame;
     }
 
-    public Optional<Game> getGameById(String gameId) {
-        return gameRepository.findById(gameId);
+    /**
+     * Oyunun son yayınlanan değişmez görüntüsünü döndürür. Kilit almaz, hamleleri bekletmez.
+     */
+    public Optional<GameSnapshot> getGameById(String gameId) {
+        return gameRepository.findById(gameId).map(Game::getSnapshot);
     }
 
-    public List<Game> getAllGames() {
-        return gameRepository.findAll();
+    public List<GameSnapshot> getAllGames() {
+        return gameRepository.findAll().stream().map(Game::getSnapshot).toList();
     }
 
-    public Game joinGame(String gameId, String username) {
-        Optional<Game> gameOptional = gameRepository.findById(gameId);
+    /**
+     * Oyunların tahta içermeyen özetlerini en yeni önce, sayfa sayfa döndürür.
+     * Durum verilirse sadece o durumdaki oyunların indeksi dolaşılır.
+     * @param status Filtrelenecek oyun durumu, null ise tüm oyunlar.
+     */
+    public GameSummaryPageDTO getGameSummaries(GameStatus status, int page, int size) {
+        List<GameSummaryDTO> content = gameRepository.findPage(status, (long) page * size, size).stream()
+                .map(game -> GameSummaryDTO.from(game.getSnapshot()))
+                .toList();
+        return new GameSummaryPageDTO(content, page, size, gameRepository.countByStatus(status));
+    }
 
-        if (gameOptional.isPresent()) {
-            Game game = gameOptional.get();
-            if (game.getStatus() == WAITING_FOR_PLAYERS && game.getPlayers().size() < 2) {
-                Player newPlayer = new Player(username);
-                if (game.joinGame(newPlayer)) {
-                    Game savedGame = gameRepository.save(game);
-                    webSocketController.broadcastGameUpdate(savedGame);
-                    return savedGame;
-                }
-            } else {
-                log.warn("Cannot join game {}. Status: {}, Player count: {}", gameId, game.getStatus(), game.getPlayers().size());
+    /**
+     * Bellekten çıkarılmış bir oyunun arşivlenmiş özetini döndürür.
+     */
+    public Optional<ArchivedGame> getArchivedGame(String gameId) {
+        return gameArchive.findById(gameId);
+    }
+
+    public GameSnapshot joinGame(String gameId, String username) {
+        return executeForGame(gameId, game -> snapshotOf(joinGame(game, username)));
+    }
+
+    private Game joinGame(Game game, String username) {
+        if (game.getStatus() == WAITING_FOR_PLAYERS && game.getPlayers().size() < 2) {
+            Player newPlayer = new Player(username);
+            if (game.joinGame(newPlayer)) {
+                Game savedGame = publishUpdate(game, List.of());
+                return savedGame;
             }
+        } else {
+            log.warn("Cannot join game {}. Status: {}, Player count: {}", game.getId(), game.getStatus(), game.getPlayers().size());
         }
         return null;
     }
 
-    public Game markPlayerReady(String gameId, String playerId) {
-        Optional<Game> gameOptional = gameRepository.findById(gameId);
-        if (gameOptional.isEmpty()) {
-            log.error("Game not found with ID: {} while marking player ready", gameId);
-            return null;
-        }
+    public GameSnapshot markPlayerReady(String gameId, String playerId) {
+        return executeForGame(gameId, game -> snapshotOf(markPlayerReady(game, playerId)));
+    }
 
-        Game game = gameOptional.get();
+    private Game markPlayerReady(Game game, String playerId) {
+        String gameId = game.getId();
 
         if (game.getStatus() != WAITING_FOR_READY) {
             log.warn("Cannot mark player {} ready for game {}: Game status is not WAITING_FOR_READY (current: {})", playerId, gameId, game.getStatus());
@@ -114,8 +182,7 @@ public class GameService {
                 startGame(game);
             }
 
-            Game savedGame = gameRepository.save(game);
-            webSocketController.broadcastGameUpdate(savedGame);
+            Game savedGame = publishUpdate(game, List.of());
             return savedGame;
         } else {
             log.warn("Player {} was already marked as ready in game {}", player.getUsername(), gameId);
@@ -130,14 +197,21 @@ public class GameService {
             game.setTurnStartTimeMillis(System.currentTimeMillis());
             game.setLastEventMessage("Tüm oyuncular hazır. Oyun başladı! Sıra: " + game.getPlayers().get(0).getUsername());
             log.info("Game {} started. First turn: {}", game.getId(), game.getPlayers().get(0).getUsername());
+            armTurnTimer(game);
         }
     }
 
-    public Game makeMove(String gameId, String playerId, int row, int col) {
-        Optional<Game> gameOptional = gameRepository.findById(gameId);
+    public GameSnapshot makeMove(String gameId, String playerId, int row, int col) {
+        Timer.Sample sample = gameMetrics.startTimer();
+        try {
+            return executeForGame(gameId, game -> snapshotOf(makeMove(game, playerId, row, col)));
+        } finally {
+            gameMetrics.stopMoveTimer(sample);
+        }
+    }
 
-        if (gameOptional.isEmpty()) return null;
-        Game game = gameOptional.get();
+    private Game makeMove(Game game, String playerId, int row, int col) {
+        String gameId = game.getId();
 
         if (game.getStatus() != IN_PROGRESS) {
             log.warn("Invalid move: Game {} is not IN_PROGRESS (status: {}). Player: {}", gameId, game.getStatus(), playerId);
@@ -154,7 +228,15 @@ public class GameService {
             return null;
         }
 
+        if (row >= 0 && row < game.getRows() && col >= 0 && col < game.getColumns()) {
+            placeMinesIfNeeded(game, row * game.getColumns() + col);
+        }
+        Timer.Sample revealSample = gameMetrics.startTimer();
         BoardService.RevealResult revealResult = boardService.revealCell(game, playerId, row, col);
+        gameMetrics.stopRevealTimer(revealSample);
+        if (revealResult.cascadeTriggered) {
+            gameMetrics.recordCascade(revealResult.revealedCells.size());
+        }
 
         if (!revealResult.moveSuccess) {
             log.warn("Invalid move logic detected by BoardService for Player {} at ({}, {}) in Game {}", playerId, row, col, gameId);
@@ -211,11 +293,8 @@ public class GameService {
             game.setPlayer2TimeLeftMillis(Math.max(0, newTimeLeft));
         }
 
-        boolean justFinished = false;
-        if (boardService.isGameFinished(game.getBoard(), game.getMineCount())) {
-            checkAndUpdateGameOverNormal(game);
-            justFinished = game.isGameOver();
-        }
+        checkAndUpdateGameOverNormal(game);
+        boolean justFinished = game.isGameOver();
         
         if (!justFinished && (game.getPlayer1TimeLeftMillis() <= 0 || game.getPlayer2TimeLeftMillis() <= 0)) {
             handleTimeout(game);
@@ -228,17 +307,23 @@ public class GameService {
         } else {
             game.setTurnStartTimeMillis(0);
         }
+        armTurnTimer(game);
 
-        Game savedGame = gameRepository.save(game);
-        webSocketController.broadcastGameUpdate(savedGame);
+        Game savedGame = publishUpdate(game, revealResult.revealedCells);
         return savedGame;
     }
 
-    public Game toggleFlag(String gameId, String playerId, int row, int col) {
-        Optional<Game> gameOptional = gameRepository.findById(gameId);
+    public GameSnapshot toggleFlag(String gameId, String playerId, int row, int col) {
+        Timer.Sample sample = gameMetrics.startTimer();
+        try {
+            return executeForGame(gameId, game -> snapshotOf(toggleFlag(game, playerId, row, col)));
+        } finally {
+            gameMetrics.stopFlagTimer(sample);
+        }
+    }
 
-        if (gameOptional.isEmpty()) return null;
-        Game game = gameOptional.get();
+    private Game toggleFlag(Game game, String playerId, int row, int col) {
+        String gameId = game.getId();
 
         if (game.getStatus() != IN_PROGRESS) {
             log.warn("Cannot toggle flag in game {}: Game is not IN_PROGRESS (status: {}). Player: {}", gameId, game.getStatus(), playerId);
@@ -255,12 +340,13 @@ public class GameService {
             return game;
         }
 
+        // Bayrak ilk hamleden önce konabilir; mayınlar yine ilk hamlede yerleştirilir
+        allocateBoardIfNeeded(game);
         boolean flagToggled = game.toggleFlag(playerId, row, col);
 
         if (flagToggled) {
             log.info("Player {} toggled flag at ({}, {}) in Game {}", playerId, row, col, gameId);
-            Game savedGame = gameRepository.save(game);
-            webSocketController.broadcastGameUpdate(savedGame);
+            Game savedGame = publishUpdate(game, List.of(game.getPackedBoard().index(row, col)));
             return savedGame;
         } else {
             log.warn("Flag toggle failed for Player {} at ({}, {}) in Game {}. No change sent.", playerId, row, col, gameId);
@@ -268,39 +354,125 @@ public class GameService {
         }
     }
 
+    /**
+     * Oyuncunun son WebSocket oturumu kapandığında çağrılır.
+     * Başlamış veya hazır olma bekleyen oyunlarda oyuncuya {@code mineyzer.games.reconnect-grace} kadar yeniden bağlanma
+     * süresi tanınır; bu sürede sıra süresi işlemeye devam eder. Oyuncu dönmezse oyun rakibin galibiyetiyle biter.
+     * Rakip bekleyen oyunlar ve süre 0 verildiğinde oyun hemen biter.
+     */
     public void handlePlayerDisconnect(String gameId, String playerId) {
-        Optional<Game> gameOptional = gameRepository.findById(gameId);
-        if (gameOptional.isPresent()) {
-            Game game = gameOptional.get();
-            if (game.getStatus() == IN_PROGRESS || game.getStatus() == WAITING_FOR_READY || game.getStatus() == WAITING_FOR_PLAYERS) {
-                Player disconnectedPlayer = game.getPlayerById(playerId);
-                Player remainingPlayer = game.getPlayers().stream()
-                                             .filter(p -> !p.getId().equals(playerId))
-                                             .findFirst().orElse(null);
-
-                log.info("Player {} disconnected from game {}", disconnectedPlayer != null ? disconnectedPlayer.getUsername() : playerId, gameId);
-
-                if (remainingPlayer != null) {
-                    game.setStatus(GAME_OVER);
-                    game.setWinnerId(remainingPlayer.getId());
-                    game.setTurnStartTimeMillis(0);
-                    game.setLastEventMessage((disconnectedPlayer != null ? disconnectedPlayer.getUsername() : "Rakip") + " bağlantısı koptu. Kazanan: " + remainingPlayer.getUsername());
-                    log.info("Game {} ended due to disconnect. Winner: {}", gameId, remainingPlayer.getUsername());
-                } else {
-                    game.setStatus(GAME_OVER);
-                    game.setLastEventMessage((disconnectedPlayer != null ? disconnectedPlayer.getUsername() : "Oyuncu") + " bağlantısı koptu. Oyun bitti.");
-                    log.info("Game {} ended due to disconnect. No remaining player.", gameId);
-                }
-                Game savedGame = gameRepository.save(game);
-                webSocketController.broadcastGameUpdate(savedGame);
+        executeForGame(gameId, game -> {
+            handlePlayerDisconnect(game, playerId);
+            return null;
+        });
+    }
+
+    private void handlePlayerDisconnect(Game game, String playerId) {
+        if (game.getStatus() != IN_PROGRESS && game.getStatus() != WAITING_FOR_READY && game.getStatus() != WAITING_FOR_PLAYERS) {
+            return;
+        }
+        Player disconnectedPlayer = game.getPlayerById(playerId);
+        if (disconnectedPlayer == null || game.getStatus() == WAITING_FOR_PLAYERS || reconnectGrace.isZero()) {
+            endGameForDisconnect(game, playerId);
+            return;
+        }
+        if (!disconnectedPlayer.isConnected()) {
+            return; // Süre zaten işliyor
+        }
+        disconnectedPlayer.setConnected(false);
+        game.setLastEventMessage(disconnectedPlayer.getUsername() + " bağlantısı koptu. "
+                + reconnectGrace.toSeconds() + " sn içinde dönmezse oyunu kaybedecek.");
+        log.info("Player {} disconnected from game {}, waiting {} for reconnect", disconnectedPlayer.getUsername(),
+                game.getId(), reconnectGrace);
+        publishUpdate(game, List.of());
+        String gameId = game.getId();
+        reconnectGraceTimer.schedule(gameId, playerId, reconnectGrace, () -> expireReconnectGrace(gameId, playerId));
+    }
+
+    /**
+     * Oyuncu oyunun kanalına yeniden abone olduğunda çağrılır. Bağlantısı kopmuş olarak işaretliyse süre iptal edilir
+     * ve rakibe oyuncunun döndüğü bildirilir.
+     */
+    public void handlePlayerReconnect(String gameId, String playerId) {
+        executeForGame(gameId, game -> {
+            Player player = game.getPlayerById(playerId);
+            if (player == null || player.isConnected()) {
+                return null;
             }
+            reconnectGraceTimer.cancel(gameId, playerId);
+            player.setConnected(true);
+            if (game.getStatus() != GAME_OVER) {
+                game.setLastEventMessage(player.getUsername() + " yeniden bağlandı.");
+            }
+            log.info("Player {} reconnected to game {}", player.getUsername(), gameId);
+            return publishUpdate(game, List.of());
+        });
+    }
+
+    private void expireReconnectGrace(String gameId, String playerId) {
+        executeForGame(gameId, game -> {
+            Player player = game.getPlayerById(playerId);
+            if (player == null || player.isConnected()) {
+                return null;
+            }
+            if (sessionRegistry.hasSession(gameId, playerId)) {
+                // Yeni oturum, kopma işlenmeden önce kaydolmuş; oyuncu aslında bağlı
+                player.setConnected(true);
+                game.setLastEventMessage(player.getUsername() + " yeniden bağlandı.");
+                return publishUpdate(game, List.of());
+            }
+            endGameForDisconnect(game, playerId);
+            return null;
+        });
+    }
+
+    private void endGameForDisconnect(Game game, String playerId) {
+        String gameId = game.getId();
+        if (game.getStatus() != IN_PROGRESS && game.getStatus() != WAITING_FOR_READY && game.getStatus() != WAITING_FOR_PLAYERS) {
+            return;
         }
+        Player disconnectedPlayer = game.getPlayerById(playerId);
+        Player remainingPlayer = game.getPlayers().stream()
+                                     .filter(p -> !p.getId().equals(playerId))
+                                     .findFirst().orElse(null);
+
+        log.info("Player {} disconnected from game {}", disconnectedPlayer != null ? disconnectedPlayer.getUsername() : playerId, gameId);
+
+        if (remainingPlayer != null) {
+            game.setStatus(GAME_OVER);
+            game.setWinnerId(remainingPlayer.getId());
+            game.setTurnStartTimeMillis(0);
+            game.setLastEventMessage((disconnectedPlayer != null ? disconnectedPlayer.getUsername() : "Rakip") + " bağlantısı koptu. Kazanan: " + remainingPlayer.getUsername());
+            log.info("Game {} ended due to disconnect. Winner: {}", gameId, remainingPlayer.getUsername());
+        } else {
+            game.setStatus(GAME_OVER);
+            game.setLastEventMessage((disconnectedPlayer != null ? disconnectedPlayer.getUsername() : "Oyuncu") + " bağlantısı koptu. Oyun bitti.");
+            log.info("Game {} ended due to disconnect. No remaining player.", gameId);
+        }
+        turnTimerScheduler.cancel(gameId);
+        publishUpdate(game, List.of());
+    }
+
+    /**
+     * Yeniden bağlanan istemcinin kaçırdığı değişiklikleri döndürür.
+     * @param lastVersion İstemcinin elindeki son sürüm
+     * @return Kaçırılan olaylar tamponda duruyorsa sadece olaylar, aksi halde tam görüntü; oyun yoksa boş.
+     */
+    public Optional<GameResumeDTO> resumeGame(String gameId, long lastVersion) {
+        return gameRepository.findById(gameId).map(Game::getSnapshot).map(snapshot -> {
+            if (lastVersion == snapshot.getVersion()) {
+                return GameResumeDTO.ofEvents(gameId, List.of());
+            }
+            List<GameUpdateEventDTO> missed = lastVersion < snapshot.getVersion()
+                    ? gameEventLog.eventsSince(gameId, lastVersion) : null;
+            return missed != null ? GameResumeDTO.ofEvents(gameId, missed) : GameResumeDTO.ofSnapshot(snapshot);
+        });
     }
 
     private void checkAndUpdateGameOverNormal(Game game) {
         if (game.getStatus() != IN_PROGRESS) return;
 
-        if (boardService.isGameFinished(game.getBoard(), game.getMineCount())) {
+        if (boardService.isGameFinished(game.getPackedBoard())) {
             game.setStatus(GAME_OVER);
             game.setTurnStartTimeMillis(0);
             
@@ -334,46 +506,192 @@ public class GameService {
         }
     }
 
-    @Scheduled(fixedRate = 1000)
-    public void checkActiveGameTimers() {
-        long currentTime = System.currentTimeMillis();
-        List<Game> activeGames = gameRepository.findAll().stream()
-                .filter(game -> game.getStatus() == IN_PROGRESS)
-                .collect(Collectors.toList());
+    /**
+     * Komutu oyunun kilidi altında çalıştırır. Aynı oyuna gelen hamle, bayrak, hazır olma, bağlantı kopması
+     * ve süre bitimi komutları geliş sırasıyla tek tek uygulanır; farklı oyunların komutları birbirini beklemez.
+     * @return Komutun sonucu, oyun bulunamazsa null.
+     */
+    private <T> T executeForGame(String gameId, Function<Game, T> command) {
+        Optional<Game> gameOptional = gameRepository.findById(gameId);
+        if (gameOptional.isEmpty()) {
+            log.warn("Game not found with ID: {}", gameId);
+            return null;
+        }
+        Game game = gameOptional.get();
+        ReentrantLock lock = game.getLock();
+        lock.lock();
+        try {
+            // Kilit beklenirken oyun bellekten çıkarılmış olabilir; çıkarılan oyun değiştirilip yeniden kaydedilmez
+            if (game.isEvicted()) {
+                log.warn("Game {} was evicted before the command could run", gameId);
+                return null;
+            }
+            return command.apply(game);
+        } finally {
+            lock.unlock();
+        }
+    }
 
-        for (Game game : activeGames) {
-            if (game.getTurnStartTimeMillis() <= 0) continue;
+    /**
+     * Oyunun sürümünü artırır, görünür hücreleri değişen hücrelerle günceller, yeni değişmez görüntüyü yayınlar, oyunu kaydeder ve değişikliği istemcilere gönderilmek
+     * üzere yayın kuyruğuna ekler. Oyunu bitiren değişiklikte mayınlar da değişen hücrelerle birlikte gönderilir.
+     * Oyunun kilidi altında çağrılmalıdır.
+     * @param changedCells Bu değişiklikte açılan veya bayrağı değişen hücrelerin indeksleri
+     */
+    private Game publishUpdate(Game game, Collection<Integer> changedCells) {
+        game.incrementVersion();
+        game.setLastUpdatedMillis(System.currentTimeMillis());
+        Collection<Integer> broadcastCells = game.updateVisibleCells(changedCells);
+        GameSnapshot previous = game.getSnapshot();
+        GameSnapshot snapshot = game.publishSnapshot();
+        if (!gameRepository.update(game)) {
+            log.warn("Game {} is no longer in the repository, update not published", game.getId());
+            return null;
+        }
+        broadcastQueue.submit(snapshot, broadcastCells);
+        lobbyService.gameChanged(previous, snapshot);
+        return game;
+    }
 
-            boolean player1TimedOut = false;
-            boolean player2TimedOut = false;
-            long timeElapsedSinceTurnStart = currentTime - game.getTurnStartTimeMillis();
+    private PackedBoard allocateBoardIfNeeded(Game game) {
+        if (game.getPackedBoard() == null) {
+            game.setPackedBoard(boardService.initializeBoard(game.getRows(), game.getColumns()));
+        }
+        return game.getPackedBoard();
+    }
 
-            if (game.getPlayers().size() >= 1) {
-                Player p1 = game.getPlayers().get(0);
-                if (game.getCurrentTurn().equals(p1.getId())) {
-                    if ((game.getPlayer1TimeLeftMillis() - timeElapsedSinceTurnStart) <= 0) {
-                        player1TimedOut = true;
-                        game.setPlayer1TimeLeftMillis(0);
-                    }
-                }
+    /**
+     * Oyunun mayınlarını henüz yerleştirilmediyse yerleştirir. Tahminsiz oyunlar için çözücüyle doğrulanmış bir tahta
+     * aranır. Standart seviyeler için önce hazır tahta havuzu denenir, havuz boşsa tahta oyunun tohumundan üretilir.
+     * @param firstIndex İlk açılan hücre; {@code mineyzer.board.safe-first-click} açıksa bu hücreye mayın konmaz.
+     */
+    private void placeMinesIfNeeded(Game game, int firstIndex) {
+        if (game.isMinesPlaced()) {
+            return;
+        }
+        if (game.isNoGuess() && firstIndex != BoardService.NO_SAFE_CELL) {
+            SeededBoard generated = noGuessBoardGenerator.generate(game.getRows(), game.getColumns(), game.getMineCount(),
+                    game.getSeed(), firstIndex);
+            if (generated != null) {
+                adoptBoard(game, generated);
+                game.setMinesPlaced(true);
+                return;
             }
-            if (game.getPlayers().size() >= 2) {
-                Player p2 = game.getPlayers().get(1);
-                if (game.getCurrentTurn().equals(p2.getId())) {
-                    if ((game.getPlayer2TimeLeftMillis() - timeElapsedSinceTurnStart) <= 0) {
-                        player2TimedOut = true;
-                        game.setPlayer2TimeLeftMillis(0);
-                    }
+            // Süre içinde bulunamadı; en azından ilk hücrenin çevresi güvenli olan normal bir tahta üretilir.
+            // Tahta artık tahminsiz olduğu garanti edilemediği için oyunun işareti kaldırılır.
+            game.setNoGuess(false);
+            gameMetrics.recordNoGuessFallback();
+            log.info("No-guess board not found for game {}, falling back to a regular board", game.getId());
+            PackedBoard board = allocateBoardIfNeeded(game);
+            boardService.placeMines(board, game.getMineCount(), boardService.createRandom(game.getSeed()),
+                    boardService.safeArea(game.getRows(), game.getColumns(), firstIndex));
+            game.setMinesPlaced(true);
+            return;
+        }
+        if (usePooledBoard(game, firstIndex)) {
+            game.setMinesPlaced(true);
+            log.debug("Pooled board assigned to game {} on first move", game.getId());
+            return;
+        }
+        PackedBoard board = allocateBoardIfNeeded(game);
+        int safeIndex = safeFirstClick ? firstIndex : BoardService.NO_SAFE_CELL;
+        boardService.placeMines(board, game.getMineCount(), game.getSeed(), safeIndex);
+        game.setMinesPlaced(true);
+        log.debug("Board generated for game {} on first move", game.getId());
+    }
+
+    /**
+     * Havuzdan hazır bir tahta alıp oyuna bağlar.
+     * @return Hazır tahta kullanıldıysa true.
+     */
+    private boolean usePooledBoard(Game game, int firstIndex) {
+        SeededBoard pooled = boardPool.take(game.getRows(), game.getColumns(), game.getMineCount());
+        if (pooled == null) {
+            return false;
+        }
+        PackedBoard board = pooled.board();
+        if (safeFirstClick && firstIndex != BoardService.NO_SAFE_CELL && board.isMine(firstIndex)) {
+            // İlk tıklanan hücre bu tahtada mayın; tahta başka bir oyun için havuza döner
+            boardPool.giveBack(pooled);
+            return false;
+        }
+        adoptBoard(game, pooled);
+        return true;
+    }
+
+    /**
+     * Dışarıda üretilmiş bir tahtayı oyuna bağlar. İlk hamleden önce konmuş bayraklar yeni tahtaya taşınır.
+     */
+    private void adoptBoard(Game game, SeededBoard seededBoard) {
+        PackedBoard board = seededBoard.board();
+        PackedBoard flagsBoard = game.getPackedBoard();
+        if (flagsBoard != null) {
+            for (int index = 0; index < flagsBoard.size(); index++) {
+                if (flagsBoard.isFlagged(index)) {
+                    board.setFlagOwner(index, flagsBoard.getFlagOwner(index));
                 }
             }
+        }
+        game.setSeed(seededBoard.seed());
+        game.setPackedBoard(board);
+    }
 
-            if (player1TimedOut || player2TimedOut) {
-                log.info("Timeout detected in game {}. Player1: {}, Player2: {}. Handling timeout.", game.getId(), player1TimedOut, player2TimedOut);
-                handleTimeout(game);
-                Game savedGame = gameRepository.save(game);
-                webSocketController.broadcastGameUpdate(savedGame);
-            }
+    /**
+     * Komutun sonucundaki görüntü. Komutla aynı kilit altında alınmalıdır; kilit bırakıldıktan sonra okunursa
+     * araya giren başka bir komutun görüntüsü dönebilir.
+     */
+    private static GameSnapshot snapshotOf(Game game) {
+        return game == null ? null : game.getSnapshot();
+    }
+
+    /**
+     * Sıradaki oyuncunun süresinin biteceği an için zamanlayıcı kurar.
+     */
+    private void armTurnTimer(Game game) {
+        if (game.getStatus() != IN_PROGRESS || game.getTurnStartTimeMillis() <= 0) {
+            turnTimerScheduler.cancel(game.getId());
+            return;
         }
+        long deadline = game.getTurnStartTimeMillis() + getCurrentTurnTimeLeftMillis(game);
+        String gameId = game.getId();
+        turnTimerScheduler.schedule(gameId, deadline, () -> onTurnDeadline(gameId));
+    }
+
+    private long getCurrentTurnTimeLeftMillis(Game game) {
+        boolean isPlayer1Turn = game.getCurrentTurn().equals(game.getPlayers().get(0).getId());
+        return isPlayer1Turn ? game.getPlayer1TimeLeftMillis() : game.getPlayer2TimeLeftMillis();
+    }
+
+    /**
+     * Zamanlayıcı tarafından, sıradaki oyuncunun süresi bittiğinde çağrılır.
+     * Bu arada sıra değişmişse veya süre henüz bitmemişse zamanlayıcı yeniden kurulur.
+     */
+    void onTurnDeadline(String gameId) {
+        executeForGame(gameId, game -> {
+            onTurnDeadline(game);
+            return null;
+        });
+    }
+
+    private void onTurnDeadline(Game game) {
+        if (game.getStatus() != IN_PROGRESS || game.getTurnStartTimeMillis() <= 0) return;
+
+        long timeElapsedSinceTurnStart = System.currentTimeMillis() - game.getTurnStartTimeMillis();
+        if (getCurrentTurnTimeLeftMillis(game) - timeElapsedSinceTurnStart > 0) {
+            armTurnTimer(game);
+            return;
+        }
+
+        boolean player1TimedOut = game.getCurrentTurn().equals(game.getPlayers().get(0).getId());
+        if (player1TimedOut) {
+            game.setPlayer1TimeLeftMillis(0);
+        } else {
+            game.setPlayer2TimeLeftMillis(0);
+        }
+
+        log.info("Timeout detected in game {}. Player1: {}, Player2: {}. Handling timeout.", game.getId(), player1TimedOut, !player1TimedOut);
+        handleTimeout(game);
+        publishUpdate(game, List.of());
     }
 
     void handleTimeout(Game game) {
@@ -399,7 +717,9 @@ public class GameService {
         game.setStatus(GAME_OVER);
         game.setTurnStartTimeMillis(0);
 
-        int remainingPoints = boardService.calculateRemainingPoints(game.getBoard());
+        // Hiç hamle yapılmadan süre biterse kalan puanları hesaplamak için tahta oluşturulur
+        placeMinesIfNeeded(game, BoardService.NO_SAFE_CELL);
+        int remainingPoints = boardService.calculateRemainingPoints(game.getPackedBoard());
         if (remainingPlayer != null) {
             log.info("Adding {} remaining points to player {}", remainingPoints, remainingPlayer.getUsername());
             remainingPlayer.increaseScore(remainingPoints);
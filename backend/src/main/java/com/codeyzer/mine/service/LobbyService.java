@@ -0,0 +1,112 @@
+package com.codeyzer.mine.service;
+
+import com.codeyzer.mine.controller.WebSocketController;
+import com.codeyzer.mine.dto.GameSummaryDTO;
+import com.codeyzer.mine.dto.LobbyEventDTO;
+import com.codeyzer.mine.dto.LobbyListingDTO;
+import com.codeyzer.mine.model.Game;
+import com.codeyzer.mine.model.GameSnapshot;
+import com.codeyzer.mine.model.GameStatus;
+import com.codeyzer.mine.repository.InMemoryGameRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.codeyzer.mine.model.GameStatus.*;
+
+/**
+ * Henüz başlamamış (oyuncu veya hazır olma bekleyen) oyunlardan oluşan lobiyi yönetir.
+ * Lobideki değişiklikler {@code /topic/lobby} kanalına artımlı olaylar olarak yayınlanır;
+ * böylece lobi trafiği istemci ve oyun sayısıyla değil, değişiklik sayısıyla büyür.
+ * <p>
+ * Olaylar tek thread'li bir yayıncıda serileştirilip gönderilir. Sıra numarası da bu thread'de verilir; böylece
+ * farklı oyunların olayları istemcilere sıra numarasıyla aynı sırada ulaşır ve gönderim oyunun kilidi altında yapılmaz.
+ */
+@Service
+public class LobbyService {
+
+    private final InMemoryGameRepository gameRepository;
+    private final WebSocketController webSocketController;
+    private final AtomicLong sequence = new AtomicLong();
+    private final ThreadPoolExecutor publisher;
+
+    public LobbyService(InMemoryGameRepository gameRepository, WebSocketController webSocketController) {
+        this.gameRepository = gameRepository;
+        this.webSocketController = webSocketController;
+        // Kapanırken gelen olaylar atılır; lobiyi dinleyen istemciler de kapanmaktadır
+        this.publisher = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "lobby-publisher");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    public static boolean isListed(GameStatus status) {
+        return status == WAITING_FOR_PLAYERS || status == WAITING_FOR_READY;
+    }
+
+    /**
+     * Lobideki oyunların başlangıç listesini döndürür.
+     * Sıra numarası listeden önce okunur; bu numaraya kadarki olaylar listeye zaten yansımıştır.
+     */
+    public LobbyListingDTO getListing() {
+        long listingSequence = sequence.get();
+        List<GameSummaryDTO> games = new ArrayList<>();
+        for (GameStatus status : List.of(WAITING_FOR_PLAYERS, WAITING_FOR_READY)) {
+            for (Game game : gameRepository.findByStatus(status)) {
+                games.add(GameSummaryDTO.from(game.getSnapshot()));
+            }
+        }
+        return new LobbyListingDTO(listingSequence, games);
+    }
+
+    public void gameCreated(GameSnapshot game) {
+        publish(LobbyEventDTO.Type.ADDED, game.getId(), GameSummaryDTO.from(game));
+    }
+
+    /**
+     * Oyunun önceki ve yeni görüntüsünü karşılaştırıp gerekiyorsa lobi olayı yayınlar.
+     * Oyunun kilidi altında çağrılmalıdır.
+     */
+    public void gameChanged(GameSnapshot previous, GameSnapshot current) {
+        boolean wasListed = previous != null && isListed(previous.getStatus());
+        boolean listed = isListed(current.getStatus());
+        if (wasListed && !listed) {
+            publish(LobbyEventDTO.Type.REMOVED, current.getId(), null);
+        } else if (listed && (!wasListed
+                || previous.getStatus() != current.getStatus()
+                || previous.getPlayers().size() != current.getPlayers().size())) {
+            publish(wasListed ? LobbyEventDTO.Type.UPDATED : LobbyEventDTO.Type.ADDED,
+                    current.getId(), GameSummaryDTO.from(current));
+        }
+    }
+
+    /**
+     * Bellekten çıkarılan oyun lobideyse kaldırma olayı yayınlar.
+     */
+    public void gameEvicted(Game game) {
+        if (isListed(game.getStatus())) {
+            publish(LobbyEventDTO.Type.REMOVED, game.getId(), null);
+        }
+    }
+
+    /**
+     * Olayı yayıncı kuyruğuna ekler ve hemen döner. Özet çağıranın thread'inde, o anki görüntüden üretilir.
+     */
+    private void publish(LobbyEventDTO.Type type, String gameId, GameSummaryDTO summary) {
+        publisher.execute(() -> webSocketController.broadcastLobbyEvent(
+                new LobbyEventDTO(type, sequence.incrementAndGet(), gameId, summary)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        publisher.shutdownNow();
+    }
+}
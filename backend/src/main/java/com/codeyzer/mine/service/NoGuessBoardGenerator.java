@@ -0,0 +1,121 @@
+package com.codeyzer.mine.service;
+
+import com.codeyzer.mine.model.PackedBoard;
+import com.codeyzer.mine.model.SeededBoard;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tahmin gerektirmeyen ("no-guess") tahtalar üretir.
+ * İlk tıklanan hücre ve çevresi mayınsız bırakılarak aday tahtalar üretilir ve {@link NoGuessSolver} ile denenir.
+ * Adaylar bir fork-join havuzunda paralel olarak, verilen süre içinde aranır; ilk çözülebilen aday kullanılır.
+ * Bulunan tahta, adayın tohumu ve aynı güvenli alanla yeniden üretilebilir.
+ */
+@Service
+public class NoGuessBoardGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(NoGuessBoardGenerator.class);
+
+    private final BoardService boardService;
+    private final ForkJoinPool searchPool;
+    private final int parallelism;
+    private final Duration timeBudget;
+
+    private final AtomicLong generatedBoards = new AtomicLong();
+    private final AtomicLong candidatesTried = new AtomicLong();
+    private final AtomicLong budgetExceeded = new AtomicLong();
+
+    public NoGuessBoardGenerator(BoardService boardService,
+                                 @Value("${mineyzer.board.no-guess.parallelism:0}") int parallelism,
+                                 @Value("${mineyzer.board.no-guess.time-budget:30ms}") Duration timeBudget) {
+        this.boardService = boardService;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.timeBudget = timeBudget;
+        this.searchPool = new ForkJoinPool(this.parallelism);
+    }
+
+    /**
+     * İlk tıklanan hücreden itibaren tahminsiz açılabilen bir tahta arar.
+     * @param rows Satır sayısı
+     * @param columns Sütun sayısı
+     * @param mineCount Mayın sayısı
+     * @param seed Adayların tohumlarını türetmek için kullanılan tohum
+     * @param firstIndex İlk tıklanan hücre
+     * @return Bulunan tahta ve onu üreten tohum; süre içinde bulunamazsa veya ilk hücrenin çevresi mayınsız
+     * bırakılamıyorsa null.
+     */
+    public SeededBoard generate(int rows, int columns, int mineCount, long seed, int firstIndex) {
+        int[] safeArea = boardService.safeArea(rows, columns, firstIndex);
+        if (mineCount > rows * columns - safeArea.length) {
+            log.warn("No-guess board not possible for {}x{} with {} mines; falling back to a regular board.", rows, columns, mineCount);
+            return null;
+        }
+
+        long startNanos = System.nanoTime();
+        long deadlineNanos = startNanos + timeBudget.toNanos();
+        AtomicReference<SeededBoard> found = new AtomicReference<>();
+        SplittableRandom seeds = new SplittableRandom(seed);
+        List<ForkJoinTask<?>> workers = new ArrayList<>(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            SplittableRandom workerSeeds = seeds.split();
+            workers.add(searchPool.submit(() -> search(rows, columns, mineCount, safeArea, firstIndex, workerSeeds, deadlineNanos, found)));
+        }
+        for (ForkJoinTask<?> worker : workers) {
+            worker.join();
+        }
+
+        SeededBoard result = found.get();
+        if (result == null) {
+            budgetExceeded.incrementAndGet();
+            log.warn("No-guess board for {}x{} with {} mines not found within {} ms", rows, columns, mineCount, timeBudget.toMillis());
+        } else {
+            generatedBoards.incrementAndGet();
+            log.debug("No-guess board for {}x{} with {} mines found in {} ms", rows, columns, mineCount, (System.nanoTime() - startNanos) / 1_000_000);
+        }
+        return result;
+    }
+
+    private void search(int rows, int columns, int mineCount, int[] safeArea, int firstIndex,
+                        SplittableRandom workerSeeds, long deadlineNanos, AtomicReference<SeededBoard> found) {
+        while (found.get() == null && System.nanoTime() < deadlineNanos) {
+            long candidateSeed = workerSeeds.nextLong();
+            PackedBoard board = new PackedBoard(rows, columns);
+            boardService.layMines(board, mineCount, boardService.createRandom(candidateSeed), safeArea);
+            candidatesTried.incrementAndGet();
+            if (new NoGuessSolver(board).solve(firstIndex)) {
+                boardService.indexZeroRegions(board);
+                found.compareAndSet(null, new SeededBoard(candidateSeed, board));
+                return;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        searchPool.shutdownNow();
+    }
+
+    public long getGeneratedBoards() {
+        return generatedBoards.get();
+    }
+
+    public long getCandidatesTried() {
+        return candidatesTried.get();
+    }
+
+    public long getBudgetExceeded() {
+        return budgetExceeded.get();
+    }
+}
@@ -0,0 +1,293 @@
+package com.codeyzer.mine.service;
+
+import com.codeyzer.mine.model.PackedBoard;
+
+/**
+ * Bir tahtanın ilk tıklamadan itibaren hiç tahmin yapmadan açılabilir olup olmadığını kontrol eden
+ * deterministik kısıt yayılımı çözücüsü. Oyuncunun görebildiği bilgiyle (açık hücrelerin sayıları ve toplam mayın
+ * sayısı) kesin olarak çıkarılabilen hamleleri uygular:
+ * <ul>
+ *     <li>Tek hücre kuralı: sayısı kadar mayını bilinen hücrenin diğer komşuları güvenlidir; kalan mayın sayısı
+ *     bilinmeyen komşu sayısına eşitse hepsi mayındır.</li>
+ *     <li>İkili kural: yakın iki sayı hücresi A ve B için {@code kalan(B) - kalan(A) == |B \ A|} ise B'ye özgü
+ *     hücrelerin hepsi mayın, A'ya özgü hücrelerin hepsi güvenlidir (alt küme kuralı bunun özel halidir).</li>
+ *     <li>Toplam kuralı: kalan mayın sayısı 0 ise tüm bilinmeyenler güvenli, bilinmeyen sayısına eşitse hepsi mayındır.</li>
+ * </ul>
+ * Açık hücreler ve bilinen mayınlar bit kümelerinde tutulur. Tek bir tahta için kullanılır, thread-safe değildir.
+ */
+public class NoGuessSolver {
+
+    private final PackedBoard board;
+    private final int rows;
+    private final int columns;
+    private final long[] revealed;
+    private final long[] knownMines;
+    private final int[] stack;
+    private int unknownSafeCells;
+    private int unknownMines;
+    private int unknownCells;
+
+    // İkili kural için her sayı hücresinin bilinmeyen komşuları
+    private final int[] constraintCells;
+    private final int[] constraintRemaining;
+    private final int[] constraintUnknowns;
+    private final int[] constraintUnknownCounts;
+    private final int[] constraintOf;
+
+    public NoGuessSolver(PackedBoard board) {
+        this.board = board;
+        this.rows = board.getRows();
+        this.columns = board.getColumns();
+        int size = board.size();
+        this.revealed = new long[(size + 63) >>> 6];
+        this.knownMines = new long[(size + 63) >>> 6];
+        this.stack = new int[size];
+        this.unknownSafeCells = size - board.getMineCount();
+        this.unknownMines = board.getMineCount();
+        this.unknownCells = size;
+        this.constraintCells = new int[size];
+        this.constraintRemaining = new int[size];
+        this.constraintUnknowns = new int[size * 8];
+        this.constraintUnknownCounts = new int[size];
+        this.constraintOf = new int[size];
+    }
+
+    /**
+     * @param firstIndex İlk açılan hücre
+     * @return Tahta ilk hücreden itibaren tahminsiz açılabiliyorsa true.
+     */
+    public boolean solve(int firstIndex) {
+        if (board.isMine(firstIndex)) {
+            return false;
+        }
+        open(firstIndex);
+        while (unknownSafeCells > 0) {
+            if (applySingleRules() || applyPairRules() || applyTotalRule()) {
+                continue;
+            }
+            return false;
+        }
+        return true;
+    }
+
+    private boolean applySingleRules() {
+        boolean progress = false;
+        int[] neighbors = new int[8];
+        for (int index = 0; index < board.size(); index++) {
+            int adjacentMines = board.getAdjacentMines(index);
+            if (adjacentMines == 0 || !isSet(revealed, index)) {
+                continue;
+            }
+            int neighborCount = neighbors(index, neighbors);
+            int unknown = 0;
+            int mines = 0;
+            for (int i = 0; i < neighborCount; i++) {
+                int neighbor = neighbors[i];
+                if (isSet(knownMines, neighbor)) {
+                    mines++;
+                } else if (!isSet(revealed, neighbor)) {
+                    unknown++;
+                }
+            }
+            if (unknown == 0) {
+                continue;
+            }
+            int remaining = adjacentMines - mines;
+            if (remaining == 0 || remaining == unknown) {
+                for (int i = 0; i < neighborCount; i++) {
+                    int neighbor = neighbors[i];
+                    if (!isSet(revealed, neighbor) && !isSet(knownMines, neighbor)) {
+                        if (remaining == 0) {
+                            open(neighbor);
+                        } else {
+                            markMine(neighbor);
+                        }
+                    }
+                }
+                progress = true;
+            }
+        }
+        return progress;
+    }
+
+    private boolean applyPairRules() {
+        int constraintCount = collectConstraints();
+        for (int b = 0; b < constraintCount; b++) {
+            int cellB = constraintCells[b];
+            int rowB = board.rowOf(cellB);
+            int colB = board.columnOf(cellB);
+            // Bilinmeyen komşuları kesişebilecek sayı hücreleri en fazla 2 hücre uzaktadır
+            for (int i = Math.max(0, rowB - 2); i <= Math.min(rows - 1, rowB + 2); i++) {
+                for (int j = Math.max(0, colB - 2); j <= Math.min(columns - 1, colB + 2); j++) {
+                    int cellA = board.index(i, j);
+                    int a = constraintOf[cellA];
+                    if (a < 0 || a == b) {
+                        continue;
+                    }
+                    if (applyPairRule(a, b)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@code kalan(B) - kalan(A) == |B \ A|} ise B'ye özgü hücreler mayın, A'ya özgü hücreler güvenlidir.
+     */
+    private boolean applyPairRule(int a, int b) {
+        int onlyB = 0;
+        int countB = constraintUnknownCounts[b];
+        for (int k = 0; k < countB; k++) {
+            if (!containsUnknown(a, constraintUnknowns[b * 8 + k])) {
+                onlyB++;
+            }
+        }
+        int onlyA = constraintUnknownCounts[a] - (countB - onlyB);
+        if (onlyA + onlyB == 0 || constraintRemaining[b] - constraintRemaining[a] != onlyB) {
+            return false;
+        }
+        for (int k = 0; k < countB; k++) {
+            int cell = constraintUnknowns[b * 8 + k];
+            if (!containsUnknown(a, cell)) {
+                markMine(cell);
+            }
+        }
+        int countA = constraintUnknownCounts[a];
+        for (int k = 0; k < countA; k++) {
+            int cell = constraintUnknowns[a * 8 + k];
+            if (!containsUnknown(b, cell)) {
+                open(cell);
+            }
+        }
+        return true;
+    }
+
+    private boolean containsUnknown(int constraint, int cell) {
+        int count = constraintUnknownCounts[constraint];
+        for (int k = 0; k < count; k++) {
+            if (constraintUnknowns[constraint * 8 + k] == cell) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Bilinmeyen komşusu olan açık sayı hücrelerini kısıt olarak toplar.
+     * @return Kısıt sayısı.
+     */
+    private int collectConstraints() {
+        int[] neighbors = new int[8];
+        int count = 0;
+        for (int index = 0; index < board.size(); index++) {
+            constraintOf[index] = -1;
+            int adjacentMines = board.getAdjacentMines(index);
+            if (adjacentMines == 0 || !isSet(revealed, index)) {
+                continue;
+            }
+            int neighborCount = neighbors(index, neighbors);
+            int unknown = 0;
+            int mines = 0;
+            for (int i = 0; i < neighborCount; i++) {
+                int neighbor = neighbors[i];
+                if (isSet(knownMines, neighbor)) {
+                    mines++;
+                } else if (!isSet(revealed, neighbor)) {
+                    constraintUnknowns[count * 8 + unknown++] = neighbor;
+                }
+            }
+            if (unknown == 0) {
+                continue;
+            }
+            constraintCells[count] = index;
+            constraintRemaining[count] = adjacentMines - mines;
+            constraintUnknownCounts[count] = unknown;
+            constraintOf[index] = count;
+            count++;
+        }
+        return count;
+    }
+
+    private boolean applyTotalRule() {
+        if (unknownMines != 0 && unknownMines != unknownCells) {
+            return false;
+        }
+        boolean allSafe = unknownMines == 0;
+        for (int index = 0; index < board.size(); index++) {
+            if (!isSet(revealed, index) && !isSet(knownMines, index)) {
+                if (allSafe) {
+                    open(index);
+                } else {
+                    markMine(index);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Hücreyi açar; '0' hücrelerinde oyundaki kaskad gibi komşuları da açar.
+     * Hücreler yığına eklenirken açıldığı için her hücre yığına en fazla bir kez girer.
+     */
+    private void open(int index) {
+        if (isSet(revealed, index)) {
+            return;
+        }
+        reveal(index);
+        int top = 0;
+        stack[top++] = index;
+        int[] neighbors = new int[8];
+        while (top > 0) {
+            int cell = stack[--top];
+            if (board.getAdjacentMines(cell) != 0) {
+                continue;
+            }
+            int neighborCount = neighbors(cell, neighbors);
+            for (int i = 0; i < neighborCount; i++) {
+                int neighbor = neighbors[i];
+                if (!isSet(revealed, neighbor)) {
+                    reveal(neighbor);
+                    stack[top++] = neighbor;
+                }
+            }
+        }
+    }
+
+    private void reveal(int index) {
+        set(revealed, index);
+        unknownSafeCells--;
+        unknownCells--;
+    }
+
+    private void markMine(int index) {
+        if (!isSet(knownMines, index)) {
+            set(knownMines, index);
+            unknownMines--;
+            unknownCells--;
+        }
+    }
+
+    private int neighbors(int index, int[] out) {
+        int row = board.rowOf(index);
+        int col = board.columnOf(index);
+        int count = 0;
+        for (int i = Math.max(0, row - 1); i <= Math.min(rows - 1, row + 1); i++) {
+            for (int j = Math.max(0, col - 1); j <= Math.min(columns - 1, col + 1); j++) {
+                if (i != row || j != col) {
+                    out[count++] = board.index(i, j);
+                }
+            }
+        }
+        return count;
+    }
+
+    private static boolean isSet(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private static void set(long[] bits, int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+}
@@ -0,0 +1,86 @@
+package com.codeyzer.mine.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bağlantısı kopan oyuncuların yeniden bağlanma sürelerini zamanlar.
+ * Her kopan oyuncu için süre sonunda çalışacak tek bir görev kurulur; oyuncu süre içinde dönerse görev iptal edilir.
+ */
+@Component
+public class ReconnectGraceTimer {
+
+    private static final Logger log = LoggerFactory.getLogger(ReconnectGraceTimer.class);
+
+    private final ScheduledThreadPoolExecutor executor;
+    private final Map<String, ScheduledFuture<?>> timers = new ConcurrentHashMap<>();
+
+    public ReconnectGraceTimer() {
+        this.executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "reconnect-grace");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // İptal edilen görevler kuyrukta birikmesin
+        this.executor.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Oyuncu için yeniden bağlanma süresini başlatır. Önceden kurulmuş bir süre varsa iptal edilir.
+     * @param onExpired Oyuncu süre içinde dönmezse çalıştırılacak görev
+     */
+    public void schedule(String gameId, String playerId, Duration grace, Runnable onExpired) {
+        String key = key(gameId, playerId);
+        ScheduledFuture<?>[] self = new ScheduledFuture<?>[1];
+        self[0] = executor.schedule(() -> {
+            timers.remove(key, self[0]);
+            try {
+                onExpired.run();
+            } catch (Exception e) {
+                log.error("Reconnect grace handling failed for player {} in game {}", playerId, gameId, e);
+            }
+        }, grace.toMillis(), TimeUnit.MILLISECONDS);
+        ScheduledFuture<?> previous = timers.put(key, self[0]);
+        if (previous != null) {
+            previous.cancel(false);
+        }
+        if (self[0].isDone()) {
+            timers.remove(key, self[0]);
+        }
+    }
+
+    /**
+     * Oyuncu için kurulmuş yeniden bağlanma süresini iptal eder.
+     */
+    public void cancel(String gameId, String playerId) {
+        ScheduledFuture<?> previous = timers.remove(key(gameId, playerId));
+        if (previous != null) {
+            previous.cancel(false);
+        }
+    }
+
+    /**
+     * @return Yeniden bağlanması beklenen oyuncu sayısı.
+     */
+    public int getPendingCount() {
+        return timers.size();
+    }
+
+    private static String key(String gameId, String playerId) {
+        return gameId + ':' + playerId;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
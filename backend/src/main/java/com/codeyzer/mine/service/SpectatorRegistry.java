@@ -0,0 +1,119 @@
+package com.codeyzer.mine.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Oyunların izleyici kanallarına ({@code /topic/games/{id}/spectate}) yapılan abonelikleri sayar ve oyun başına
+ * izleyici sınırını uygular.
+ * Abonelikler oturum ve abonelik ID'siyle tutulur; böylece abonelikten çıkma ve bağlantı kopması aynı aboneliği
+ * iki kez düşürmez.
+ */
+@Component
+public class SpectatorRegistry {
+
+    private final int maxSpectatorsPerGame;
+    // Oyun ID -> izleyici sayısı; sayısı sıfıra düşen oyun çıkarılır
+    private final Map<String, Integer> spectatorCounts = new ConcurrentHashMap<>();
+    // Oturum ID -> (abonelik ID -> oyun ID)
+    private final Map<String, Map<String, String>> subscriptions = new ConcurrentHashMap<>();
+    private final AtomicInteger spectators = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public SpectatorRegistry(@Value("${mineyzer.spectators.max-per-game:1000}") int maxSpectatorsPerGame) {
+        this.maxSpectatorsPerGame = Math.max(0, maxSpectatorsPerGame);
+    }
+
+    /**
+     * İzleyici aboneliğini kaydeder. Aynı abonelik ID'siyle yapılan önceki abonelik yerine geçer.
+     * @return Oyunun izleyici sınırı dolmadıysa true; false ise abonelik reddedilmelidir.
+     */
+    public boolean tryAdd(String sessionId, String subscriptionId, String gameId) {
+        remove(sessionId, subscriptionId);
+        boolean[] admitted = new boolean[1];
+        spectatorCounts.compute(gameId, (id, count) -> {
+            int current = count == null ? 0 : count;
+            if (current >= maxSpectatorsPerGame) {
+                return count;
+            }
+            admitted[0] = true;
+            return current + 1;
+        });
+        if (!admitted[0]) {
+            rejected.incrementAndGet();
+            return false;
+        }
+        subscriptions.computeIfAbsent(sessionId, id -> new ConcurrentHashMap<>(2)).put(subscriptionId, gameId);
+        spectators.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Aboneliği kaldırır; abonelik bir izleyici kanalına ait değilse bir şey yapmaz.
+     */
+    public void remove(String sessionId, String subscriptionId) {
+        Map<String, String> sessionSubscriptions = subscriptions.get(sessionId);
+        if (sessionSubscriptions == null) {
+            return;
+        }
+        String gameId = sessionSubscriptions.remove(subscriptionId);
+        if (gameId != null) {
+            release(gameId);
+        }
+        // Oturumun eşlemesi oturum kapanana kadar tutulur; aynı oturumun eşzamanlı aboneliği kaybolmaz
+    }
+
+    /**
+     * Kapanan oturumun tüm izleyici aboneliklerini kaldırır.
+     */
+    public void removeSession(String sessionId) {
+        Map<String, String> sessionSubscriptions = subscriptions.remove(sessionId);
+        if (sessionSubscriptions == null) {
+            return;
+        }
+        for (String subscriptionId : sessionSubscriptions.keySet()) {
+            String gameId = sessionSubscriptions.remove(subscriptionId);
+            if (gameId != null) {
+                release(gameId);
+            }
+        }
+    }
+
+    private void release(String gameId) {
+        spectatorCounts.computeIfPresent(gameId, (id, count) -> count > 1 ? count - 1 : null);
+        spectators.decrementAndGet();
+    }
+
+    /**
+     * @return Oyunu izleyen abonelik sayısı.
+     */
+    public int getSpectatorCount(String gameId) {
+        return spectatorCounts.getOrDefault(gameId, 0);
+    }
+
+    /**
+     * @return Tüm oyunlardaki izleyici aboneliği sayısı.
+     */
+    public int size() {
+        return spectators.get();
+    }
+
+    /**
+     * @return İzleyicisi olan oyun sayısı.
+     */
+    public int getGameCount() {
+        return spectatorCounts.size();
+    }
+
+    /**
+     * @return Sınır dolu olduğu için reddedilen izleyici abonelikleri.
+     */
+    public long getRejected() {
+        return rejected.get();
+    }
+}
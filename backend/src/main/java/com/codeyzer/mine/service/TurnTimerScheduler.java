@@ -0,0 +1,85 @@
+package com.codeyzer.mine.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Oyunların sıra süresi bitişlerini tek tek zamanlayan bileşen.
+ * Her aktif oyun için sadece sıradaki oyuncunun süresinin biteceği ana bir görev kurulur;
+ * bekleyen veya bitmiş oyunlar için hiçbir periyodik maliyet oluşmaz.
+ */
+@Component
+public class TurnTimerScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(TurnTimerScheduler.class);
+
+    private final ScheduledThreadPoolExecutor executor;
+    private final Map<String, ScheduledFuture<?>> deadlines = new ConcurrentHashMap<>();
+    private final GameMetrics gameMetrics;
+
+    public TurnTimerScheduler(GameMetrics gameMetrics) {
+        this.gameMetrics = gameMetrics;
+        this.executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "turn-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // İptal edilen görevler kuyrukta birikmesin
+        this.executor.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Oyun için sıra bitiş zamanını kurar. Önceden kurulmuş bir zamanlayıcı varsa iptal edilir.
+     * @param gameId Oyun ID'si
+     * @param deadlineMillis Sürenin biteceği an (epoch milisaniye)
+     * @param onDeadline Süre bittiğinde çalıştırılacak görev
+     */
+    public void schedule(String gameId, long deadlineMillis, Runnable onDeadline) {
+        long delay = Math.max(0, deadlineMillis - System.currentTimeMillis());
+        ScheduledFuture<?>[] self = new ScheduledFuture<?>[1];
+        self[0] = executor.schedule(() -> {
+            deadlines.remove(gameId, self[0]);
+            gameMetrics.recordTurnTimerLag(System.currentTimeMillis() - deadlineMillis);
+            try {
+                onDeadline.run();
+            } catch (Exception e) {
+                log.error("Turn deadline handling failed for game {}", gameId, e);
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+        ScheduledFuture<?> previous = deadlines.put(gameId, self[0]);
+        if (previous != null) {
+            previous.cancel(false);
+        }
+        if (self[0].isDone()) {
+            deadlines.remove(gameId, self[0]);
+        }
+        log.trace("Turn deadline for game {} armed in {} ms", gameId, delay);
+    }
+
+    /**
+     * Oyun için kurulmuş zamanlayıcıyı iptal eder.
+     */
+    public void cancel(String gameId) {
+        ScheduledFuture<?> previous = deadlines.remove(gameId);
+        if (previous != null) {
+            previous.cancel(false);
+        }
+    }
+
+    public int getScheduledCount() {
+        return deadlines.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
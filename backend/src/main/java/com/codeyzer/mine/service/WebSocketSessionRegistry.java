@@ -1,54 +1,181 @@
 package com.codeyzer.mine.service;
 
 import lombok.Getter;
-import lombok.Setter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Oyun kanallarına abone olan WebSocket oturumlarını oyuncu ve oyunla eşleştirir.
+ * <p>
+ * Oturum ID'sinden oyuncu bilgisine giden eşlemenin yanında oyun ve oyuncu bazında ters bir indeks tutulur; böylece
+ * "bu oyunun oturumları hangileri" ve "oyuncunun başka açık sekmesi var mı" soruları tarama yapmadan yanıtlanır.
+ * Bir oyuncunun aynı oyuna birden fazla oturumu olabilir; oyuncu ancak son oturumu kapandığında kopmuş sayılır.
+ * Kayıt ve silme işlemleri sabit zamanlıdır ve sadece oyunun kendi indeksini kilitler.
+ */
 @Component
 public class WebSocketSessionRegistry {
 
+    private static final Logger log = LoggerFactory.getLogger(WebSocketSessionRegistry.class);
+
     @Getter
-    @Setter
     public static class SessionInfo {
-        private String playerId;
-        private String gameId;
+        private final String playerId;
+        private final String gameId;
 
         public SessionInfo(String playerId, String gameId) {
             this.playerId = playerId;
             this.gameId = gameId;
         }
 
-        public String getPlayerId() {
-            return playerId;
+        boolean matches(String gameId, String playerId) {
+            return this.gameId.equals(gameId) && this.playerId.equals(playerId);
         }
+    }
 
-        public String getGameId() {
-            return gameId;
-        }
+    /**
+     * Bir oyunun oyuncu bazında açık oturumları. Kendi kilidiyle korunur.
+     */
+    private static final class GameSessions {
+        final Map<String, Set<String>> sessionsByPlayer = new HashMap<>(4);
+        boolean removed; // Oyun indeksten çıkarıldı; yeni kayıtlar yeni bir nesneye yazılır
     }
 
     // Oturum ID -> Oyuncu Bilgisi
     private final Map<String, SessionInfo> sessions = new ConcurrentHashMap<>();
+    // Oyun ID -> oyuncu bazında oturumlar
+    private final Map<String, GameSessions> sessionsByGame = new ConcurrentHashMap<>();
 
-    public void registerSession(String sessionId, String playerId, String gameId) {
-        sessions.put(sessionId, new SessionInfo(playerId, gameId));
-        System.out.println("Session Registered: " + sessionId + " -> Player: " + playerId + ", Game: " + gameId); // Loglama
+    /**
+     * Oturumu oyuncu ve oyunla eşleştirir. Aynı oturumun aynı oyun için tekrar eden abonelikleri tek kayıt sayılır;
+     * oturum başka bir oyuna kayıtlıysa eski kaydı kaldırılır.
+     * @return Oturum, oyuncunun bu oyundaki tek açık oturumu olduysa (ilk bağlantı veya yeniden bağlanma) true.
+     */
+    public boolean registerSession(String sessionId, String playerId, String gameId) {
+        SessionInfo existing = sessions.get(sessionId);
+        if (existing != null && existing.matches(gameId, playerId)) {
+            return false;
+        }
+        SessionInfo previous = sessions.put(sessionId, new SessionInfo(playerId, gameId));
+        if (previous != null) {
+            removeFromIndex(sessionId, previous);
+        }
+        boolean first = addToIndex(sessionId, playerId, gameId);
+        log.debug("Session registered: {} -> Player: {}, Game: {}", sessionId, playerId, gameId);
+        return first;
     }
 
+    /**
+     * Oturumun kaydını kaldırır.
+     * @return Oturumun kayıt bilgisi, oturum bir oyuna kayıtlı değilse null.
+     */
     public SessionInfo unregisterSession(String sessionId) {
         SessionInfo info = sessions.remove(sessionId);
         if (info != null) {
-            System.out.println("Session Unregistered: " + sessionId + " -> Player: " + info.getPlayerId() + ", Game: " + info.getGameId()); // Loglama
-        } else {
-            System.out.println("Session Unregister Attempt - Not Found: " + sessionId); // Loglama
+            removeFromIndex(sessionId, info);
+            log.debug("Session unregistered: {} -> Player: {}, Game: {}", sessionId, info.getPlayerId(), info.getGameId());
         }
         return info;
     }
 
-    public SessionInfo getSessionInfo(String sessionId) {
-        return sessions.get(sessionId);
+    /**
+     * @return Oyuncunun bu oyuna kayıtlı açık bir oturumu varsa true.
+     */
+    public boolean hasSession(String gameId, String playerId) {
+        return getSessionCount(gameId, playerId) > 0;
+    }
+
+    /**
+     * @return Oyuncunun bu oyuna kayıtlı açık oturum sayısı.
+     */
+    public int getSessionCount(String gameId, String playerId) {
+        GameSessions game = sessionsByGame.get(gameId);
+        if (game == null) {
+            return 0;
+        }
+        synchronized (game) {
+            Set<String> playerSessions = game.sessionsByPlayer.get(playerId);
+            return playerSessions == null ? 0 : playerSessions.size();
+        }
+    }
+
+    /**
+     * Bellekten çıkarılan oyunun tüm oturum kayıtlarını kaldırır. Bu oturumlar daha sonra kapandığında
+     * oyuncu kopması olarak işlenmez.
+     * @return Kaldırılan oturum sayısı.
+     */
+    public int removeGame(String gameId) {
+        GameSessions game = sessionsByGame.remove(gameId);
+        if (game == null) {
+            return 0;
+        }
+        int removed = 0;
+        synchronized (game) {
+            game.removed = true;
+            for (Set<String> playerSessions : game.sessionsByPlayer.values()) {
+                for (String sessionId : playerSessions) {
+                    SessionInfo info = sessions.get(sessionId);
+                    // Oturum bu arada başka bir oyuna kaydolduysa o kayıt korunur
+                    if (info != null && info.getGameId().equals(gameId) && sessions.remove(sessionId, info)) {
+                        removed++;
+                    }
+                }
+            }
+            game.sessionsByPlayer.clear();
+        }
+        return removed;
+    }
+
+    /**
+     * @return Oturum oyuncunun oyundaki ilk oturumu olarak eklendiyse true.
+     */
+    private boolean addToIndex(String sessionId, String playerId, String gameId) {
+        while (true) {
+            GameSessions game = sessionsByGame.computeIfAbsent(gameId, id -> new GameSessions());
+            synchronized (game) {
+                if (game.removed) {
+                    continue; // Oyun bu arada indeksten çıkarıldı, yenisini al
+                }
+                Set<String> playerSessions = game.sessionsByPlayer.computeIfAbsent(playerId, id -> new HashSet<>(2));
+                return playerSessions.add(sessionId) && playerSessions.size() == 1;
+            }
+        }
+    }
+
+    private void removeFromIndex(String sessionId, SessionInfo info) {
+        GameSessions game = sessionsByGame.get(info.getGameId());
+        if (game == null) {
+            return;
+        }
+        synchronized (game) {
+            Set<String> playerSessions = game.sessionsByPlayer.get(info.getPlayerId());
+            if (playerSessions != null && playerSessions.remove(sessionId) && playerSessions.isEmpty()) {
+                game.sessionsByPlayer.remove(info.getPlayerId());
+            }
+            if (game.sessionsByPlayer.isEmpty() && !game.removed) {
+                game.removed = true;
+                sessionsByGame.remove(info.getGameId(), game);
+            }
+        }
+    }
+
+    /**
+     * @return Kayıtlı oturum sayısı.
+     */
+    public int size() {
+        return sessions.size();
+    }
+
+    /**
+     * @return Kayıtlı oturumu olan oyun sayısı.
+     */
+    public int getGameCount() {
+        return sessionsByGame.size();
     }
-} 
\ No newline at end of file
+}
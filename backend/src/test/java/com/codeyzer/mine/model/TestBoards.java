@@ -0,0 +1,42 @@
+package com.codeyzer.mine.model;
+
+/**
+ * Testler için elle çizilmiş tahtalar. Her satır bir tahta satırıdır; {@code *} mayın, diğer karakterler güvenli hücredir.
+ * Komşu mayın sayıları mayınlardan hesaplanır.
+ */
+public final class TestBoards {
+
+    private TestBoards() {
+    }
+
+    public static PackedBoard parse(String... rows) {
+        PackedBoard board = new PackedBoard(rows.length, rows[0].length());
+        for (int row = 0; row < rows.length; row++) {
+            for (int col = 0; col < rows[row].length(); col++) {
+                if (rows[row].charAt(col) == '*') {
+                    board.setMine(board.index(row, col));
+                }
+            }
+        }
+        for (int index = 0; index < board.size(); index++) {
+            if (!board.isMine(index)) {
+                board.setAdjacentMines(index, countAdjacentMines(board, index));
+            }
+        }
+        return board;
+    }
+
+    private static int countAdjacentMines(PackedBoard board, int index) {
+        int row = board.rowOf(index);
+        int col = board.columnOf(index);
+        int mines = 0;
+        for (int i = row - 1; i <= row + 1; i++) {
+            for (int j = col - 1; j <= col + 1; j++) {
+                if ((i != row || j != col) && board.isInBounds(i, j) && board.isMine(board.index(i, j))) {
+                    mines++;
+                }
+            }
+        }
+        return mines;
+    }
+}
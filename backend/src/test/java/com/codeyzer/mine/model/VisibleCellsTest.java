@@ -0,0 +1,117 @@
+package com.codeyzer.mine.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VisibleCellsTest {
+
+    @Test
+    void addsRevealedAndFlaggedCellsOnly() {
+        PackedBoard board = TestBoards.parse(
+                "*...",
+                "....",
+                "..*.");
+        int revealed = board.index(1, 1);
+        int flagged = board.index(0, 0);
+        int closed = board.index(2, 3);
+        board.reveal(revealed, 0);
+        board.setFlagOwner(flagged, 1);
+
+        VisibleCells cells = VisibleCells.EMPTY.update(board, List.of(closed, revealed, flagged), false);
+
+        assertEquals(List.of(flagged, revealed), indices(cells));
+        assertEquals(2, cells.size());
+        assertFalse(cells.contains(closed));
+    }
+
+    @Test
+    void reevaluatesChangedCellsAndKeepsTheRest() {
+        PackedBoard board = TestBoards.parse(
+                "*...",
+                "....");
+        int flagged = board.index(0, 0);
+        int revealed = board.index(1, 3);
+        board.setFlagOwner(flagged, 0);
+        board.reveal(revealed, 1);
+        VisibleCells before = VisibleCells.EMPTY.update(board, List.of(flagged, revealed), false);
+
+        board.clearFlag(flagged);
+        int next = board.index(0, 2);
+        board.reveal(next, 0);
+        VisibleCells after = before.update(board, List.of(flagged, next, next), false);
+
+        assertEquals(List.of(next, revealed), indices(after));
+        assertEquals(2, after.size());
+        // Önceki küme değişmez
+        assertEquals(List.of(flagged, revealed), indices(before));
+    }
+
+    @Test
+    void sharesUnchangedChunksAndCopiesWrittenOnes() {
+        // 20x40 = 800 hücre; ilk ve son hücre farklı parçalarda
+        String[] rows = new String[20];
+        Arrays.fill(rows, ".".repeat(40));
+        PackedBoard board = TestBoards.parse(rows);
+        int first = 0;
+        int last = board.size() - 1;
+        board.reveal(first, 0);
+        VisibleCells before = VisibleCells.EMPTY.update(board, List.of(first), false);
+
+        board.reveal(last, 1);
+        board.reveal(first + 1, 1);
+        VisibleCells after = before.update(board, List.of(last, first + 1), false);
+
+        assertEquals(List.of(first), indices(before));
+        assertEquals(List.of(first, first + 1, last), indices(after));
+        assertEquals(3, after.size());
+        assertEquals(last, after.next(first + 2));
+        assertEquals(-1, after.next(last + 1));
+    }
+
+    @Test
+    void revealsMinesOnceWhenGameIsOver() {
+        PackedBoard board = TestBoards.parse(
+                "*..",
+                "..*");
+        int revealed = board.index(1, 0);
+        board.reveal(revealed, 0);
+        VisibleCells playing = VisibleCells.EMPTY.update(board, List.of(revealed), false);
+        assertFalse(playing.contains(board.index(0, 0)));
+
+        VisibleCells over = playing.update(board, List.of(), true);
+
+        assertEquals(List.of(board.index(0, 0), revealed, board.index(1, 2)), indices(over));
+        assertArrayEquals(new int[]{board.index(0, 0), board.index(1, 2)}, over.getRevealedMines());
+        // Sonraki güncellemeler mayınları yeniden bildirmez
+        VisibleCells after = over.update(board, List.of(), true);
+        assertEquals(indices(over), indices(after));
+        assertEquals(0, after.getRevealedMines().length);
+        assertSame(after, after.update(board, List.of(), true));
+        assertEquals(0, playing.getRevealedMines().length);
+    }
+
+    @Test
+    void returnsSameSetWhenNothingChanged() {
+        PackedBoard board = TestBoards.parse("..");
+
+        assertSame(VisibleCells.EMPTY, VisibleCells.EMPTY.update(board, List.of(), false));
+        assertTrue(VisibleCells.EMPTY.next(0) < 0);
+    }
+
+    private static List<Integer> indices(VisibleCells cells) {
+        List<Integer> indices = new ArrayList<>();
+        for (int index = cells.next(0); index >= 0; index = cells.next(index + 1)) {
+            indices.add(index);
+        }
+        return indices;
+    }
+}
@@ -0,0 +1,149 @@
+package com.codeyzer.mine.service;
+
+import com.codeyzer.mine.controller.WebSocketController;
+import com.codeyzer.mine.model.Game;
+import com.codeyzer.mine.model.GameSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+class GameBroadcastQueueTest {
+
+    private final WebSocketController webSocketController = mock(WebSocketController.class);
+    private final GameMetrics gameMetrics = new GameMetrics(new SimpleMeterRegistry());
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+    private GameBroadcastQueue queue;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        queue.shutdown();
+    }
+
+    @Test
+    void publishesFirstUpdateAtOnceAndCoalescesTheRestOfTheWindow() {
+        queue = new GameBroadcastQueue(webSocketController, gameMetrics, 1, Duration.ofMillis(300));
+        Game game = new Game(8, 8, 10);
+
+        GameSnapshot first = update(game);
+        queue.submit(first, List.of(1));
+        verify(webSocketController, timeout(200)).broadcastGameUpdate(first, 0, Set.of(1));
+
+        // Pencere içinde gelen güncellemeler tek bir delta olarak gönderilir
+        queue.submit(update(game), List.of(2));
+        queue.submit(update(game), List.of(3, 2));
+        GameSnapshot last = update(game);
+        queue.submit(last, List.of());
+
+        ArgumentCaptor<GameSnapshot> snapshots = ArgumentCaptor.forClass(GameSnapshot.class);
+        ArgumentCaptor<Long> baseVersions = ArgumentCaptor.forClass(Long.class);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Integer>> cells = ArgumentCaptor.forClass(Collection.class);
+        verify(webSocketController, after(600).times(2))
+                .broadcastGameUpdate(snapshots.capture(), baseVersions.capture(), cells.capture());
+        assertSame(last, snapshots.getAllValues().get(1));
+        assertEquals(first.getVersion(), baseVersions.getAllValues().get(1));
+        assertEquals(List.of(2, 3), new ArrayList<>(cells.getAllValues().get(1)));
+        assertEquals(4, queue.getSubmitted());
+        assertEquals(2, queue.getCoalesced());
+    }
+
+    @Test
+    void deltasOfEachGameFormAnUnbrokenVersionChain() throws Exception {
+        queue = new GameBroadcastQueue(webSocketController, gameMetrics, 4, Duration.ofMillis(1));
+        Map<String, List<long[]>> published = new ConcurrentHashMap<>();
+        Set<String> inFlight = ConcurrentHashMap.newKeySet();
+        List<String> overlaps = new ArrayList<>();
+        doAnswer(invocation -> {
+            GameSnapshot snapshot = invocation.getArgument(0);
+            long baseVersion = invocation.getArgument(1);
+            if (!inFlight.add(snapshot.getId())) {
+                synchronized (overlaps) {
+                    overlaps.add(snapshot.getId());
+                }
+            }
+            published.computeIfAbsent(snapshot.getId(), id -> new CopyOnWriteArrayList<>())
+                    .add(new long[]{baseVersion, snapshot.getVersion()});
+            inFlight.remove(snapshot.getId());
+            return null;
+        }).when(webSocketController).broadcastGameUpdate(any(), anyLong(), any());
+
+        int games = 8;
+        int updatesPerGame = 500;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> tasks = new ArrayList<>();
+        for (int i = 0; i < games; i++) {
+            tasks.add(executor.submit(() -> {
+                // Her oyunun güncellemeleri tek bir thread'den, sürüm sırasıyla gelir (oyun kilidinde olduğu gibi)
+                Game game = new Game(8, 8, 10);
+                start.await();
+                for (int version = 1; version <= updatesPerGame; version++) {
+                    queue.submit(update(game), List.of(version % 64));
+                }
+                return game.getId();
+            }));
+        }
+        start.countDown();
+        List<String> gameIds = new ArrayList<>();
+        for (Future<String> task : tasks) {
+            gameIds.add(task.get(30, TimeUnit.SECONDS));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!allPublished(published, gameIds, updatesPerGame) && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+
+        assertEquals(List.of(), overlaps);
+        for (String gameId : gameIds) {
+            List<long[]> events = published.get(gameId);
+            long expectedBase = 0;
+            for (long[] event : events) {
+                assertEquals(expectedBase, event[0], "baseVersion must continue from the previous delta");
+                assertTrue(event[1] > event[0]);
+                expectedBase = event[1];
+            }
+            assertEquals(updatesPerGame, expectedBase);
+        }
+    }
+
+    private static boolean allPublished(Map<String, List<long[]>> published, List<String> gameIds, long lastVersion) {
+        for (String gameId : gameIds) {
+            List<long[]> events = published.get(gameId);
+            if (events == null || events.get(events.size() - 1)[1] != lastVersion) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static GameSnapshot update(Game game) {
+        game.incrementVersion();
+        return game.publishSnapshot();
+    }
+}
@@ -0,0 +1,125 @@
+package com.codeyzer.mine.service;
+
+import com.codeyzer.mine.model.Game;
+import com.codeyzer.mine.model.GameSnapshot;
+import com.codeyzer.mine.model.GameStatus;
+import com.codeyzer.mine.model.PackedBoard;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameCommandSerializationTest {
+
+    private static final int ROWS = 16;
+    private static final int COLUMNS = 16;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+    private final GameServiceFixture fixture = new GameServiceFixture(Duration.ofMinutes(5), 10);
+    private String gameId;
+    private String currentTurn;
+    private Game game;
+
+    @BeforeEach
+    void startGame() {
+        gameId = fixture.gameService.createGame(ROWS, COLUMNS, 40, false).getId();
+        fixture.gameService.joinGame(gameId, "a");
+        GameSnapshot joined = fixture.gameService.joinGame(gameId, "b");
+        fixture.gameService.markPlayerReady(gameId, joined.getPlayers().get(0).getId());
+        GameSnapshot started = fixture.gameService.markPlayerReady(gameId, joined.getPlayers().get(1).getId());
+        assertEquals(GameStatus.IN_PROGRESS, started.getStatus());
+        currentTurn = started.getCurrentTurn();
+        game = fixture.gameRepository.findById(gameId).orElseThrow();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        fixture.close();
+    }
+
+    @Test
+    void concurrentCommandsOnOneGameAreAppliedOneAtATime() throws Exception {
+        long startVersion = game.getVersion();
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<Long>>> tasks = new ArrayList<>();
+        for (int row = 0; row < threads; row++) {
+            int taskRow = row;
+            tasks.add(executor.submit(() -> {
+                start.await();
+                List<Long> versions = new ArrayList<>();
+                for (int col = 0; col < COLUMNS; col++) {
+                    versions.add(fixture.gameService.toggleFlag(gameId, currentTurn, taskRow, col).getVersion());
+                }
+                return versions;
+            }));
+        }
+        start.countDown();
+
+        // Her komut ayrı bir sürüm üretir; kayıp veya aynı sürümü paylaşan güncelleme yoktur
+        Set<Long> versions = new HashSet<>();
+        for (Future<List<Long>> task : tasks) {
+            versions.addAll(task.get(30, TimeUnit.SECONDS));
+        }
+        int commands = threads * COLUMNS;
+        assertEquals(commands, versions.size());
+        assertEquals(startVersion + commands, game.getVersion());
+        assertEquals(startVersion + commands, fixture.gameService.getGameById(gameId).orElseThrow().getVersion());
+
+        PackedBoard board = game.getPackedBoard();
+        int flagged = 0;
+        for (int index = 0; index < board.size(); index++) {
+            if (board.isFlagged(index)) {
+                flagged++;
+            }
+        }
+        assertEquals(commands, flagged);
+    }
+
+    @Test
+    void waitingCommandsRunInArrivalOrder() throws Exception {
+        long startVersion = game.getVersion();
+        int commands = 6;
+        List<Future<GameSnapshot>> tasks = new ArrayList<>();
+        game.getLock().lock();
+        try {
+            for (int i = 0; i < commands; i++) {
+                int col = i;
+                tasks.add(executor.submit(() -> fixture.gameService.toggleFlag(gameId, currentTurn, 0, col)));
+                awaitQueueLength(i + 1);
+            }
+        } finally {
+            game.getLock().unlock();
+        }
+
+        // Adil kilit en uzun bekleyen komuta verilir: sürümler komutların geliş sırasıyla artar
+        for (int i = 0; i < commands; i++) {
+            GameSnapshot snapshot = tasks.get(i).get(5, TimeUnit.SECONDS);
+            assertNotNull(snapshot);
+            assertEquals(startVersion + i + 1, snapshot.getVersion());
+        }
+    }
+
+    private void awaitQueueLength(int length) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (game.getLock().getQueueLength() < length) {
+            assertTrue(System.nanoTime() < deadline, "Command did not reach the game lock");
+            Thread.sleep(1);
+        }
+    }
+}
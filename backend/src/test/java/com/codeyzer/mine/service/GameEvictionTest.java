@@ -0,0 +1,120 @@
+package com.codeyzer.mine.service;
+
+import com.codeyzer.mine.model.Game;
+import com.codeyzer.mine.model.GameSnapshot;
+import com.codeyzer.mine.model.GameStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameEvictionTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private GameServiceFixture fixture;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        fixture.close();
+    }
+
+    @Test
+    void commandWaitingForLockDoesNotReviveEvictedGame() throws Exception {
+        // Hareketsiz lobiler hemen çıkarılabilir; bellekte tek oyunluk yer var
+        fixture = new GameServiceFixture(Duration.ZERO, 1);
+        String gameId = fixture.gameService.createGame(8, 8, 10, false).getId();
+        Game game = fixture.gameRepository.findById(gameId).orElseThrow();
+
+        Future<GameSnapshot> join;
+        game.getLock().lock();
+        try {
+            // Komut oyunu bulur ve kilidi beklemeye başlar; bu arada oyun çıkarılır
+            join = executor.submit(() -> fixture.gameService.joinGame(gameId, "late"));
+            awaitQueued(game);
+            fixture.lifecycleManager.evictExpiredGames();
+        } finally {
+            game.getLock().unlock();
+        }
+
+        assertNull(join.get(5, TimeUnit.SECONDS));
+        assertTrue(fixture.gameRepository.findById(gameId).isEmpty());
+        assertEquals(0, fixture.gameRepository.count());
+        assertEquals(0, fixture.gameRepository.countByStatus(GameStatus.WAITING_FOR_PLAYERS));
+        assertEquals(0, fixture.gameRepository.findPage(null, 0, 10).size());
+        // Çıkarılan oyunun yeri bırakıldı ve geri alınmadı: tam olarak bir yeni oyun sığar
+        assertNotNull(fixture.gameService.createGame(8, 8, 10, false));
+        assertNull(fixture.gameService.createGame(8, 8, 10, false));
+    }
+
+    @Test
+    void concurrentCommandsAndEvictionKeepRepositoryAndSlotsConsistent() throws Exception {
+        int maxLiveGames = 40;
+        fixture = new GameServiceFixture(Duration.ZERO, maxLiveGames);
+        List<String> gameIds = new ArrayList<>();
+        for (int i = 0; i < maxLiveGames; i++) {
+            gameIds.add(fixture.gameService.createGame(8, 8, 10, false).getId());
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int worker = 0; worker < 3; worker++) {
+            tasks.add(executor.submit(() -> {
+                start.await();
+                for (String gameId : gameIds) {
+                    fixture.gameService.joinGame(gameId, "a");
+                    fixture.gameService.joinGame(gameId, "b");
+                }
+                return null;
+            }));
+        }
+        tasks.add(executor.submit(() -> {
+            start.await();
+            for (int i = 0; i < 20; i++) {
+                fixture.lifecycleManager.evictExpiredGames();
+            }
+            return null;
+        }));
+        start.countDown();
+        for (Future<?> task : tasks) {
+            task.get(30, TimeUnit.SECONDS);
+        }
+
+        int live = fixture.gameRepository.count();
+        int indexed = 0;
+        for (GameStatus status : GameStatus.values()) {
+            indexed += fixture.gameRepository.countByStatus(status);
+        }
+        assertEquals(live, indexed);
+        assertEquals(live, fixture.gameRepository.findPage(null, 0, maxLiveGames * 2).size());
+        for (String gameId : gameIds) {
+            fixture.gameRepository.findById(gameId)
+                    .ifPresent(game -> assertTrue(!game.isEvicted(), "Evicted game is back in the repository"));
+        }
+        // Boş yer sayısı bellekteki oyun sayısıyla tutarlı: tam olarak kalan yer kadar yeni oyun oluşturulabilir
+        for (int i = live; i < maxLiveGames; i++) {
+            assertNotNull(fixture.gameService.createGame(8, 8, 10, false));
+        }
+        assertNull(fixture.gameService.createGame(8, 8, 10, false));
+    }
+
+    private static void awaitQueued(Game game) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!game.getLock().hasQueuedThreads()) {
+            assertTrue(System.nanoTime() < deadline, "Command did not reach the game lock");
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.codeyzer.mine.service;
+
+import com.codeyzer.mine.dto.GameResumeDTO;
+import com.codeyzer.mine.dto.GameUpdateEventDTO;
+import com.codeyzer.mine.model.GameSnapshot;
+import com.codeyzer.mine.model.GameStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+
+class GameResumeTest {
+
+    private static final int EVENT_LOG_SIZE = 8;
+
+    private final GameServiceFixture fixture = new GameServiceFixture(Duration.ofMinutes(5), 10, EVENT_LOG_SIZE);
+    private String gameId;
+    private String currentTurn;
+
+    @BeforeEach
+    void startGame() {
+        // Yayınlanan her delta, gerçek denetleyicide olduğu gibi olay tamponuna eklenir
+        doAnswer(invocation -> {
+            GameSnapshot snapshot = invocation.getArgument(0);
+            GameUpdateEventDTO event = new GameUpdateEventDTO();
+            event.setGameId(snapshot.getId());
+            event.setBaseVersion(invocation.getArgument(1));
+            event.setVersion(snapshot.getVersion());
+            fixture.gameEventLog.append(event);
+            return null;
+        }).when(fixture.webSocketController).broadcastGameUpdate(any(), anyLong(), any());
+
+        gameId = fixture.gameService.createGame(8, 8, 10, false).getId();
+        fixture.gameService.joinGame(gameId, "a");
+        GameSnapshot joined = fixture.gameService.joinGame(gameId, "b");
+        fixture.gameService.markPlayerReady(gameId, joined.getPlayers().get(0).getId());
+        GameSnapshot started = fixture.gameService.markPlayerReady(gameId, joined.getPlayers().get(1).getId());
+        assertEquals(GameStatus.IN_PROGRESS, started.getStatus());
+        currentTurn = started.getCurrentTurn();
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixture.close();
+    }
+
+    @Test
+    void resumesFromEventsWhileTheyAreStillInTheLog() throws Exception {
+        long version = toggleFlags(3);
+        long lastSeen = version - 3;
+
+        GameResumeDTO resume = fixture.gameService.resumeGame(gameId, lastSeen).orElseThrow();
+
+        assertNull(resume.getGame());
+        List<GameUpdateEventDTO> events = resume.getEvents();
+        assertTrue(events.get(0).getBaseVersion() <= lastSeen);
+        for (int i = 1; i < events.size(); i++) {
+            assertEquals(events.get(i - 1).getVersion(), events.get(i).getBaseVersion());
+        }
+        assertEquals(version, events.get(events.size() - 1).getVersion());
+    }
+
+    @Test
+    void upToDateClientGetsNoEvents() throws Exception {
+        long version = toggleFlags(2);
+
+        GameResumeDTO resume = fixture.gameService.resumeGame(gameId, version).orElseThrow();
+
+        assertEquals(List.of(), resume.getEvents());
+        assertNull(resume.getGame());
+    }
+
+    @Test
+    void fallsBackToSnapshotOnceMissedEventsLeftTheLog() throws Exception {
+        long version = toggleFlags(EVENT_LOG_SIZE * 3);
+
+        GameResumeDTO resume = fixture.gameService.resumeGame(gameId, 1).orElseThrow();
+
+        assertNull(resume.getEvents());
+        assertNotNull(resume.getGame());
+        assertEquals(version, resume.getGame().getVersion());
+    }
+
+    @Test
+    void fallsBackToSnapshotForVersionAheadOfTheGame() throws Exception {
+        long version = toggleFlags(2);
+
+        GameResumeDTO resume = fixture.gameService.resumeGame(gameId, version + 5).orElseThrow();
+
+        assertNull(resume.getEvents());
+        assertEquals(version, resume.getGame().getVersion());
+    }
+
+    @Test
+    void unknownGameCannotBeResumed() {
+        assertTrue(fixture.gameService.resumeGame("missing", 0).isEmpty());
+    }
+
+    /**
+     * Sıradaki oyuncu olarak farklı hücrelere bayrak koyar. Her bayraktan sonra sürüm olay tamponuna ulaşana kadar
+     * beklenir; böylece güncellemeler birleştirilmez ve her biri tamponda ayrı bir olay olur.
+     * @return Oyunun son sürümü.
+     */
+    private long toggleFlags(int count) throws InterruptedException {
+        long version = 0;
+        for (int i = 0; i < count; i++) {
+            version = fixture.gameService.toggleFlag(gameId, currentTurn, i / 8, i % 8).getVersion();
+            awaitPublished(version);
+        }
+        return version;
+    }
+
+    private void awaitPublished(long version) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (fixture.gameEventLog.eventsSince(gameId, version) == null) {
+            assertTrue(System.nanoTime() < deadline, "Update was not published");
+            Thread.sleep(1);
+        }
+    }
+}
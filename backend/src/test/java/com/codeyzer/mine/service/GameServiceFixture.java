@@ -0,0 +1,56 @@
+package com.codeyzer.mine.service;
+
+import com.codeyzer.mine.controller.WebSocketController;
+import com.codeyzer.mine.repository.InMemoryGameArchive;
+import com.codeyzer.mine.repository.InMemoryGameRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Duration;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Servis testleri için Spring bağlamı olmadan kurulan oyun servisi ve bağımlılıkları.
+ * İstemcilere gönderim yapan {@link WebSocketController} sahtedir; diğer bileşenler gerçektir.
+ */
+class GameServiceFixture implements AutoCloseable {
+
+    final InMemoryGameRepository gameRepository = new InMemoryGameRepository();
+    final InMemoryGameArchive gameArchive = new InMemoryGameArchive(100);
+    final WebSocketController webSocketController = mock(WebSocketController.class);
+    final GameMetrics gameMetrics = new GameMetrics(new SimpleMeterRegistry());
+    final BoardService boardService = new BoardService("SplittableRandom");
+    final TurnTimerScheduler turnTimerScheduler = new TurnTimerScheduler(gameMetrics);
+    final ReconnectGraceTimer reconnectGraceTimer = new ReconnectGraceTimer();
+    final NoGuessBoardGenerator noGuessBoardGenerator = new NoGuessBoardGenerator(boardService, 1, Duration.ofMillis(30));
+    final BoardPool boardPool = new BoardPool(boardService, false, 0);
+    final GameEventLog gameEventLog;
+    final WebSocketSessionRegistry sessionRegistry = new WebSocketSessionRegistry();
+    final LobbyService lobbyService = new LobbyService(gameRepository, webSocketController);
+    final GameBroadcastQueue broadcastQueue = new GameBroadcastQueue(webSocketController, gameMetrics, 1, Duration.ZERO);
+    final GameLifecycleManager lifecycleManager;
+    final GameService gameService;
+
+    GameServiceFixture(Duration staleLobbyTtl, int maxLiveGames) {
+        this(staleLobbyTtl, maxLiveGames, 64);
+    }
+
+    GameServiceFixture(Duration staleLobbyTtl, int maxLiveGames, int eventLogSize) {
+        gameEventLog = new GameEventLog(gameRepository, eventLogSize);
+        lifecycleManager = new GameLifecycleManager(gameRepository, gameArchive, turnTimerScheduler, lobbyService,
+                gameEventLog, sessionRegistry, Duration.ofMinutes(10), staleLobbyTtl, maxLiveGames, true);
+        gameService = new GameService(gameRepository, broadcastQueue, boardService, turnTimerScheduler,
+                lifecycleManager, gameArchive, lobbyService, boardPool, noGuessBoardGenerator, gameMetrics,
+                gameEventLog, reconnectGraceTimer, sessionRegistry, false, Duration.ofSeconds(30));
+    }
+
+    @Override
+    public void close() {
+        broadcastQueue.shutdown();
+        turnTimerScheduler.shutdown();
+        reconnectGraceTimer.shutdown();
+        noGuessBoardGenerator.shutdown();
+        boardPool.shutdown();
+        lobbyService.shutdown();
+    }
+}
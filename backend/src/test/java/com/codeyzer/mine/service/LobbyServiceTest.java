@@ -0,0 +1,63 @@
+package com.codeyzer.mine.service;
+
+import com.codeyzer.mine.dto.LobbyEventDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+class LobbyServiceTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final GameServiceFixture fixture = new GameServiceFixture(Duration.ofMinutes(5), 100);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        fixture.close();
+    }
+
+    @Test
+    void eventsFromConcurrentGamesAreSentInSequenceOrder() throws Exception {
+        int threads = 4;
+        int gamesPerThread = 10;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            tasks.add(executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < gamesPerThread; j++) {
+                    String gameId = fixture.gameService.createGame(8, 8, 10, false).getId();
+                    fixture.gameService.joinGame(gameId, "a");
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> task : tasks) {
+            task.get(30, TimeUnit.SECONDS);
+        }
+
+        // Her oyun için bir ADDED ve oyuncu katılınca bir UPDATED olayı
+        int expected = threads * gamesPerThread * 2;
+        ArgumentCaptor<LobbyEventDTO> events = ArgumentCaptor.forClass(LobbyEventDTO.class);
+        verify(fixture.webSocketController, timeout(5000).times(expected)).broadcastLobbyEvent(events.capture());
+        List<LobbyEventDTO> sent = events.getAllValues();
+        for (int i = 0; i < sent.size(); i++) {
+            assertEquals(i + 1, sent.get(i).getSequence());
+        }
+        assertEquals(expected, fixture.lobbyService.getListing().getSequence());
+    }
+}
@@ -0,0 +1,65 @@
+package com.codeyzer.mine.service;
+
+import com.codeyzer.mine.model.PackedBoard;
+import com.codeyzer.mine.model.TestBoards;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NoGuessSolverTest {
+
+    @Test
+    void clearsBoardWithSingleCellRule() {
+        PackedBoard board = TestBoards.parse(
+                ".....",
+                ".....",
+                "...*.",
+                ".....");
+
+        assertTrue(new NoGuessSolver(board).solve(board.index(0, 0)));
+    }
+
+    @Test
+    void clearsBoardThatNeedsPairRule() {
+        // Tek hücre ve toplam kuralları bu tahtada ilerleyemez; ikili kural olmadan çözülemez
+        PackedBoard board = TestBoards.parse(
+                "*...*",
+                ".....",
+                "...*.",
+                "..*..");
+
+        assertTrue(new NoGuessSolver(board).solve(board.index(3, 0)));
+    }
+
+    @Test
+    void clearsEnclosedCellWithTotalRule() {
+        // Sol üst köşe mayınlarla çevrili; hiçbir sayı hücresine komşu değil, sadece toplam mayın sayısıyla açılabilir
+        PackedBoard board = TestBoards.parse(
+                ".*..",
+                "**..",
+                "....",
+                "....");
+
+        assertTrue(new NoGuessSolver(board).solve(board.index(3, 3)));
+    }
+
+    @Test
+    void rejectsFiftyFiftyBoard() {
+        // Sağdaki iki hücreden biri mayın; iki sayı hücresi de ikisini birden görür, ayırt edilemez
+        PackedBoard board = TestBoards.parse(
+                "..*",
+                "...");
+
+        assertFalse(new NoGuessSolver(board).solve(board.index(0, 0)));
+    }
+
+    @Test
+    void rejectsMineOnFirstClick() {
+        PackedBoard board = TestBoards.parse(
+                "*..",
+                "...");
+
+        assertFalse(new NoGuessSolver(board).solve(board.index(0, 0)));
+    }
+}
@@ -0,0 +1,136 @@
+package com.codeyzer.mine.service;
+
+import com.codeyzer.mine.listener.WebSocketDisconnectListener;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class WebSocketSessionRegistryTest {
+
+    private final WebSocketSessionRegistry registry = new WebSocketSessionRegistry();
+
+    @Test
+    void playerStaysConnectedUntilLastSessionCloses() {
+        assertTrue(registry.registerSession("s1", "p1", "g1"));
+        assertFalse(registry.registerSession("s2", "p1", "g1"));
+        assertFalse(registry.registerSession("s1", "p1", "g1")); // Aynı oturumun tekrar eden aboneliği
+        assertEquals(2, registry.getSessionCount("g1", "p1"));
+
+        registry.unregisterSession("s1");
+        assertTrue(registry.hasSession("g1", "p1"));
+
+        registry.unregisterSession("s2");
+        assertFalse(registry.hasSession("g1", "p1"));
+        assertEquals(0, registry.size());
+        assertEquals(0, registry.getGameCount());
+    }
+
+    @Test
+    void sessionMovedToAnotherGameLeavesTheOldGame() {
+        registry.registerSession("s1", "p1", "g1");
+        assertTrue(registry.registerSession("s1", "p2", "g2"));
+
+        assertFalse(registry.hasSession("g1", "p1"));
+        assertEquals(1, registry.getGameCount());
+        assertEquals("g2", registry.unregisterSession("s1").getGameId());
+        assertEquals(0, registry.getGameCount());
+    }
+
+    @Test
+    void removedGameSessionsAreNotReportedOnDisconnect() {
+        registry.registerSession("s1", "p1", "g1");
+        registry.registerSession("s2", "p2", "g1");
+        registry.registerSession("s3", "p3", "g2");
+
+        assertEquals(2, registry.removeGame("g1"));
+
+        assertNull(registry.unregisterSession("s1"));
+        assertNull(registry.unregisterSession("s2"));
+        assertEquals(1, registry.size());
+        assertEquals(1, registry.getGameCount());
+        // Çıkarılan oyun ID'si için yeni kayıt yeni bir indeks oluşturur
+        assertTrue(registry.registerSession("s4", "p1", "g1"));
+        assertTrue(registry.hasSession("g1", "p1"));
+    }
+
+    @Test
+    void concurrentConnectsAndDisconnectsLeaveNothingBehind() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                int worker = thread;
+                tasks.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 2000; i++) {
+                        String sessionId = worker + "-" + i;
+                        String gameId = "g" + (i % 4);
+                        registry.registerSession(sessionId, "p" + (i % 3), gameId);
+                        if (i % 5 == 0) {
+                            registry.removeGame(gameId);
+                        }
+                        registry.unregisterSession(sessionId);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> task : tasks) {
+                task.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(0, registry.size());
+        assertEquals(0, registry.getGameCount());
+    }
+
+    @Test
+    void disconnectListenerHandlesOnlyTheLastSessionOfAPlayer() {
+        GameService gameService = mock(GameService.class);
+        WebSocketDisconnectListener listener = new WebSocketDisconnectListener(registry, gameService);
+        registry.registerSession("s1", "p1", "g1");
+        registry.registerSession("s2", "p1", "g1");
+
+        listener.onApplicationEvent(disconnect("s1"));
+        verify(gameService, never()).handlePlayerDisconnect("g1", "p1");
+
+        listener.onApplicationEvent(disconnect("s2"));
+        verify(gameService).handlePlayerDisconnect("g1", "p1");
+        assertEquals(0, registry.size());
+        assertEquals(0, registry.getGameCount());
+
+        // Kayıtsız oturumun kapanması oyuna dokunmaz
+        listener.onApplicationEvent(disconnect("lobby"));
+        verify(gameService).handlePlayerDisconnect("g1", "p1");
+    }
+
+    private static SessionDisconnectEvent disconnect(String sessionId) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.DISCONNECT);
+        accessor.setSessionId(sessionId);
+        Message<byte[]> message = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+        return new SessionDisconnectEvent(WebSocketSessionRegistryTest.class, message, sessionId, CloseStatus.NORMAL);
+    }
+}
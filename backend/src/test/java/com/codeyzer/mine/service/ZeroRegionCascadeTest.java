@@ -0,0 +1,124 @@
+package com.codeyzer.mine.service;
+
+import com.codeyzer.mine.model.PackedBoard;
+import com.codeyzer.mine.model.TestBoards;
+import com.codeyzer.mine.model.ZeroRegionIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ZeroRegionCascadeTest {
+
+    private final BoardService boardService = new BoardService("SplittableRandom");
+    private PackedBoard board;
+
+    @BeforeEach
+    void setUp() {
+        // Sol üstte tek hücrelik, sağda dört hücrelik '0' bölgesi; aralarında mayın duvarı var
+        board = TestBoards.parse(
+                "..*..",
+                "..*..",
+                "***..",
+                ".....");
+    }
+
+    @Test
+    void indexesSeparateRegionsWithNumberedBoundaries() {
+        ZeroRegionIndex regions = boardService.indexZeroRegions(board);
+
+        assertEquals(2, regions.getRegionCount());
+        int left = regions.getRegion(board.index(0, 0));
+        int right = regions.getRegion(board.index(0, 4));
+        assertNotEquals(left, right);
+        for (int row = 0; row < 4; row++) {
+            assertEquals(right, regions.getRegion(board.index(row, 4)));
+        }
+        assertEquals(ZeroRegionIndex.NO_REGION, regions.getRegion(board.index(0, 3))); // Numaralı hücre bölgeye ait değil
+
+        assertEquals(cells(0, 0, 0, 1, 1, 0, 1, 1), regionCells(regions, left));
+        assertEquals(cells(0, 3, 0, 4, 1, 3, 1, 4, 2, 3, 2, 4, 3, 3, 3, 4), regionCells(regions, right));
+    }
+
+    @Test
+    void cascadeSkipsFlaggedCellsAndStopsAtBoundary() {
+        boardService.indexZeroRegions(board);
+        int flaggedZero = board.index(1, 4);
+        int flaggedNumber = board.index(2, 3);
+        board.setFlagOwner(flaggedZero, 1);
+        board.setFlagOwner(flaggedNumber, 0);
+
+        board.reveal(board.index(0, 4), 0);
+        List<Integer> revealedCells = new ArrayList<>();
+        boardService.revealAdjacentCells(board, 0, 4, revealedCells);
+
+        // Bayraklı '0' hücresi açılmasa da bölge önceden hesaplandığı için arkasındaki hücreler açılır
+        assertEquals(cells(0, 3, 1, 3, 2, 4, 3, 3, 3, 4), new TreeSet<>(revealedCells));
+        assertFalse(board.isRevealed(flaggedZero));
+        assertEquals(1, board.getFlagOwner(flaggedZero));
+        assertFalse(board.isRevealed(flaggedNumber));
+        assertEquals(0, board.getFlagOwner(flaggedNumber));
+        // Mayın duvarının öbür tarafındaki bölge açılmaz
+        assertFalse(board.isRevealed(board.index(0, 0)));
+        assertFalse(board.isRevealed(board.index(3, 2)));
+    }
+
+    @Test
+    void cascadeDoesNotStartFromNumberedCell() {
+        boardService.indexZeroRegions(board);
+        board.reveal(board.index(0, 3), 0);
+        List<Integer> revealedCells = new ArrayList<>();
+
+        boardService.revealAdjacentCells(board, 0, 3, revealedCells);
+
+        assertTrue(revealedCells.isEmpty());
+    }
+
+    @Test
+    void indexesBoardsTooLargeForCompactStorage() {
+        // 257x256 hücre char dizilerine sığmaz; tek mayın sol üstte, geri kalan her şey tek bölge
+        String[] rows = new String[257];
+        Arrays.fill(rows, ".".repeat(256));
+        rows[0] = "*" + ".".repeat(255);
+        PackedBoard large = TestBoards.parse(rows);
+        ZeroRegionIndex regions = boardService.indexZeroRegions(large);
+
+        int last = large.size() - 1;
+        assertEquals(1, regions.getRegionCount());
+        assertEquals(ZeroRegionIndex.NO_REGION, regions.getRegion(large.index(0, 1)));
+        assertEquals(0, regions.getRegion(last));
+
+        large.reveal(last, 0);
+        List<Integer> revealedCells = new ArrayList<>();
+        boardService.revealAdjacentCells(large, 256, 255, revealedCells);
+
+        assertEquals(large.size() - 2, revealedCells.size()); // Mayın ve ilk açılan hücre hariç hepsi
+        assertTrue(large.isRevealed(large.index(1, 1)));
+        assertFalse(large.isRevealed(0));
+    }
+
+    private Set<Integer> regionCells(ZeroRegionIndex regions, int region) {
+        Set<Integer> cells = new TreeSet<>();
+        for (int position = regions.getRegionStart(region); position < regions.getRegionEnd(region); position++) {
+            cells.add(regions.getRegionCell(position));
+        }
+        return cells;
+    }
+
+    private Set<Integer> cells(int... coordinates) {
+        Set<Integer> cells = new TreeSet<>();
+        for (int i = 0; i < coordinates.length; i += 2) {
+            cells.add(board.index(coordinates[i], coordinates[i + 1]));
+        }
+        return cells;
+    }
+}
@@ -3,7 +3,7 @@ import { useNavigate } from 'react-router-dom'
 import './App.css'
 import GameSetup from './components/GameSetup'
 import GameBoard from './components/GameBoard'
-import { Game, Player, GameService } from './services/GameService'
+import { Game, Player } from './services/GameService'
 import WebSocketService from './services/WebSocketService'
 
 function App() {
@@ -33,6 +33,13 @@ function App() {
     }
   }
 
+  const handleSpectate = (gameId: string) => {
+    setError(null)
+    setCurrentPlayer(null)
+    // İlk durum geldiğinde handleGameUpdate oyunu gösterir
+    WebSocketService.spectate(gameId, handleGameUpdate, () => setError('Bu oyunun izleyici sınırı dolu'))
+  }
+
   const handleGameUpdate = (updatedGame: Game) => {
     setCurrentGame(updatedGame)
     
@@ -49,8 +56,8 @@ function App() {
     if (!currentGame || !currentPlayer) return
     
     try {
-      await GameService.makeMove(currentGame.id, currentPlayer.id, row, col)
-      // Yanıt beklemiyoruz, WebSocket üzerinden güncellemeler alacağız
+      await WebSocketService.makeMove(row, col)
+      // Yanıtta sadece onay gelir, yeni durum WebSocket olay kanalından alınır
     } catch (err) {
       setError('Hamle yapılırken bir hata oluştu')
       console.error(err)
@@ -79,7 +86,7 @@ function App() {
           
         </div>
       ) : (
-        <GameSetup onGameStart={handleGameStart} />
+        <GameSetup onGameStart={handleGameStart} onSpectate={handleSpectate} />
       )}
     </div>
   )
@@ -1,5 +1,6 @@
 import React, { useState, useEffect, useCallback } from 'react';
-import { Game, GameService } from '../services/GameService';
+import { Game, GameService, GameSummary } from '../services/GameService';
+import LobbyService from '../services/LobbyService';
 import { useLoadingState } from '../hooks/useLoadingState';
 import './GameSetup.css'; // Stil dosyasını paylaşıyoruz
 
@@ -19,13 +20,14 @@ type DifficultyLevel = keyof typeof difficultyLevels;
 
 const CreateOrJoinGame: React.FC<CreateOrJoinGameProps> = ({ username, onGameStart }) => {
     const [selectedDifficulty, setSelectedDifficulty] = useState<DifficultyLevel>('easy');
-    const [availableGames, setAvailableGames] = useState<Game[]>([]);
+    const [noGuess, setNoGuess] = useState(false);
+    const [availableGames, setAvailableGames] = useState<GameSummary[]>([]);
     const { loading, error, wrapAsync, setError } = useLoadingState(); // Kendi yükleme/hata durumunu yönetir
 
     const loadAvailableGames = useCallback(() => {
         wrapAsync(async () => {
-            const games = await GameService.getAllGames();
-            setAvailableGames(games.filter(game => game.players.length === 1 && !game.gameOver));
+            const summaries = await GameService.getGameSummaries('WAITING_FOR_PLAYERS');
+            setAvailableGames(summaries.content.filter(game => game.playerNames.length === 1));
         }, 'Mevcut oyunlar yüklenirken hata oluştu.');
     }, [wrapAsync]);
 
@@ -33,6 +35,14 @@ const CreateOrJoinGame: React.FC<CreateOrJoinGameProps> = ({ username, onGameSta
         loadAvailableGames();
     }, [loadAvailableGames]);
 
+    // Lobi değişiklikleri /topic/lobby üzerinden anlık gelir
+    useEffect(() => {
+        LobbyService.connect(games => {
+            setAvailableGames(games.filter(game => game.status === 'WAITING_FOR_PLAYERS' && game.playerNames.length === 1));
+        });
+        return () => LobbyService.disconnect();
+    }, []);
+
     const handleCreateGame = useCallback(() => {
         if (!username.trim()) {
             setError('Lütfen bir kullanıcı adı giriniz'); // Bu hata burada gösterilecek
@@ -40,7 +50,7 @@ const CreateOrJoinGame: React.FC<CreateOrJoinGameProps> = ({ username, onGameSta
         }
         wrapAsync(async () => {
             const { rows, columns, mineCount } = difficultyLevels[selectedDifficulty];
-            const newGame = await GameService.createGame(rows, columns, mineCount);
+            const newGame = await GameService.createGame(rows, columns, mineCount, noGuess);
             if (newGame) {
                 const joinedGame = await GameService.joinGame(newGame.id, username);
                 if (joinedGame) {
@@ -49,7 +59,7 @@ const CreateOrJoinGame: React.FC<CreateOrJoinGameProps> = ({ username, onGameSta
                 }
             }
         }, 'Oyun oluşturulurken bir hata oluştu.');
-    }, [username, selectedDifficulty, wrapAsync, onGameStart, setError]);
+    }, [username, selectedDifficulty, noGuess, wrapAsync, onGameStart, setError]);
 
     const handleJoinGameFromList = useCallback((joinGameId: string) => {
         if (!username.trim()) {
@@ -87,6 +97,17 @@ const CreateOrJoinGame: React.FC<CreateOrJoinGameProps> = ({ username, onGameSta
                          ))}
                      </select>
                 </div>
+                <div className="difficulty-selector">
+                     <label htmlFor="no-guess" className="setting-label">
+                         <input
+                             id="no-guess"
+                             type="checkbox"
+                             checked={noGuess}
+                             onChange={(e) => setNoGuess(e.target.checked)}
+                         />
+                         {' '}Tahminsiz (şansa kalan hamle yok)
+                     </label>
+                </div>
                 <button 
                     className="create-game-btn"
                     onClick={handleCreateGame}
@@ -114,8 +135,8 @@ const CreateOrJoinGame: React.FC<CreateOrJoinGameProps> = ({ username, onGameSta
                         {availableGames.map(game => (
                             <li key={game.id} className="game-item">
                                 <span className="game-info-text">
-                                    <strong>{game.players[0]?.username}</strong>'in oyunu 
-                                    ({game.rows}x{game.columns}, {game.mineCount} mayın)
+                                    <strong>{game.playerNames[0]}</strong>'in oyunu 
+                                    ({game.rows}x{game.columns}, {game.mineCount} mayın{game.noGuess ? ', tahminsiz' : ''})
                                 </span>
                                 <button 
                                     className="join-game-btn"
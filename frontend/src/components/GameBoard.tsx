@@ -2,7 +2,7 @@ import React, { useEffect, useState } from 'react';
 import Cell from './Cell';
 import { Game, Player } from '../services/GameService';
 import './GameBoard.css';
-import { GameService } from '../services/GameService';
+import WebSocketService from '../services/WebSocketService';
 import PlayerScoreDisplay from './PlayerScoreDisplay';
 import PlayerClock from './PlayerClock';
 
@@ -24,9 +24,15 @@ const GameBoard: React.FC<GameBoardProps> = ({ game, currentPlayer, onMakeMove,
     const isWaitingForReady = game?.status === 'WAITING_FOR_READY';
     const isInProgress = game?.status === 'IN_PROGRESS';
     const isGameOver = game?.status === 'GAME_OVER';
+    const isSpectator = currentPlayer === null;
 
     useEffect(() => {
-        if (!game || !currentPlayer) return;
+        if (!game) return;
+        if (!currentPlayer) {
+            // İzleyici: oyuncuya özel yönlendirmeler yerine oyunun son olayı gösterilir
+            setStatusMessage(game.lastEventMessage || 'Oyunu izliyorsun.');
+            return;
+        }
 
         let message = "";
         const activePlayer = game.players.find(p => p.id === game.currentTurn);
@@ -80,7 +86,7 @@ const GameBoard: React.FC<GameBoardProps> = ({ game, currentPlayer, onMakeMove,
     const handleToggleFlag = async (row: number, col: number) => {
         if (canToggleFlag && game && currentPlayer) {
             try {
-                await GameService.toggleFlag(game.id, currentPlayer.id, row, col);
+                await WebSocketService.toggleFlag(row, col);
             } catch (err) {
                 console.error("Bayrak değiştirme hatası:", err);
             }
@@ -90,7 +96,7 @@ const GameBoard: React.FC<GameBoardProps> = ({ game, currentPlayer, onMakeMove,
     const handleReadyClick = async () => {
         if (game && currentPlayer && !currentPlayer.ready && isWaitingForReady) {
             try {
-                await GameService.markPlayerReady(game.id, currentPlayer.id);
+                await WebSocketService.markPlayerReady();
             } catch (error) {
                 console.error("Hazır olma durumu gönderilemedi:", error);
             }
@@ -102,13 +108,15 @@ const GameBoard: React.FC<GameBoardProps> = ({ game, currentPlayer, onMakeMove,
 
     const isCurrentPlayerWinner = isGameOver && game.winnerId !== null && game.winnerId === currentPlayer?.id;
     const isTie = isGameOver && game.winnerId === null;
+    const winnerUsername = game?.players.find(p => p.id === game.winnerId)?.username;
+    const turnPlayerUsername = game?.players.find(p => p.id === game.currentTurn)?.username;
 
     const revealedMineCount = game?.board.flat().filter(cell => cell.revealed && cell.mine).length ?? 0;
     const remainingMineCount = (game?.mineCount ?? 0) - revealedMineCount;
 
     const getGameInfoClass = () => {
         let className = "game-info";
-        if (isGameOver) {
+        if (isGameOver && !isSpectator) {
             if (isCurrentPlayerWinner) {
                 className += " game-info-win";
             } else if (isTie) {
@@ -135,13 +143,19 @@ const GameBoard: React.FC<GameBoardProps> = ({ game, currentPlayer, onMakeMove,
             >
                 <div className="game-info-header">
                     <button className="exit-game" onClick={onExitGame}>
-                        Oyundan Çık
+                        {isSpectator ? 'İzlemeyi Bırak' : 'Oyundan Çık'}
                     </button>
                 </div>
 
                 <div className="game-info-middle-row"> 
                     <div className={`turn-indicator ${'turn-indicator-large'}`}>
-                        {isGameOver ? (
+                        {isSpectator && (isGameOver || isInProgress) ? (
+                            <span className="waiting">
+                                {isGameOver
+                                    ? (isTie ? '🤝 Oyun Berabere Bitti! 🤝' : `🏆 Kazanan: ${winnerUsername}`)
+                                    : `👀 Sıra: ${turnPlayerUsername}`}
+                            </span>
+                        ) : isGameOver ? (
                             <span className={isCurrentPlayerWinner ? 'winner-text' : (isTie ? 'tie-text' : 'loser-text')}>
                                 {isCurrentPlayerWinner
                                     ? '🎉 Tebrikler! Kazandın! 🏆'
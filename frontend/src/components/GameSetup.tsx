@@ -8,9 +8,10 @@ import { Game } from '../services/GameService';
 
 interface GameSetupProps {
     onGameStart: (game: Game, username: string) => void;
+    onSpectate: (gameId: string) => void;
 }
 
-const GameSetup: React.FC<GameSetupProps> = ({ onGameStart }) => {
+const GameSetup: React.FC<GameSetupProps> = ({ onGameStart, onSpectate }) => {
     const { gameId } = useParams<{ gameId?: string }>();
     const [username, setUsername] = useState('');
     const [isStrategyModalOpen, setIsStrategyModalOpen] = useState(false);
@@ -46,6 +47,7 @@ const GameSetup: React.FC<GameSetupProps> = ({ onGameStart }) => {
                     gameId={gameId} 
                     username={username} 
                     onGameStart={onGameStart} 
+                    onSpectate={onSpectate}
                 />
             ) : (
                 <CreateOrJoinGame 
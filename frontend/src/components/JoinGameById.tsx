@@ -7,9 +7,10 @@ interface JoinGameByIdProps {
     gameId: string;
     username: string;
     onGameStart: (game: Game, username: string) => void;
+    onSpectate: (gameId: string) => void;
 }
 
-const JoinGameById: React.FC<JoinGameByIdProps> = ({ gameId, username, onGameStart }) => {
+const JoinGameById: React.FC<JoinGameByIdProps> = ({ gameId, username, onGameStart, onSpectate }) => {
     const [gameDetails, setGameDetails] = useState<Game | null>(null);
     const { loading, error, wrapAsync, setError, setLoading } = useLoadingState();
 
@@ -21,10 +22,8 @@ const JoinGameById: React.FC<JoinGameByIdProps> = ({ gameId, username, onGameSta
             .then((game: Game | null) => {
                 if (game) {
                     setGameDetails(game);
-                    // Oyuna zaten 2 kişi katılmışsa veya bitmişse hata ver
-                    if (game.players.length >= 2) {
-                       setError('Bu oyun dolu veya çoktan başlamış.');
-                    } else if (game.gameOver) {
+                    // Bitmiş oyuna katılınamaz; dolu oyun izlenebilir
+                    if (game.gameOver) {
                        setError('Bu oyun bitmiş.');
                     }
                 } else {
@@ -71,6 +70,19 @@ const JoinGameById: React.FC<JoinGameByIdProps> = ({ gameId, username, onGameSta
                     <p><span className="setting-label">Mayın Sayısı:</span> {gameDetails.mineCount}</p>
                 </div>
             )}
+            {/* Oyun doluysa katılmak yerine izlenebilir */}
+            {gameDetails && !error && gameDetails.players.length >= 2 && !gameDetails.gameOver && (
+                <>
+                    <p className="loading-text">Bu oyun dolu, izleyici olarak izleyebilirsin.</p>
+                    <button
+                        className="create-game-btn"
+                        onClick={() => onSpectate(gameId)}
+                        disabled={loading}
+                    >
+                        İzle
+                    </button>
+                </>
+            )}
             {/* Hata yoksa ve oyun dolu/bitmiş değilse katıl butonunu göster */}
             {gameDetails && !error && gameDetails.players.length < 2 && !gameDetails.gameOver && (
                 <button
@@ -40,7 +40,8 @@ const PlayerScoreDisplay: React.FC<PlayerScoreDisplayProps> = ({
         className={playerScoreClass}
         title={`${player.username}: ${player.score}`}
     >
-        <span className="player-name">{player.username}</span>: 
+        <span className="player-name">{player.username}</span>
+        {player.connected === false && !isGameOver && <span className="player-disconnected"> (bağlantı koptu)</span>}: 
         <span className={`score ${isGameOver && player.id === winnerId ? 'score-winner' : ''}`}>
             {player.score}
         </span>
@@ -14,11 +14,15 @@ export interface Cell {
     flaggedByPlayerId?: string | null;
 }
 
+// Sunucudan gelen hücre; eksik alanlar varsayılan değerle (kapalı, mayınsız, bayraksız) doldurulur
+export type CellState = Pick<Cell, 'row' | 'column'> & Partial<Cell>;
+
 export interface Player {
     id: string;
     username: string;
     score: number;
     ready?: boolean;
+    connected?: boolean;
 }
 
 export interface Game {
@@ -26,6 +30,7 @@ export interface Game {
     rows: number;
     columns: number;
     mineCount: number;
+    noGuess: boolean;
     gameOver: boolean;
     currentTurn: string;
     players: Player[];
@@ -38,41 +43,142 @@ export interface Game {
     winnerId?: string | null;
     turnStartTimeMillis?: number;
     status: 'WAITING_FOR_PLAYERS' | 'WAITING_FOR_READY' | 'IN_PROGRESS' | 'GAME_OVER';
+    version: number;
+}
+
+// Tahtanın tamamı yerine sadece görünen hücreleri (açılmış, bayraklı, oyun bittiyse mayınlar) isteyen Accept türü
+export const CELLS_MEDIA_TYPE = 'application/vnd.mineyzer.cells+json';
+
+// Sunucudan gelen oyun durumu: varsayılan olarak tam tahta (board), CELLS_MEDIA_TYPE istendiyse sadece görünen hücreler (cells)
+export interface GameState extends Omit<Game, 'board'> {
+    board?: Cell[][];
+    cells?: CellState[];
+}
+
+export const toCell = (cell: CellState): Cell => ({
+    mine: false,
+    revealed: false,
+    adjacentMines: 0,
+    flaggedByPlayerId: null,
+    ...cell,
+});
+
+// Seyrek durumda tahtayı boyutlardan kapalı hücrelerle kurar ve görünen hücreleri yerleştirir
+export const toGame = ({ cells, board: fullBoard, ...state }: GameState): Game => {
+    if (fullBoard) {
+        return { ...state, board: fullBoard };
+    }
+    const board: Cell[][] = [];
+    for (let row = 0; row < state.rows; row++) {
+        const rowCells: Cell[] = [];
+        for (let column = 0; column < state.columns; column++) {
+            rowCells.push(toCell({ row, column }));
+        }
+        board.push(rowCells);
+    }
+    (cells ?? []).forEach(cell => {
+        board[cell.row][cell.column] = toCell(cell);
+    });
+    return { ...state, board };
+};
+
+// Sunucunun /topic/games/{id}/events kanalına gönderdiği delta olay
+export interface GameUpdateEvent {
+    gameId: string;
+    baseVersion: number;
+    version: number;
+    status: Game['status'];
+    noGuess: boolean;
+    currentTurn: string;
+    players: Player[];
+    player1TimeLeftMillis: number;
+    player2TimeLeftMillis: number;
+    turnStartTimeMillis: number;
+    lastEventMessage?: string;
+    lastMoveRow: number;
+    lastMoveCol: number;
+    winnerId?: string | null;
+    gameOver: boolean;
+    cells: CellState[];
+}
+
+// Yeniden bağlanınca /app/games/{id}/resume aboneliğine gelen yanıt: kaçırılan olaylar veya tam durum
+export interface GameResume {
+    gameId: string;
+    events: GameUpdateEvent[] | null;
+    game: GameState | null;
+}
+
+// STOMP komutlarına (/app/games/{id}/move, /flag, /ready) /user/queue/acks kuyruğundan gelen onay
+export interface CommandAck {
+    requestId: string | null;
+    gameId: string;
+    command: 'MOVE' | 'FLAG' | 'READY';
+    accepted: boolean;
+    version: number;
+}
+
+// Lobi listesinde kullanılan, tahta içermeyen oyun özeti
+export interface GameSummary {
+    id: string;
+    rows: number;
+    columns: number;
+    mineCount: number;
+    noGuess: boolean;
+    status: Game['status'];
+    playerNames: string[];
+}
+
+export interface GameSummaryPage {
+    content: GameSummary[];
+    page: number;
+    size: number;
+    totalElements: number;
 }
 
 export const GameService = {
-    createGame: async (rows: number = 8, columns: number = 8, mineCount: number = 10): Promise<Game> => {
-        const response = await axios.post(API_ENDPOINT, { rows, columns, mineCount });
-        return response.data;
+    createGame: async (rows: number = 8, columns: number = 8, mineCount: number = 10, noGuess: boolean = false): Promise<Game> => {
+        const response = await axios.post(API_ENDPOINT, { rows, columns, mineCount, noGuess });
+        return toGame(response.data);
     },
 
-    getGame: async (gameId: string): Promise<Game> => {
-        const response = await axios.get(`${API_ENDPOINT}/${gameId}`);
-        return response.data;
+    // playerId verilmezse veya oyunun oyuncusu değilse oyuncu ID'leri gizlenmiş izleyici görünümü döner
+    getGame: async (gameId: string, playerId?: string): Promise<Game> => {
+        const headers: Record<string, string> = { Accept: CELLS_MEDIA_TYPE };
+        if (playerId) {
+            headers['X-Player-Id'] = playerId;
+        }
+        const response = await axios.get(`${API_ENDPOINT}/${gameId}`, { headers });
+        return toGame(response.data);
     },
 
     getAllGames: async (): Promise<Game[]> => {
-        const response = await axios.get(API_ENDPOINT);
+        const response = await axios.get<GameState[]>(API_ENDPOINT);
+        return response.data.map(toGame);
+    },
+
+    getGameSummaries: async (status?: Game['status'], page: number = 0, size: number = 20): Promise<GameSummaryPage> => {
+        const response = await axios.get(`${API_ENDPOINT}/summaries`, { params: { status, page, size } });
         return response.data;
     },
 
     joinGame: async (gameId: string, username: string): Promise<Game> => {
         const response = await axios.post(`${API_ENDPOINT}/${gameId}/join`, { username });
-        return response.data;
+        return toGame(response.data);
     },
 
     makeMove: async (gameId: string, playerId: string, row: number, col: number): Promise<Game> => {
         const response = await axios.post(`${API_ENDPOINT}/${gameId}/move`, { playerId, row, col });
-        return response.data;
+        return toGame(response.data);
     },
 
     toggleFlag: async (gameId: string, playerId: string, row: number, col: number): Promise<Game> => {
         const response = await axios.post(`${API_ENDPOINT}/${gameId}/flag`, { playerId, row, col });
-        return response.data;
+        return toGame(response.data);
     },
 
     markPlayerReady: async (gameId: string, playerId: string): Promise<Game> => {
         const response = await axios.post(`${API_ENDPOINT}/${gameId}/ready`, { playerId });
-        return response.data;
+        return toGame(response.data);
     }
 }; 
\ No newline at end of file
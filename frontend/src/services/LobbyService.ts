@@ -0,0 +1,90 @@
+import { Client, Message } from '@stomp/stompjs';
+import { GameSummary } from './GameService';
+
+// Sunucunun /topic/lobby kanalına gönderdiği artımlı lobi olayı
+export interface LobbyEvent {
+    type: 'ADDED' | 'UPDATED' | 'REMOVED';
+    sequence: number;
+    gameId: string;
+    game: GameSummary | null;
+}
+
+interface LobbyListing {
+    sequence: number;
+    games: GameSummary[];
+}
+
+class LobbyService {
+    private client: Client | null = null;
+    private games = new Map<string, GameSummary>();
+    private listingSequence: number | null = null;
+    private pendingEvents: LobbyEvent[] = [];
+    private lobbyUpdateCallback: ((games: GameSummary[]) => void) | null = null;
+
+    connect(onLobbyUpdate: (games: GameSummary[]) => void) {
+        this.lobbyUpdateCallback = onLobbyUpdate;
+
+        this.client = new Client({
+            brokerURL: import.meta.env.VITE_WEBSOCKET_URL || 'ws://localhost:8080/ws',
+            reconnectDelay: 5000,
+            heartbeatIncoming: 4000,
+            heartbeatOutgoing: 4000,
+        });
+
+        this.client.onConnect = () => {
+            // Yeniden bağlanmada liste baştan alınır
+            this.games = new Map();
+            this.listingSequence = null;
+            this.pendingEvents = [];
+
+            this.client?.subscribe('/topic/lobby', (message: Message) => {
+                const event: LobbyEvent = JSON.parse(message.body);
+                if (this.listingSequence === null) {
+                    this.pendingEvents.push(event); // Başlangıç listesi gelene kadar beklet
+                } else {
+                    this.applyEvent(event);
+                    this.notify();
+                }
+            });
+
+            // Abone olunduğunda lobideki oyunlar bir kez gönderilir
+            this.client?.subscribe('/app/lobby', (message: Message) => {
+                const listing: LobbyListing = JSON.parse(message.body);
+                listing.games.forEach(game => this.games.set(game.id, game));
+                this.listingSequence = listing.sequence;
+                this.pendingEvents.forEach(event => this.applyEvent(event));
+                this.pendingEvents = [];
+                this.notify();
+            });
+        };
+
+        this.client.activate();
+    }
+
+    private applyEvent(event: LobbyEvent) {
+        if (this.listingSequence !== null && event.sequence <= this.listingSequence) {
+            return; // Başlangıç listesine zaten yansımış
+        }
+        if (event.type === 'REMOVED' || !event.game) {
+            this.games.delete(event.gameId);
+        } else {
+            this.games.set(event.gameId, event.game);
+        }
+    }
+
+    private notify() {
+        if (this.lobbyUpdateCallback) {
+            this.lobbyUpdateCallback(Array.from(this.games.values()));
+        }
+    }
+
+    disconnect() {
+        if (this.client) {
+            this.client.deactivate();
+        }
+        this.client = null;
+        this.lobbyUpdateCallback = null;
+    }
+}
+
+export default new LobbyService();
@@ -1,14 +1,26 @@
 import { Client, Message } from '@stomp/stompjs';
-import { Game } from './GameService';
+import { CELLS_MEDIA_TYPE, CommandAck, Game, GameResume, GameService, GameUpdateEvent, toCell, toGame } from './GameService';
+
+const COMMAND_TIMEOUT_MS = 10000;
+
+interface PendingCommand {
+    resolve: () => void;
+    reject: (error: Error) => void;
+    timeout: ReturnType<typeof setTimeout>;
+}
 
 class WebSocketService {
     private client: Client | null = null;
     private gameUpdateCallback: ((game: Game) => void) | null = null;
+    private currentGame: Game | null = null;
+    private gameId: string | null = null;
+    private playerId: string | null = null;
+    private pendingCommands = new Map<string, PendingCommand>();
+    private commandCounter = 0;
+    private spectating = false;
 
-    init(gameId: string, playerId: string, onGameUpdate: (game: Game) => void) {
-        this.gameUpdateCallback = onGameUpdate;
-
-        this.client = new Client({
+    private createClient(): Client {
+        return new Client({
             brokerURL: import.meta.env.VITE_WEBSOCKET_URL || 'ws://localhost:8080/ws',
             debug: function (str) {
                 console.log(str);
@@ -17,21 +29,52 @@ class WebSocketService {
             heartbeatIncoming: 4000,
             heartbeatOutgoing: 4000,
         });
+    }
+
+    init(gameId: string, playerId: string, onGameUpdate: (game: Game) => void) {
+        this.gameUpdateCallback = onGameUpdate;
+        this.currentGame = null;
+        this.gameId = gameId;
+        this.playerId = playerId;
+        this.spectating = false;
+
+        this.client = this.createClient();
 
         this.client.onConnect = () => {
             console.log('WebSocket bağlantısı kuruldu.');
             
+            // Oyuncu kanallarına sadece oyunun oyuncuları abone olabilir; sunucu playerId başlığını denetler
             const subscribeHeaders = {
                 gameId: gameId,
                 playerId: playerId
             };
             
-            this.client?.subscribe(`/topic/games/${gameId}`, (message: Message) => {
-                if (this.gameUpdateCallback) {
-                    const game: Game = JSON.parse(message.body);
-                    this.gameUpdateCallback(game);
-                }
+            // Sadece değişiklikleri taşıyan delta olaylar
+            this.client?.subscribe(`/topic/games/${gameId}/events`, (message: Message) => {
+                const event: GameUpdateEvent = JSON.parse(message.body);
+                this.applyEvent(event);
             }, subscribeHeaders);
+
+            if (this.currentGame) {
+                // Yeniden bağlanıldı: sadece kaçırılan olaylar istenir, tampondan çıkmışlarsa tam durum gelir
+                this.client?.subscribe(`/app/games/${gameId}/resume`, (message: Message) => {
+                    this.resume(JSON.parse(message.body));
+                }, { ...subscribeHeaders, lastVersion: `${this.currentGame.version}` });
+            } else {
+                // Abone olunduğunda tam oyun durumu bir kez, sadece görünen hücrelerle gönderilir
+                this.client?.subscribe(`/app/games/${gameId}`, (message: Message) => {
+                    this.setGame(toGame(JSON.parse(message.body)));
+                }, { ...subscribeHeaders, accept: CELLS_MEDIA_TYPE });
+            }
+
+            // Bu oturumun gönderdiği komutların onayları
+            this.client?.subscribe('/user/queue/acks', (message: Message) => {
+                this.handleAck(JSON.parse(message.body));
+            });
+        };
+
+        this.client.onWebSocketClose = () => {
+            this.rejectPendingCommands('WebSocket bağlantısı kapandı');
         };
 
         this.client.onStompError = (frame) => {
@@ -42,12 +85,177 @@ class WebSocketService {
         this.client.activate();
     }
 
+    // Oyunu izleyici olarak takip eder: mayınları gizlenmiş görünüm ve oyuncu ID'leri yerine genel ID'ler gelir.
+    // Oyunun izleyici sınırı doluysa sunucu aboneliği reddeder ve onError çağrılır.
+    spectate(gameId: string, onGameUpdate: (game: Game) => void, onError?: (message: string) => void) {
+        this.gameUpdateCallback = onGameUpdate;
+        this.currentGame = null;
+        this.gameId = gameId;
+        this.playerId = null;
+        this.spectating = true;
+
+        this.client = this.createClient();
+
+        this.client.onConnect = () => {
+            this.client?.subscribe(`/topic/games/${gameId}/spectate`, (message: Message) => {
+                const event: GameUpdateEvent = JSON.parse(message.body);
+                this.applyEvent(event);
+            });
+            this.requestSpectatorGame();
+        };
+
+        this.client.onStompError = (frame) => {
+            console.error('STOMP hatası: ' + frame.headers['message']);
+            this.client?.deactivate(); // Sınır doluyken yeniden bağlanmayı deneme
+            if (onError) {
+                onError(frame.headers['message']);
+            }
+        };
+
+        this.client.activate();
+    }
+
+    private requestSpectatorGame() {
+        // Abone olunduğunda izleyici görünümünün tam durumu bir kez gönderilir
+        const subscription = this.client?.subscribe(`/app/games/${this.gameId}/spectate`, (message: Message) => {
+            subscription?.unsubscribe();
+            this.setGame(toGame(JSON.parse(message.body)));
+        }, { accept: CELLS_MEDIA_TYPE });
+    }
+
+    private setGame(game: Game) {
+        if (this.currentGame && this.currentGame.version > game.version) {
+            return; // Eski durum, yok say
+        }
+        this.currentGame = game;
+        if (this.gameUpdateCallback) {
+            this.gameUpdateCallback(game);
+        }
+    }
+
+    private resume(resume: GameResume) {
+        if (resume.game) {
+            this.setGame(toGame(resume.game));
+            return;
+        }
+        resume.events?.forEach(event => this.applyEvent(event));
+    }
+
+    private applyEvent(event: GameUpdateEvent) {
+        const game = this.currentGame;
+        if (!game || event.version <= game.version) {
+            return; // Tam durum henüz gelmedi veya olay zaten uygulanmış
+        }
+        // Olay baseVersion ile version arasında değişen hücrelerin son halini taşır; bu aralıktaki bir sürüme uygulanabilir
+        if (event.baseVersion > game.version) {
+            // Araya kaçırılmış olaylar girmiş, tam durumu yeniden al
+            if (this.spectating) {
+                this.requestSpectatorGame();
+                return;
+            }
+            GameService.getGame(event.gameId, this.playerId ?? undefined)
+                .then(fullGame => this.setGame(fullGame))
+                .catch(err => console.error('Oyun durumu alınamadı:', err));
+            return;
+        }
+
+        const board = event.cells.length > 0 ? game.board.map(row => row.slice()) : game.board;
+        event.cells.forEach(cell => {
+            board[cell.row][cell.column] = toCell(cell);
+        });
+
+        this.setGame({
+            ...game,
+            version: event.version,
+            status: event.status,
+            noGuess: event.noGuess,
+            currentTurn: event.currentTurn,
+            players: event.players,
+            player1TimeLeftMillis: event.player1TimeLeftMillis,
+            player2TimeLeftMillis: event.player2TimeLeftMillis,
+            turnStartTimeMillis: event.turnStartTimeMillis,
+            lastEventMessage: event.lastEventMessage,
+            lastMoveRow: event.lastMoveRow,
+            lastMoveCol: event.lastMoveCol,
+            winnerId: event.winnerId,
+            gameOver: event.gameOver,
+            board,
+        });
+    }
+
+    // Hamle, bayrak ve hazır olma komutları açık bağlantı üzerinden gönderilir; sonuç olay kanalından gelir.
+    // Bağlantı yoksa REST uç noktalarına düşülür.
+    makeMove(row: number, col: number): Promise<void> {
+        return this.sendCommand('move', { playerId: this.playerId, row, col },
+            () => GameService.makeMove(this.gameId!, this.playerId!, row, col));
+    }
+
+    toggleFlag(row: number, col: number): Promise<void> {
+        return this.sendCommand('flag', { playerId: this.playerId, row, col },
+            () => GameService.toggleFlag(this.gameId!, this.playerId!, row, col));
+    }
+
+    markPlayerReady(): Promise<void> {
+        return this.sendCommand('ready', { playerId: this.playerId },
+            () => GameService.markPlayerReady(this.gameId!, this.playerId!));
+    }
+
+    private sendCommand(command: string, body: object, restFallback: () => Promise<Game>): Promise<void> {
+        if (!this.gameId || !this.playerId) {
+            return Promise.reject(new Error('Oyuna bağlı değil'));
+        }
+        if (!this.client || !this.client.connected) {
+            return restFallback().then(() => undefined);
+        }
+
+        const requestId = `${++this.commandCounter}`;
+        return new Promise<void>((resolve, reject) => {
+            const timeout = setTimeout(() => {
+                this.pendingCommands.delete(requestId);
+                reject(new Error('Komut onayı zaman aşımına uğradı'));
+            }, COMMAND_TIMEOUT_MS);
+            this.pendingCommands.set(requestId, { resolve, reject, timeout });
+            this.client!.publish({
+                destination: `/app/games/${this.gameId}/${command}`,
+                headers: { requestId },
+                body: JSON.stringify(body),
+            });
+        });
+    }
+
+    private handleAck(ack: CommandAck) {
+        const pending = ack.requestId ? this.pendingCommands.get(ack.requestId) : undefined;
+        if (!pending) {
+            return; // Zaman aşımına uğramış komut
+        }
+        this.pendingCommands.delete(ack.requestId!);
+        clearTimeout(pending.timeout);
+        if (ack.accepted) {
+            pending.resolve();
+        } else {
+            pending.reject(new Error(`${ack.command} komutu reddedildi`));
+        }
+    }
+
+    private rejectPendingCommands(reason: string) {
+        this.pendingCommands.forEach(pending => {
+            clearTimeout(pending.timeout);
+            pending.reject(new Error(reason));
+        });
+        this.pendingCommands.clear();
+    }
+
     disconnect() {
         if (this.client && this.client.connected) {
             this.client.deactivate();
             console.log('WebSocket bağlantısı kapatıldı.');
         }
+        this.rejectPendingCommands('WebSocket bağlantısı kapatıldı');
+        this.currentGame = null;
+        this.gameId = null;
+        this.playerId = null;
+        this.spectating = false;
     }
 }
 
-export default new WebSocketService(); 
\ No newline at end of file
+export default new WebSocketService();